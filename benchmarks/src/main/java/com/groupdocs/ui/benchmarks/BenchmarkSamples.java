@@ -0,0 +1,66 @@
+package com.groupdocs.ui.benchmarks;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * BenchmarkSamples
+ * Finds the sample documents of the benchmarks and prepares temporary directories for them
+ */
+class BenchmarkSamples {
+
+    /**
+     * Directory of the sample documents, relative to the benchmarks module
+     */
+    static final String DEFAULT_SAMPLES_DIRECTORY = "../DocumentSamples";
+
+    /**
+     * Find the first sample document with the extension, the data directory of the samples is skipped
+     *
+     * @param samplesDirectory directory of the sample documents
+     * @param format           extension of the document
+     * @return sample document
+     */
+    static File findSample(String samplesDirectory, String format) {
+        File directory = new File(samplesDirectory);
+        if (directory.isDirectory()) {
+            Collection<File> files = FileUtils.listFiles(directory, new String[]{format, format.toUpperCase()}, true);
+            for (File file : files) {
+                if (!file.getAbsolutePath().contains(File.separator + "SignatureData" + File.separator)) {
+                    return file;
+                }
+            }
+        }
+        throw new IllegalStateException(String.format("No .%s sample found in %s, put a sample document there or set the samples parameter",
+                format, directory.getAbsolutePath()));
+    }
+
+    /**
+     * Copy the sample document into a new temporary directory, so the samples are never modified
+     *
+     * @param sample sample document
+     * @return copy of the sample
+     * @throws IOException
+     */
+    static File copySample(File sample) throws IOException {
+        Path directory = Files.createTempDirectory("benchmark-files");
+        File copy = directory.resolve(FilenameUtils.getName(sample.getName())).toFile();
+        FileUtils.copyFile(sample, copy);
+        return copy;
+    }
+
+    /**
+     * Remove the temporary directory
+     *
+     * @param directory temporary directory
+     */
+    static void delete(File directory) {
+        FileUtils.deleteQuietly(directory);
+    }
+}
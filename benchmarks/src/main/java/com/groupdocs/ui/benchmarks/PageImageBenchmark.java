@@ -0,0 +1,52 @@
+package com.groupdocs.ui.benchmarks;
+
+import com.groupdocs.signature.handler.SignatureHandler;
+import com.groupdocs.ui.signature.service.SignatureHandlerFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PageImageBenchmark
+ * Cost of rendering the first page of one sample document of every format by the signing engine,
+ * the resolutions are the page resolution of the viewer and the resolutions of zoomed and printed pages.
+ * PageImageCache is bypassed, every call renders the page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PageImageBenchmark {
+
+    @Param({"pdf", "docx", "xlsx", "pptx", "png"})
+    private String format;
+
+    @Param({"72", "100", "150", "300"})
+    private int resolution;
+
+    @Param(BenchmarkSamples.DEFAULT_SAMPLES_DIRECTORY)
+    private String samples;
+
+    private File document;
+    private SignatureHandler signatureHandler;
+
+    @Setup
+    public void setUp() throws IOException {
+        document = BenchmarkSamples.copySample(BenchmarkSamples.findSample(samples, format));
+        signatureHandler = SignatureHandlerFactory.createHandler(document.getParent(), null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkSamples.delete(document.getParentFile());
+    }
+
+    @Benchmark
+    public byte[] pageImage() throws Exception {
+        return signatureHandler.getPageImage(document.getAbsolutePath(), 1, null, null, resolution);
+    }
+}
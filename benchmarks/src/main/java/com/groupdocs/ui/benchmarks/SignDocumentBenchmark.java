@@ -0,0 +1,106 @@
+package com.groupdocs.ui.benchmarks;
+
+import com.groupdocs.signature.handler.SignatureHandler;
+import com.groupdocs.signature.options.OutputType;
+import com.groupdocs.signature.options.SignatureOptionsCollection;
+import com.groupdocs.signature.options.loadoptions.LoadOptions;
+import com.groupdocs.signature.options.saveoptions.SaveOptions;
+import com.groupdocs.ui.signature.model.web.SignatureDataEntity;
+import com.groupdocs.ui.signature.model.xml.TextXmlEntity;
+import com.groupdocs.ui.signature.service.SignatureHandlerFactory;
+import com.groupdocs.ui.signature.signer.TextSigner;
+import com.groupdocs.ui.signature.signer.TextTemplate;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+import static com.groupdocs.ui.signature.SignatureType.TEXT;
+
+/**
+ * SignDocumentBenchmark
+ * Cost of signing one sample document of every format with a text signature on the first page.
+ * The document is signed the way SignServiceImpl signs it: same load and save options,
+ * the signed copy is written into a temporary output directory, so every call signs the original document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SignDocumentBenchmark {
+
+    @Param({"pdf", "docx", "xlsx", "pptx", "png"})
+    private String format;
+
+    @Param(BenchmarkSamples.DEFAULT_SAMPLES_DIRECTORY)
+    private String samples;
+
+    private File document;
+    private File outputDirectory;
+    private SignatureHandler signatureHandler;
+    private SignatureOptionsCollection signsCollection;
+    private LoadOptions loadOptions;
+    private SaveOptions saveOptions;
+
+    @Setup
+    public void setUp() throws IOException, ParseException {
+        document = BenchmarkSamples.copySample(BenchmarkSamples.findSample(samples, format));
+        outputDirectory = Files.createTempDirectory("benchmark-output").toFile();
+        String filesDirectory = document.getParent();
+        signatureHandler = SignatureHandlerFactory.createHandler(filesDirectory, null);
+        signatureHandler.getSignatureConfig().setOutputPath(outputDirectory.getAbsolutePath());
+
+        TextXmlEntity textXmlEntity = new TextXmlEntity();
+        textXmlEntity.setText("Signed by John Smith");
+        textXmlEntity.setFont("Arial");
+        textXmlEntity.setFontSize(12);
+        SignatureDataEntity signatureData = new SignatureDataEntity();
+        signatureData.setSignatureType(TEXT);
+        signatureData.setPageNumber(1);
+        signatureData.setLeft(100);
+        signatureData.setTop(100);
+        signatureData.setImageWidth(200);
+        signatureData.setImageHeight(50);
+        TextSigner signer = new TextSigner(new TextTemplate(textXmlEntity), signatureData);
+
+        signsCollection = new SignatureOptionsCollection();
+        switch (format) {
+            case "pdf":
+                signsCollection.add(signer.signPdf());
+                break;
+            case "docx":
+                signsCollection.add(signer.signWord());
+                break;
+            case "xlsx":
+                signsCollection.add(signer.signCells());
+                break;
+            case "pptx":
+                signsCollection.add(signer.signSlides());
+                break;
+            default:
+                signsCollection.add(signer.signImage());
+        }
+
+        loadOptions = new LoadOptions();
+        saveOptions = new SaveOptions();
+        saveOptions.setOutputType(OutputType.String);
+        saveOptions.setOutputFileName(document.getName());
+        saveOptions.setOverwriteExistingFiles(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkSamples.delete(document.getParentFile());
+        BenchmarkSamples.delete(outputDirectory);
+    }
+
+    @Benchmark
+    public Object sign() throws Exception {
+        return signatureHandler.sign(document.getAbsolutePath(), signsCollection, loadOptions, saveOptions);
+    }
+}
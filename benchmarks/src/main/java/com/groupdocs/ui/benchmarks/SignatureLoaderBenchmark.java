@@ -0,0 +1,102 @@
+package com.groupdocs.ui.benchmarks;
+
+import com.groupdocs.ui.signature.SignatureLoader;
+import com.groupdocs.ui.signature.XMLReaderWriter;
+import com.groupdocs.ui.signature.model.web.SignatureFileDescriptionEntity;
+import com.groupdocs.ui.signature.model.xml.OpticalXmlEntity;
+import com.groupdocs.ui.signature.model.xml.TextXmlEntity;
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import javax.xml.bind.JAXBException;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.groupdocs.ui.signature.SignatureType.*;
+import static com.groupdocs.ui.util.directory.PathConstants.DATA_PREVIEW_FOLDER;
+import static com.groupdocs.ui.util.directory.PathConstants.DATA_XML_FOLDER;
+
+/**
+ * SignatureLoaderBenchmark
+ * Cost of listing signatures by SignatureLoader with the number of saved signatures given by the parameter:
+ * uploaded images, text signatures read from xml and QR-Codes joining previews with xml files
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignatureLoaderBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int entries;
+
+    @Param({IMAGE, TEXT, QR_CODE})
+    private String signatureType;
+
+    private File dataDirectory;
+    private File signatureDirectory;
+    private SignatureLoader signatureLoader;
+
+    @Setup
+    public void setUp() throws IOException, JAXBException {
+        dataDirectory = Files.createTempDirectory("benchmark-data").toFile();
+        signatureDirectory = new File(dataDirectory, signatureType);
+        File previewDirectory = new File(signatureDirectory, DATA_PREVIEW_FOLDER);
+        File xmlDirectory = new File(signatureDirectory, DATA_XML_FOLDER);
+        previewDirectory.mkdirs();
+        xmlDirectory.mkdirs();
+        byte[] image = createImage();
+        for (int i = 1; i <= entries; i++) {
+            String name = String.format("%03d", i);
+            switch (signatureType) {
+                case IMAGE:
+                    Files.write(new File(signatureDirectory, name + ".png").toPath(), image);
+                    break;
+                case TEXT:
+                    TextXmlEntity textXmlEntity = new TextXmlEntity();
+                    textXmlEntity.setText("Text signature " + i);
+                    textXmlEntity.setFont("Arial");
+                    new XMLReaderWriter<TextXmlEntity>().write(new File(xmlDirectory, name + ".xml").getAbsolutePath(), textXmlEntity);
+                    break;
+                default:
+                    OpticalXmlEntity opticalXmlEntity = new OpticalXmlEntity();
+                    opticalXmlEntity.setText("QR-Code " + i);
+                    Files.write(new File(previewDirectory, name + ".png").toPath(), image);
+                    new XMLReaderWriter<OpticalXmlEntity>().write(new File(xmlDirectory, name + ".xml").getAbsolutePath(), opticalXmlEntity);
+            }
+        }
+        signatureLoader = new SignatureLoader();
+    }
+
+    private static byte[] createImage() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(100, 50, BufferedImage.TYPE_INT_ARGB), "png", outputStream);
+        return outputStream.toByteArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkSamples.delete(dataDirectory);
+    }
+
+    @Benchmark
+    public List<SignatureFileDescriptionEntity> load() {
+        String currentPath = signatureDirectory.getAbsolutePath();
+        String dataPath = dataDirectory.getAbsolutePath();
+        switch (signatureType) {
+            case IMAGE:
+                return signatureLoader.loadImageSignatures(currentPath, dataPath);
+            case TEXT:
+                return signatureLoader.loadTextSignatures(currentPath, dataPath);
+            default:
+                return signatureLoader.loadSignatures(currentPath, dataPath, signatureType);
+        }
+    }
+}
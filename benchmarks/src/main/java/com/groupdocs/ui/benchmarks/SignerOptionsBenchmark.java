@@ -0,0 +1,119 @@
+package com.groupdocs.ui.benchmarks;
+
+import com.groupdocs.signature.options.SignOptions;
+import com.groupdocs.ui.signature.model.web.SignatureDataEntity;
+import com.groupdocs.ui.signature.model.xml.OpticalXmlEntity;
+import com.groupdocs.ui.signature.model.xml.StampXmlEntity;
+import com.groupdocs.ui.signature.model.xml.StampXmlEntityList;
+import com.groupdocs.ui.signature.model.xml.TextXmlEntity;
+import com.groupdocs.ui.signature.signer.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.groupdocs.ui.signature.SignatureType.*;
+
+/**
+ * SignerOptionsBenchmark
+ * Cost of building sign options by every signer for every document type, templates are prepared
+ * before the measurement as they are taken from SignatureTemplateCache by the application.
+ * The digital signer doesn't support images and slides, these combinations measure nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignerOptionsBenchmark {
+
+    @Param({TEXT, STAMP, IMAGE, QR_CODE, BAR_CODE, DIGITAL})
+    private String signatureType;
+
+    @Param({"pdf", "word", "cells", "slides", "image"})
+    private String documentType;
+
+    private Signer signer;
+    private boolean supported;
+
+    @Setup
+    public void setUp() {
+        SignatureDataEntity signatureData = new SignatureDataEntity();
+        signatureData.setSignatureType(signatureType);
+        signatureData.setSignatureGuid("signature");
+        signatureData.setPageNumber(1);
+        signatureData.setLeft(100);
+        signatureData.setTop(100);
+        signatureData.setImageWidth(200);
+        signatureData.setImageHeight(100);
+        signatureData.setReason("Approved");
+        signatureData.setContact("John Smith");
+        signatureData.setAddress("Sydney");
+        signatureData.setDate("01-01-19");
+        signer = createSigner(signatureData);
+        supported = !DIGITAL.equals(signatureType) || !("image".equals(documentType) || "slides".equals(documentType));
+    }
+
+    private Signer createSigner(SignatureDataEntity signatureData) {
+        switch (signatureType) {
+            case TEXT:
+                TextXmlEntity textXmlEntity = new TextXmlEntity();
+                textXmlEntity.setText("Signed by John Smith");
+                textXmlEntity.setFont("Arial");
+                textXmlEntity.setFontSize(12);
+                return new TextSigner(new TextTemplate(textXmlEntity), signatureData);
+            case STAMP:
+                List<StampXmlEntity> lines = new ArrayList<>();
+                for (int i = 0; i < 3; i++) {
+                    StampXmlEntity line = new StampXmlEntity();
+                    line.setText("Stamp line " + i);
+                    line.setFont("Arial");
+                    line.setFontSize(10);
+                    line.setRadius(100 - i * 20);
+                    line.setHeight(20);
+                    line.setWidth(200);
+                    lines.add(line);
+                }
+                StampXmlEntityList stampXmlEntityList = new StampXmlEntityList();
+                stampXmlEntityList.setStampXmlEntityList(lines);
+                return new StampSigner(new StampTemplate(stampXmlEntityList), signatureData);
+            case IMAGE:
+                return new ImageSigner(signatureData);
+            case QR_CODE:
+            case BAR_CODE:
+                OpticalXmlEntity opticalXmlEntity = new OpticalXmlEntity();
+                opticalXmlEntity.setText("https://www.groupdocs.com");
+                opticalXmlEntity.setWidth(100);
+                opticalXmlEntity.setHeight(100);
+                return QR_CODE.equals(signatureType) ?
+                        new QrCodeSigner(opticalXmlEntity, signatureData) :
+                        new BarCodeSigner(opticalXmlEntity, signatureData);
+            case DIGITAL:
+                return new DigitalSigner(signatureData, "password");
+            default:
+                throw new IllegalArgumentException("Unknown signature type " + signatureType);
+        }
+    }
+
+    @Benchmark
+    public SignOptions buildOptions() throws ParseException {
+        if (!supported) {
+            return null;
+        }
+        switch (documentType) {
+            case "pdf":
+                return signer.signPdf();
+            case "word":
+                return signer.signWord();
+            case "cells":
+                return signer.signCells();
+            case "slides":
+                return signer.signSlides();
+            default:
+                return signer.signImage();
+        }
+    }
+}
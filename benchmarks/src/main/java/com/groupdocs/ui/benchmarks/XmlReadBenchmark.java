@@ -0,0 +1,55 @@
+package com.groupdocs.ui.benchmarks;
+
+import com.groupdocs.ui.signature.XMLReaderWriter;
+import com.groupdocs.ui.signature.model.xml.TextXmlEntity;
+import org.openjdk.jmh.annotations.*;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * XmlReadBenchmark
+ * Cost of reading one signature xml file: new JAXB context per read (previous XMLReaderWriter)
+ * against the shared compiled context with reused unmarshaller
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XmlReadBenchmark {
+
+    private File xmlFile;
+
+    @Setup
+    public void setUp() throws IOException, JAXBException {
+        xmlFile = File.createTempFile("text", ".xml");
+        TextXmlEntity textXmlEntity = new TextXmlEntity();
+        textXmlEntity.setFont("Arial");
+        textXmlEntity.setFontSize(12);
+        textXmlEntity.setFontColor("rgb(0,0,0)");
+        textXmlEntity.setBackgroundColor("rgb(255,255,255)");
+        textXmlEntity.setBold(true);
+        new XMLReaderWriter<TextXmlEntity>().write(xmlFile.getAbsolutePath(), textXmlEntity);
+    }
+
+    @TearDown
+    public void tearDown() {
+        xmlFile.delete();
+    }
+
+    @Benchmark
+    public TextXmlEntity newContextPerRead() throws JAXBException {
+        JAXBContext jc = JAXBContext.newInstance(TextXmlEntity.class);
+        return (TextXmlEntity) jc.createUnmarshaller().unmarshal(xmlFile);
+    }
+
+    @Benchmark
+    public TextXmlEntity sharedContext() throws JAXBException {
+        return new XMLReaderWriter<TextXmlEntity>().read(xmlFile.getAbsolutePath(), TextXmlEntity.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.groupdocs.ui.benchmarks;
+
+import com.groupdocs.ui.signature.XMLReaderWriter;
+import com.groupdocs.ui.signature.model.xml.StampXmlEntity;
+import com.groupdocs.ui.signature.model.xml.StampXmlEntityList;
+import com.groupdocs.ui.signature.model.xml.TextXmlEntity;
+import org.openjdk.jmh.annotations.*;
+
+import javax.xml.bind.JAXBException;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * XmlWriteBenchmark
+ * Cost of writing signature xml files with the shared JAXB context: text signature
+ * and stamp with the number of lines given by the parameter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XmlWriteBenchmark {
+
+    @Param({"1", "5"})
+    private int stampLines;
+
+    private File textFile;
+    private File stampFile;
+    private TextXmlEntity textXmlEntity;
+    private StampXmlEntityList stampXmlEntityList;
+
+    @Setup
+    public void setUp() throws IOException {
+        textFile = File.createTempFile("text", ".xml");
+        stampFile = File.createTempFile("stamp", ".xml");
+
+        textXmlEntity = new TextXmlEntity();
+        textXmlEntity.setText("Signed by John Smith");
+        textXmlEntity.setFont("Arial");
+        textXmlEntity.setFontSize(12);
+        textXmlEntity.setBold(true);
+
+        List<StampXmlEntity> lines = new ArrayList<>(stampLines);
+        for (int i = 0; i < stampLines; i++) {
+            StampXmlEntity line = new StampXmlEntity();
+            line.setText("Stamp line " + i);
+            line.setFont("Arial");
+            line.setFontSize(10);
+            line.setRadius(100 - i * 10);
+            line.setHeight(20);
+            line.setWidth(200);
+            lines.add(line);
+        }
+        stampXmlEntityList = new StampXmlEntityList();
+        stampXmlEntityList.setStampXmlEntityList(lines);
+    }
+
+    @TearDown
+    public void tearDown() {
+        textFile.delete();
+        stampFile.delete();
+    }
+
+    @Benchmark
+    public void writeText() throws JAXBException {
+        new XMLReaderWriter<TextXmlEntity>().write(textFile.getAbsolutePath(), textXmlEntity);
+    }
+
+    @Benchmark
+    public void writeStamp() throws JAXBException {
+        new XMLReaderWriter<StampXmlEntityList>().write(stampFile.getAbsolutePath(), stampXmlEntityList);
+    }
+}
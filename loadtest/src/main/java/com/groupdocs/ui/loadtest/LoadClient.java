@@ -0,0 +1,177 @@
+package com.groupdocs.ui.loadtest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.IOUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * LoadClient
+ * Sends requests to the application, records their latencies and, if enabled, the requests themselves.
+ * Failed requests are recorded with error and thrown as IOException, so the session stops.
+ */
+public class LoadClient implements Closeable {
+
+    private static final String SIGNATURE_PATH = "/signature/";
+    private static final int CONNECT_TIMEOUT = 10000;
+    private static final int READ_TIMEOUT = 300000;
+
+    private final String baseUrl;
+    private final LoadStatistics statistics;
+    private final ObjectMapper objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final Writer recordWriter;
+
+    /**
+     * Constructor
+     *
+     * @param baseUrl    url of the application, like http://localhost:8080
+     * @param statistics statistics of the requests
+     * @param recordFile file to record the requests to, null to not record
+     * @throws IOException
+     */
+    public LoadClient(String baseUrl, LoadStatistics statistics, String recordFile) throws IOException {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.statistics = statistics;
+        this.recordWriter = recordFile == null ? null : Files.newBufferedWriter(Paths.get(recordFile), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Post json request to the signature endpoint
+     *
+     * @param endpoint name of the endpoint, like loadFileTree
+     * @param request  request object
+     * @return json response, empty for responses without body
+     * @throws IOException
+     */
+    public JsonNode post(String endpoint, Object request) throws IOException {
+        return readJson(download(endpoint, request));
+    }
+
+    /**
+     * Post json request to the signature endpoint which answers with a file
+     *
+     * @param endpoint name of the endpoint, like downloadSigned
+     * @param request  request object
+     * @return response body
+     * @throws IOException
+     */
+    public byte[] download(String endpoint, Object request) throws IOException {
+        String body = objectMapper.writeValueAsString(request);
+        return execute(new RecordedRequest(endpoint, "POST", SIGNATURE_PATH + endpoint, body));
+    }
+
+    /**
+     * Get the resource
+     *
+     * @param endpoint name of the endpoint used in the report
+     * @param path     path and query of the resource
+     * @return response body
+     * @throws IOException
+     */
+    public byte[] get(String endpoint, String path) throws IOException {
+        return execute(new RecordedRequest(endpoint, "GET", path, null));
+    }
+
+    /**
+     * Send the request and record its latency
+     *
+     * @param request request
+     * @return response body
+     * @throws IOException
+     */
+    public byte[] execute(RecordedRequest request) throws IOException {
+        record(request);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            byte[] response = send(request);
+            success = true;
+            return response;
+        } finally {
+            statistics.record(request.getEndpoint(), System.nanoTime() - start, success);
+        }
+    }
+
+    private byte[] send(RecordedRequest request) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + request.getPath()).openConnection();
+        try {
+            connection.setConnectTimeout(CONNECT_TIMEOUT);
+            connection.setReadTimeout(READ_TIMEOUT);
+            connection.setRequestMethod(request.getMethod());
+            if (request.getBody() != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream outputStream = connection.getOutputStream()) {
+                    outputStream.write(request.getBody().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            int status = connection.getResponseCode();
+            if (status >= HttpURLConnection.HTTP_BAD_REQUEST) {
+                InputStream errorStream = connection.getErrorStream();
+                String error = errorStream == null ? "" : IOUtils.toString(errorStream, StandardCharsets.UTF_8);
+                throw new IOException(String.format("%s %s answered %d %s", request.getMethod(), request.getPath(), status, error));
+            }
+            try (InputStream inputStream = connection.getInputStream()) {
+                // the whole response is read, as a browser does
+                return IOUtils.toByteArray(inputStream);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private void record(RecordedRequest request) throws IOException {
+        if (recordWriter == null) {
+            return;
+        }
+        String line = objectMapper.writeValueAsString(request);
+        synchronized (recordWriter) {
+            recordWriter.write(line);
+            recordWriter.write(System.lineSeparator());
+        }
+    }
+
+    private JsonNode readJson(byte[] response) throws IOException {
+        return response.length == 0 ? objectMapper.createObjectNode() : objectMapper.readTree(response);
+    }
+
+    /**
+     * Read recorded requests
+     *
+     * @param recordFile file of the recorded requests
+     * @return recorded request by line
+     * @throws IOException
+     */
+    public RecordedRequest[] readRecorded(String recordFile) throws IOException {
+        return Files.readAllLines(Paths.get(recordFile), StandardCharsets.UTF_8).stream()
+                .filter(line -> !line.trim().isEmpty())
+                .map(this::parseRecorded)
+                .toArray(RecordedRequest[]::new);
+    }
+
+    private RecordedRequest parseRecorded(String line) {
+        try {
+            return objectMapper.readValue(line, RecordedRequest.class);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Wrong recorded request " + line, ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (recordWriter != null) {
+            recordWriter.close();
+        }
+    }
+}
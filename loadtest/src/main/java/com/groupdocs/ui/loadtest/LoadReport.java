@@ -0,0 +1,144 @@
+package com.groupdocs.ui.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * LoadReport
+ * Throughput and latency percentiles by endpoint, printed as a table and written as json,
+ * latencies are in milliseconds
+ */
+public class LoadReport {
+
+    private static final String ROW_FORMAT = "%-26s %9s %7s %9s %9s %9s %9s %9s%n";
+
+    private final int concurrency;
+    private final double durationSeconds;
+    private final List<EndpointReport> endpoints;
+    private final EndpointReport total;
+
+    /**
+     * Statistics of one endpoint
+     */
+    public static class EndpointReport {
+        private final String endpoint;
+        private final long requests;
+        private final long errors;
+        private final double throughput;
+        private final double p50;
+        private final double p90;
+        private final double p99;
+        private final double max;
+
+        EndpointReport(String endpoint, Histogram latencies, long errors, double seconds) {
+            this.endpoint = endpoint;
+            this.requests = latencies.getTotalCount();
+            this.errors = errors;
+            this.throughput = seconds > 0 ? requests / seconds : 0;
+            this.p50 = toMillis(latencies.getValueAtPercentile(50));
+            this.p90 = toMillis(latencies.getValueAtPercentile(90));
+            this.p99 = toMillis(latencies.getValueAtPercentile(99));
+            this.max = toMillis(latencies.getMaxValue());
+        }
+
+        private static double toMillis(long micros) {
+            return micros / 1000.0;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * Requests per second
+         */
+        public double getThroughput() {
+            return throughput;
+        }
+
+        public double getP50() {
+            return p50;
+        }
+
+        public double getP90() {
+            return p90;
+        }
+
+        public double getP99() {
+            return p99;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        private void print(PrintStream out) {
+            out.printf(ROW_FORMAT, endpoint, requests, errors, format(throughput), format(p50), format(p90), format(p99), format(max));
+        }
+    }
+
+    LoadReport(int concurrency, double durationSeconds, List<EndpointReport> endpoints, EndpointReport total) {
+        this.concurrency = concurrency;
+        this.durationSeconds = durationSeconds;
+        this.endpoints = endpoints;
+        this.total = total;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public double getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public List<EndpointReport> getEndpoints() {
+        return endpoints;
+    }
+
+    public EndpointReport getTotal() {
+        return total;
+    }
+
+    /**
+     * Print the report as a table
+     *
+     * @param out output stream
+     */
+    public void print(PrintStream out) {
+        out.printf("Concurrency %d, duration %s s%n", concurrency, format(durationSeconds));
+        out.printf(ROW_FORMAT, "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "Max ms");
+        for (EndpointReport endpoint : endpoints) {
+            endpoint.print(out);
+        }
+        total.print(out);
+    }
+
+    /**
+     * Write the report as json
+     *
+     * @param file report file
+     * @throws IOException
+     */
+    public void write(File file) throws IOException {
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, this);
+    }
+
+    private static String format(double value) {
+        return String.format("%.1f", value);
+    }
+}
@@ -0,0 +1,67 @@
+package com.groupdocs.ui.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LoadStatistics
+ * Latencies and errors of the requests by endpoint, latencies are recorded in microseconds
+ * up to one hour with three significant digits
+ */
+public class LoadStatistics {
+
+    private static final long HIGHEST_LATENCY = TimeUnit.HOURS.toMicros(1);
+
+    private final Map<String, EndpointStatistics> endpoints = new ConcurrentHashMap<>();
+
+    private static class EndpointStatistics {
+        private final Histogram latencies = new ConcurrentHistogram(HIGHEST_LATENCY, 3);
+        private final AtomicLong errors = new AtomicLong();
+    }
+
+    /**
+     * Record the request
+     *
+     * @param endpoint name of the endpoint
+     * @param nanos    latency of the request
+     * @param success  false if the request failed
+     */
+    public void record(String endpoint, long nanos, boolean success) {
+        EndpointStatistics statistics = endpoints.computeIfAbsent(endpoint, name -> new EndpointStatistics());
+        statistics.latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_LATENCY));
+        if (!success) {
+            statistics.errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * Create the report of the recorded requests
+     *
+     * @param concurrency number of concurrent sessions
+     * @param elapsedNanos duration of the load
+     * @return report
+     */
+    public LoadReport report(int concurrency, long elapsedNanos) {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        List<LoadReport.EndpointReport> endpointReports = new ArrayList<>();
+        Histogram total = new Histogram(HIGHEST_LATENCY, 3);
+        long errors = 0;
+        for (Map.Entry<String, EndpointStatistics> entry : new TreeMap<>(endpoints).entrySet()) {
+            Histogram latencies = entry.getValue().latencies.copy();
+            long endpointErrors = entry.getValue().errors.get();
+            endpointReports.add(new LoadReport.EndpointReport(entry.getKey(), latencies, endpointErrors, seconds));
+            total.add(latencies);
+            errors += endpointErrors;
+        }
+        LoadReport.EndpointReport totalReport = new LoadReport.EndpointReport("total", total, errors, seconds);
+        return new LoadReport(concurrency, seconds, endpointReports, totalReport);
+    }
+}
@@ -0,0 +1,172 @@
+package com.groupdocs.ui.loadtest;
+
+import com.groupdocs.ui.Application;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LoadTest
+ * Drives the signature endpoints by concurrent scripted sessions or by replay of recorded requests
+ * and reports throughput and latency percentiles by endpoint. Without --url the application is started
+ * on a random port with a copy of the sample documents and stopped after the load.
+ */
+public class LoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    // only first errors are logged, all of them are counted
+    private static final int LOGGED_ERRORS = 10;
+
+    private final LoadTestOptions options;
+    private final AtomicLong completedSessions = new AtomicLong();
+    private final AtomicLong failedSessions = new AtomicLong();
+    private final AtomicInteger loggedErrors = new AtomicInteger();
+
+    public LoadTest(LoadTestOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest(LoadTestOptions.parse(args)).run();
+    }
+
+    /**
+     * Run the load and write the report
+     *
+     * @throws Exception
+     */
+    public void run() throws Exception {
+        ConfigurableApplicationContext context = null;
+        String url = options.getUrl();
+        if (url == null) {
+            context = startApplication();
+            url = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+        try {
+            LoadStatistics statistics = new LoadStatistics();
+            long elapsed;
+            try (LoadClient client = new LoadClient(url, statistics, options.getRecord())) {
+                long start = System.nanoTime();
+                if (options.getReplay() != null) {
+                    replay(client);
+                } else {
+                    runSessions(client);
+                }
+                elapsed = System.nanoTime() - start;
+            }
+            LoadReport report = statistics.report(options.getConcurrency(), elapsed);
+            if (options.getReplay() == null) {
+                System.out.printf("Sessions %d completed, %d failed%n", completedSessions.get(), failedSessions.get());
+            }
+            report.print(System.out);
+            report.write(new File(options.getReport()));
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication() throws IOException {
+        File files = new File(options.getFiles()).getAbsoluteFile();
+        FileUtils.deleteDirectory(files);
+        FileUtils.copyDirectory(new File(options.getSamples()), files);
+        createWorkerCopies(files);
+        return new SpringApplication(Application.class).run(
+                "--server.connector.port=0",
+                "--signature.filesDirectory=" + files.getPath(),
+                "--signature.dataDirectory=");
+    }
+
+    private void createWorkerCopies(File files) throws IOException {
+        File[] documents = files.listFiles(File::isFile);
+        if (documents == null) {
+            return;
+        }
+        for (File document : documents) {
+            String extension = FilenameUtils.getExtension(document.getName());
+            if (document.isHidden() || extension.isEmpty()) {
+                continue;
+            }
+            for (int worker = 0; worker < options.getConcurrency(); worker++) {
+                String copyName = String.format(SignatureSession.WORKER_COPY_FORMAT, FilenameUtils.getBaseName(document.getName()), worker, extension);
+                FileUtils.copyFile(document, new File(files, copyName));
+            }
+        }
+    }
+
+    private void runSessions(LoadClient client) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.getDuration());
+        runWorkers(worker -> {
+            SignatureSession session = new SignatureSession(client, worker, options.getPages(), options.getDocument());
+            while (System.nanoTime() < deadline) {
+                try {
+                    session.run();
+                    completedSessions.incrementAndGet();
+                } catch (IOException ex) {
+                    failedSessions.incrementAndGet();
+                    logError("Session failed", ex);
+                }
+            }
+        });
+    }
+
+    private void replay(LoadClient client) throws Exception {
+        RecordedRequest[] requests = client.readRecorded(options.getReplay());
+        long total = (long) requests.length * options.getRepeat();
+        AtomicLong next = new AtomicLong();
+        // requests are sent in the recorded order by all workers together
+        runWorkers(worker -> {
+            long index;
+            while ((index = next.getAndIncrement()) < total) {
+                try {
+                    client.execute(requests[(int) (index % requests.length)]);
+                } catch (IOException ex) {
+                    logError("Request failed", ex);
+                }
+            }
+        });
+    }
+
+    private interface Worker {
+        void run(int worker);
+    }
+
+    private void runWorkers(Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(options.getConcurrency());
+        try {
+            List<Future<?>> futures = new ArrayList<>(options.getConcurrency());
+            for (int i = 0; i < options.getConcurrency(); i++) {
+                int workerNumber = i;
+                futures.add(executor.submit(() -> worker.run(workerNumber)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void logError(String message, Exception ex) {
+        if (loggedErrors.incrementAndGet() <= LOGGED_ERRORS) {
+            logger.warn(message, ex);
+        }
+    }
+}
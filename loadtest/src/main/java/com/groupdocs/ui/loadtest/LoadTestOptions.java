@@ -0,0 +1,149 @@
+package com.groupdocs.ui.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * LoadTestOptions
+ * Options of the load test given as --name=value arguments
+ */
+public class LoadTestOptions {
+
+    private String url;
+    private String samples = "../DocumentSamples";
+    private String files = "target/loadtest-files";
+    private int concurrency = 8;
+    private int duration = 60;
+    private int pages = 5;
+    private String document;
+    private String record;
+    private String replay;
+    private int repeat = 1;
+    private String report = "loadtest-report.json";
+
+    /**
+     * Parse the arguments
+     *
+     * @param args arguments like --concurrency=16
+     * @return options
+     */
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Wrong argument " + arg + ", expected --name=value");
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions();
+        options.url = values.remove("url");
+        options.samples = values.getOrDefault("samples", options.samples);
+        values.remove("samples");
+        options.files = values.getOrDefault("files", options.files);
+        values.remove("files");
+        options.concurrency = getInt(values, "concurrency", options.concurrency);
+        options.duration = getInt(values, "duration", options.duration);
+        options.pages = getInt(values, "pages", options.pages);
+        options.document = values.remove("document");
+        options.record = values.remove("record");
+        options.replay = values.remove("replay");
+        options.repeat = getInt(values, "repeat", options.repeat);
+        options.report = values.getOrDefault("report", options.report);
+        values.remove("report");
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + values.keySet());
+        }
+        if (options.concurrency <= 0 || options.duration <= 0 || options.repeat <= 0) {
+            throw new IllegalArgumentException("Concurrency, duration and repeat must be positive");
+        }
+        return options;
+    }
+
+    private static int getInt(Map<String, String> values, String name, int defaultValue) {
+        String value = values.remove(name);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(String.format("Option %s must be a number", name), ex);
+        }
+    }
+
+    /**
+     * Url of a running node, the application is started locally if it is not set
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Directory of the sample documents copied for the locally started application
+     */
+    public String getSamples() {
+        return samples;
+    }
+
+    /**
+     * Files directory of the locally started application, it is recreated on every run,
+     * so document paths of recorded requests stay valid for replays
+     */
+    public String getFiles() {
+        return files;
+    }
+
+    /**
+     * Number of sessions running at the same time
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Duration of the scripted sessions in seconds
+     */
+    public int getDuration() {
+        return duration;
+    }
+
+    /**
+     * Number of pages scrolled in every session
+     */
+    public int getPages() {
+        return pages;
+    }
+
+    /**
+     * Part of the document name, sessions open only matching documents
+     */
+    public String getDocument() {
+        return document;
+    }
+
+    /**
+     * File to record requests to
+     */
+    public String getRecord() {
+        return record;
+    }
+
+    /**
+     * File of recorded requests to replay instead of the scripted sessions
+     */
+    public String getReplay() {
+        return replay;
+    }
+
+    /**
+     * Number of times the recorded requests are replayed
+     */
+    public int getRepeat() {
+        return repeat;
+    }
+
+    /**
+     * File of the json report
+     */
+    public String getReport() {
+        return report;
+    }
+}
@@ -0,0 +1,64 @@
+package com.groupdocs.ui.loadtest;
+
+/**
+ * RecordedRequest
+ * Request sent to the application, one json line of the recorded requests file
+ */
+public class RecordedRequest {
+
+    private String endpoint;
+    private String method;
+    private String path;
+    private String body;
+
+    public RecordedRequest() {
+    }
+
+    public RecordedRequest(String endpoint, String method, String path, String body) {
+        this.endpoint = endpoint;
+        this.method = method;
+        this.path = path;
+        this.body = body;
+    }
+
+    /**
+     * Name of the endpoint used in the report
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    /**
+     * Path and query of the request
+     */
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Json body of the request, null for GET requests
+     */
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+}
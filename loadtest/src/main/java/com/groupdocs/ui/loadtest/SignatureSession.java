@@ -0,0 +1,207 @@
+package com.groupdocs.ui.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.groupdocs.ui.model.request.LoadDocumentRequest;
+import com.groupdocs.ui.signature.model.request.SaveStampRequest;
+import com.groupdocs.ui.signature.model.request.SignDocumentRequest;
+import com.groupdocs.ui.signature.model.request.SignatureFileTreeRequest;
+import com.groupdocs.ui.signature.model.web.SignatureDataEntity;
+import com.groupdocs.ui.signature.model.xml.StampXmlEntity;
+import com.groupdocs.ui.util.Utils;
+import org.apache.commons.io.FilenameUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import static com.groupdocs.ui.signature.SignatureType.STAMP;
+
+/**
+ * SignatureSession
+ * Scripted session of one user: open the file tree, open a document, scroll its pages,
+ * create a stamp, sign the document by the stamp and download a signed copy.
+ * A worker signs its own copy of the document if the files directory has one, see WORKER_COPY_FORMAT,
+ * so concurrent sessions never sign the same file or a file which is being viewed.
+ */
+public class SignatureSession {
+
+    /**
+     * Name of the copy signed by one worker: base name, worker number and extension
+     */
+    static final String WORKER_COPY_FORMAT = "%s-worker%d.%s";
+    // copies of the workers are signed only, they are not opened for viewing
+    private static final Pattern WORKER_COPY_PATTERN = Pattern.compile(".*-worker\\d+\\.[^.]+");
+
+    private static final String STAMP_IMAGE = createStampImage();
+    private static final String IMAGE_TYPE = "image";
+    private static final Map<String, List<String>> DOCUMENT_TYPES = new LinkedHashMap<>();
+
+    static {
+        DOCUMENT_TYPES.put("Portable Document Format", Collections.singletonList("pdf"));
+        DOCUMENT_TYPES.put("Microsoft Word", Arrays.asList("doc", "docx", "docm", "dot", "dotx", "dotm", "odt", "ott", "rtf", "txt"));
+        DOCUMENT_TYPES.put("Microsoft Excel", Arrays.asList("xls", "xlsx", "xlsm", "xlsb", "xlt", "xltx", "ods", "csv"));
+        DOCUMENT_TYPES.put("Microsoft PowerPoint", Arrays.asList("ppt", "pptx", "pps", "ppsx", "odp"));
+    }
+
+    private final LoadClient client;
+    private final int worker;
+    private final int pages;
+    private final String document;
+
+    /**
+     * Constructor
+     *
+     * @param client   client of the application
+     * @param worker   number of the worker running the sessions
+     * @param pages    number of pages to scroll
+     * @param document part of the document name, null for any document
+     */
+    public SignatureSession(LoadClient client, int worker, int pages, String document) {
+        this.client = client;
+        this.worker = worker;
+        this.pages = pages;
+        this.document = document;
+    }
+
+    /**
+     * Run the session
+     *
+     * @throws IOException if a request fails
+     */
+    public void run() throws IOException {
+        SignatureFileTreeRequest fileTreeRequest = new SignatureFileTreeRequest();
+        fileTreeRequest.setPath("");
+        JsonNode fileTree = client.post("loadFileTree", fileTreeRequest);
+
+        List<JsonNode> documents = new ArrayList<>();
+        List<JsonNode> workerCopies = new ArrayList<>();
+        for (JsonNode file : fileTree) {
+            String name = file.path("name").asText();
+            if (FilenameUtils.getExtension(name).isEmpty() || (document != null && !name.contains(document))) {
+                continue;
+            }
+            if (!WORKER_COPY_PATTERN.matcher(name).matches()) {
+                documents.add(file);
+            } else if (name.endsWith(String.format(WORKER_COPY_FORMAT, "", worker, FilenameUtils.getExtension(name)))) {
+                workerCopies.add(file);
+            }
+        }
+        if (documents.isEmpty()) {
+            throw new IOException("No documents to open" + (document == null ? "" : " matching " + document));
+        }
+        JsonNode openedDocument = documents.get(ThreadLocalRandom.current().nextInt(documents.size()));
+        String guid = openedDocument.path("guid").asText();
+
+        // view the document as the viewer does: description first, then page images while scrolling
+        LoadDocumentRequest loadDocumentRequest = new LoadDocumentRequest();
+        loadDocumentRequest.setGuid(guid);
+        JsonNode description = client.post("loadDocumentDescription", loadDocumentRequest);
+        int pageNumber = 0;
+        for (JsonNode page : description.path("pages")) {
+            if (++pageNumber > pages) {
+                break;
+            }
+            // inline images come with the description
+            if (page.path("data").isTextual()) {
+                continue;
+            }
+            client.get("loadPageImage", String.format("/signature/page/%s/%d.png", Utils.encodeDocumentId(guid), pageNumber));
+        }
+
+        SaveStampRequest saveStampRequest = new SaveStampRequest();
+        saveStampRequest.setImage(STAMP_IMAGE);
+        saveStampRequest.setStampData(Collections.singletonList(createStampLine()));
+        String stampGuid = client.post("saveStamp", saveStampRequest).path("guid").asText();
+
+        JsonNode signedDocument = getSignedDocument(openedDocument, workerCopies);
+        SignDocumentRequest signDocumentRequest = new SignDocumentRequest();
+        signDocumentRequest.setGuid(signedDocument.path("guid").asText());
+        signDocumentRequest.setDocumentType(getDocumentType(signedDocument.path("name").asText()));
+        signDocumentRequest.setSignaturesData(Collections.singletonList(createStampSignature(stampGuid)));
+        client.post("sign", signDocumentRequest);
+        client.download("downloadSigned", signDocumentRequest);
+    }
+
+    /**
+     * Get document type the way the viewer client gets it from the file extension
+     *
+     * @param fileName name of the document
+     * @return document type of the sign request
+     */
+    static String getDocumentType(String fileName) {
+        String extension = FilenameUtils.getExtension(fileName).toLowerCase();
+        for (Map.Entry<String, List<String>> documentType : DOCUMENT_TYPES.entrySet()) {
+            if (documentType.getValue().contains(extension)) {
+                return documentType.getKey();
+            }
+        }
+        return IMAGE_TYPE;
+    }
+
+    private static JsonNode getSignedDocument(JsonNode openedDocument, List<JsonNode> workerCopies) {
+        if (workerCopies.isEmpty()) {
+            return openedDocument;
+        }
+        // the copy of the opened document, any copy of the worker if there is no such copy
+        String copyPrefix = FilenameUtils.getBaseName(openedDocument.path("name").asText()) + "-worker";
+        for (JsonNode workerCopy : workerCopies) {
+            if (workerCopy.path("name").asText().startsWith(copyPrefix)) {
+                return workerCopy;
+            }
+        }
+        return workerCopies.get(0);
+    }
+
+    private static StampXmlEntity createStampLine() {
+        StampXmlEntity stampLine = new StampXmlEntity();
+        stampLine.setText("Approved");
+        stampLine.setFont("Arial");
+        stampLine.setFontSize(12);
+        stampLine.setRadius(50);
+        stampLine.setWidth(100);
+        stampLine.setHeight(100);
+        stampLine.setTextRepeat(1);
+        stampLine.setStrokeWidth(2);
+        return stampLine;
+    }
+
+    private static SignatureDataEntity createStampSignature(String stampGuid) {
+        SignatureDataEntity signatureData = new SignatureDataEntity();
+        signatureData.setSignatureType(STAMP);
+        signatureData.setSignatureGuid(stampGuid);
+        signatureData.setPageNumber(1);
+        signatureData.setLeft(50);
+        signatureData.setTop(50);
+        signatureData.setImageWidth(100);
+        signatureData.setImageHeight(100);
+        return signatureData;
+    }
+
+    private static String createStampImage() {
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.BLUE);
+        graphics.drawOval(1, 1, 97, 97);
+        graphics.dispose();
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", outputStream);
+            return "data:image/png;base64," + Base64.getEncoder().encodeToString(outputStream.toByteArray());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
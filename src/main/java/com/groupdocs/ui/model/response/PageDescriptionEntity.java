@@ -10,6 +10,10 @@ public class PageDescriptionEntity {
      * Page data
      */
     private String data;
+    /**
+     * Page image url, set instead of data when images are not inlined
+     */
+    private String url;
     private int angle;
     private double width;
     private double height;
@@ -54,4 +58,12 @@ public class PageDescriptionEntity {
     public void setData(String data) {
         this.data = data;
     }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
 }
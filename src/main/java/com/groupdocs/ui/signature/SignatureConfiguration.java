@@ -9,6 +9,7 @@ import javax.annotation.PostConstruct;
 
 import static com.groupdocs.ui.config.DefaultDirectories.defaultSignatureDirectory;
 import static com.groupdocs.ui.config.DefaultDirectories.relativePathToAbsolute;
+import static com.groupdocs.ui.util.directory.PathConstants.DATA_FOLDER;
 
 @Component
 public class SignatureConfiguration extends CommonConfiguration {
@@ -52,9 +53,88 @@ public class SignatureConfiguration extends CommonConfiguration {
     @Value("${signature.defaultDocument}")
     private String defaultDocument;
 
+    @Value("#{new Integer('${signature.handlerPoolSize}')}")
+    private Integer handlerPoolSize;
+
+    @Value("#{new Long('${signature.handlerPoolTimeout}')}")
+    private Long handlerPoolTimeout;
+
+    @Value("#{new Integer('${signature.pageCacheSize}')}")
+    private Integer pageCacheSize;
+
+    @Value("#{new Boolean('${signature.pageCacheOnDisk}')}")
+    private Boolean pageCacheOnDisk;
+
+    @Value("#{new Integer('${signature.renderThreads}')}")
+    private Integer renderThreads;
+
+    @Value("#{new Integer('${signature.documentParallelism}')}")
+    private Integer documentParallelism;
+
+    @Value("#{new Integer('${signature.prefetchPageCount}')}")
+    private Integer prefetchPageCount;
+
+    @Value("#{new Boolean('${signature.inlineImages}')}")
+    private Boolean inlineImages;
+
+    @Value("#{new Integer('${signature.thumbnailSize}')}")
+    private Integer thumbnailSize;
+
+    @Value("#{new Integer('${signature.thumbnailCacheSize}')}")
+    private Integer thumbnailCacheSize;
+
+    @Value("#{new Integer('${signature.signJobThreads}')}")
+    private Integer signJobThreads;
+
+    @Value("#{new Integer('${signature.signJobQueueSize}')}")
+    private Integer signJobQueueSize;
+
+    @Value("#{new Boolean('${signature.persistSignJobs}')}")
+    private Boolean persistSignJobs;
+
+    @Value("#{new Integer('${signature.signBatchThreads}')}")
+    private Integer signBatchThreads;
+
+    @Value("#{new Integer('${signature.uploadSessionExpiration}')}")
+    private Integer uploadSessionExpiration;
+
+    @Value("#{new Boolean('${signature.contentAddressedStorage}')}")
+    private Boolean contentAddressedStorage;
+
+    @Value("#{new Integer('${signature.documentSessionCacheSize}')}")
+    private Integer documentSessionCacheSize;
+
+    @Value("#{new Integer('${signature.documentSessionExpiration}')}")
+    private Integer documentSessionExpiration;
+
+    @Value("#{new Boolean('${signature.documentMetadataStore}')}")
+    private Boolean documentMetadataStore;
+
+    @Value("#{new Integer('${signature.prerenderPageCount}')}")
+    private Integer prerenderPageCount;
+
+    @Value("#{new Boolean('${signature.prerenderWatchFilesDirectory}')}")
+    private Boolean prerenderWatchFilesDirectory;
+
+    @Value("#{new Integer('${signature.pageThumbnailSize}')}")
+    private Integer pageThumbnailSize;
+
+    @Value("#{new Integer('${signature.pageThumbnailCacheSize}')}")
+    private Integer pageThumbnailCacheSize;
+
+    @Value("#{new Integer('${signature.signatureImageCacheSize}')}")
+    private Integer signatureImageCacheSize;
+
+    @Value("#{new Integer('${signature.uploadSessionLimit}')}")
+    private Integer uploadSessionLimit;
+
     @PostConstruct
     public void init() {
         this.filesDirectory = StringUtils.isEmpty(this.filesDirectory) ? defaultSignatureDirectory() : relativePathToAbsolute(this.filesDirectory);
+        // check if the data directory is set, if not set a new directory
+        if (StringUtils.isEmpty(this.dataDirectory)) {
+            this.dataDirectory = this.filesDirectory + DATA_FOLDER;
+        }
     }
 
     public String getFilesDirectory() {
@@ -161,6 +241,206 @@ public class SignatureConfiguration extends CommonConfiguration {
         this.handSignature = handSignature;
     }
 
+    public Integer getHandlerPoolSize() {
+        return handlerPoolSize;
+    }
+
+    public void setHandlerPoolSize(Integer handlerPoolSize) {
+        this.handlerPoolSize = handlerPoolSize;
+    }
+
+    public Long getHandlerPoolTimeout() {
+        return handlerPoolTimeout;
+    }
+
+    public void setHandlerPoolTimeout(Long handlerPoolTimeout) {
+        this.handlerPoolTimeout = handlerPoolTimeout;
+    }
+
+    public Integer getPageCacheSize() {
+        return pageCacheSize;
+    }
+
+    public void setPageCacheSize(Integer pageCacheSize) {
+        this.pageCacheSize = pageCacheSize;
+    }
+
+    public Boolean getPageCacheOnDisk() {
+        return pageCacheOnDisk;
+    }
+
+    public void setPageCacheOnDisk(Boolean pageCacheOnDisk) {
+        this.pageCacheOnDisk = pageCacheOnDisk;
+    }
+
+    public Integer getRenderThreads() {
+        return renderThreads;
+    }
+
+    public void setRenderThreads(Integer renderThreads) {
+        this.renderThreads = renderThreads;
+    }
+
+    public Integer getDocumentParallelism() {
+        return documentParallelism;
+    }
+
+    public void setDocumentParallelism(Integer documentParallelism) {
+        this.documentParallelism = documentParallelism;
+    }
+
+    public Integer getPrefetchPageCount() {
+        return prefetchPageCount;
+    }
+
+    public void setPrefetchPageCount(Integer prefetchPageCount) {
+        this.prefetchPageCount = prefetchPageCount;
+    }
+
+    public Boolean getInlineImages() {
+        return inlineImages;
+    }
+
+    public void setInlineImages(Boolean inlineImages) {
+        this.inlineImages = inlineImages;
+    }
+
+    public Integer getThumbnailSize() {
+        return thumbnailSize;
+    }
+
+    public void setThumbnailSize(Integer thumbnailSize) {
+        this.thumbnailSize = thumbnailSize;
+    }
+
+    public Integer getThumbnailCacheSize() {
+        return thumbnailCacheSize;
+    }
+
+    public void setThumbnailCacheSize(Integer thumbnailCacheSize) {
+        this.thumbnailCacheSize = thumbnailCacheSize;
+    }
+
+    public Integer getSignJobThreads() {
+        return signJobThreads;
+    }
+
+    public void setSignJobThreads(Integer signJobThreads) {
+        this.signJobThreads = signJobThreads;
+    }
+
+    public Integer getSignJobQueueSize() {
+        return signJobQueueSize;
+    }
+
+    public void setSignJobQueueSize(Integer signJobQueueSize) {
+        this.signJobQueueSize = signJobQueueSize;
+    }
+
+    public Boolean getPersistSignJobs() {
+        return persistSignJobs;
+    }
+
+    public void setPersistSignJobs(Boolean persistSignJobs) {
+        this.persistSignJobs = persistSignJobs;
+    }
+
+    public Integer getSignBatchThreads() {
+        return signBatchThreads;
+    }
+
+    public void setSignBatchThreads(Integer signBatchThreads) {
+        this.signBatchThreads = signBatchThreads;
+    }
+
+    public Integer getUploadSessionExpiration() {
+        return uploadSessionExpiration;
+    }
+
+    public void setUploadSessionExpiration(Integer uploadSessionExpiration) {
+        this.uploadSessionExpiration = uploadSessionExpiration;
+    }
+
+    public Boolean getContentAddressedStorage() {
+        return contentAddressedStorage;
+    }
+
+    public void setContentAddressedStorage(Boolean contentAddressedStorage) {
+        this.contentAddressedStorage = contentAddressedStorage;
+    }
+
+    public Integer getDocumentSessionCacheSize() {
+        return documentSessionCacheSize;
+    }
+
+    public void setDocumentSessionCacheSize(Integer documentSessionCacheSize) {
+        this.documentSessionCacheSize = documentSessionCacheSize;
+    }
+
+    public Integer getDocumentSessionExpiration() {
+        return documentSessionExpiration;
+    }
+
+    public void setDocumentSessionExpiration(Integer documentSessionExpiration) {
+        this.documentSessionExpiration = documentSessionExpiration;
+    }
+
+    public Boolean getDocumentMetadataStore() {
+        return documentMetadataStore;
+    }
+
+    public void setDocumentMetadataStore(Boolean documentMetadataStore) {
+        this.documentMetadataStore = documentMetadataStore;
+    }
+
+    public Integer getPrerenderPageCount() {
+        return prerenderPageCount;
+    }
+
+    public void setPrerenderPageCount(Integer prerenderPageCount) {
+        this.prerenderPageCount = prerenderPageCount;
+    }
+
+    public Boolean getPrerenderWatchFilesDirectory() {
+        return prerenderWatchFilesDirectory;
+    }
+
+    public void setPrerenderWatchFilesDirectory(Boolean prerenderWatchFilesDirectory) {
+        this.prerenderWatchFilesDirectory = prerenderWatchFilesDirectory;
+    }
+
+    public Integer getPageThumbnailSize() {
+        return pageThumbnailSize;
+    }
+
+    public void setPageThumbnailSize(Integer pageThumbnailSize) {
+        this.pageThumbnailSize = pageThumbnailSize;
+    }
+
+    public Integer getPageThumbnailCacheSize() {
+        return pageThumbnailCacheSize;
+    }
+
+    public void setPageThumbnailCacheSize(Integer pageThumbnailCacheSize) {
+        this.pageThumbnailCacheSize = pageThumbnailCacheSize;
+    }
+
+    public Integer getSignatureImageCacheSize() {
+        return signatureImageCacheSize;
+    }
+
+    public void setSignatureImageCacheSize(Integer signatureImageCacheSize) {
+        this.signatureImageCacheSize = signatureImageCacheSize;
+    }
+
+    public Integer getUploadSessionLimit() {
+        return uploadSessionLimit;
+    }
+
+    public void setUploadSessionLimit(Integer uploadSessionLimit) {
+        this.uploadSessionLimit = uploadSessionLimit;
+    }
+
     @Override
     public String toString() {
         return super.toString() +
@@ -178,6 +458,31 @@ public class SignatureConfiguration extends CommonConfiguration {
                 ", downloadSigned=" + downloadSigned +
                 ", preloadPageCount=" + preloadPageCount +
                 ", defaultDocument='" + defaultDocument + '\'' +
+                ", handlerPoolSize=" + handlerPoolSize +
+                ", handlerPoolTimeout=" + handlerPoolTimeout +
+                ", pageCacheSize=" + pageCacheSize +
+                ", pageCacheOnDisk=" + pageCacheOnDisk +
+                ", renderThreads=" + renderThreads +
+                ", documentParallelism=" + documentParallelism +
+                ", prefetchPageCount=" + prefetchPageCount +
+                ", inlineImages=" + inlineImages +
+                ", thumbnailSize=" + thumbnailSize +
+                ", thumbnailCacheSize=" + thumbnailCacheSize +
+                ", signJobThreads=" + signJobThreads +
+                ", signJobQueueSize=" + signJobQueueSize +
+                ", persistSignJobs=" + persistSignJobs +
+                ", signBatchThreads=" + signBatchThreads +
+                ", uploadSessionExpiration=" + uploadSessionExpiration +
+                ", contentAddressedStorage=" + contentAddressedStorage +
+                ", documentSessionCacheSize=" + documentSessionCacheSize +
+                ", documentSessionExpiration=" + documentSessionExpiration +
+                ", documentMetadataStore=" + documentMetadataStore +
+                ", prerenderPageCount=" + prerenderPageCount +
+                ", prerenderWatchFilesDirectory=" + prerenderWatchFilesDirectory +
+                ", pageThumbnailSize=" + pageThumbnailSize +
+                ", pageThumbnailCacheSize=" + pageThumbnailCacheSize +
+                ", signatureImageCacheSize=" + signatureImageCacheSize +
+                ", uploadSessionLimit=" + uploadSessionLimit +
                 '}';
     }
 }
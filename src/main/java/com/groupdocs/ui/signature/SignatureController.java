@@ -7,38 +7,61 @@ import com.groupdocs.ui.model.request.LoadDocumentRequest;
 import com.groupdocs.ui.model.response.FileDescriptionEntity;
 import com.groupdocs.ui.model.response.LoadDocumentEntity;
 import com.groupdocs.ui.model.response.PageDescriptionEntity;
+import com.groupdocs.ui.signature.cache.PageImageKey;
+import com.groupdocs.ui.signature.cache.PageSpriteKey;
+import com.groupdocs.ui.signature.cache.PageThumbnailKey;
+import com.groupdocs.ui.signature.cache.SignatureThumbnailKey;
 import com.groupdocs.ui.signature.model.request.*;
+import com.groupdocs.ui.signature.model.web.HandlerPoolStatsEntity;
+import com.groupdocs.ui.signature.model.web.PageThumbnailsEntity;
 import com.groupdocs.ui.signature.model.web.SignatureDataEntity;
 import com.groupdocs.ui.signature.model.web.SignatureFileDescriptionEntity;
+import com.groupdocs.ui.signature.model.web.SignatureFileTreePageEntity;
+import com.groupdocs.ui.signature.model.web.SignBatchEntity;
+import com.groupdocs.ui.signature.model.web.SignJobEntity;
 import com.groupdocs.ui.signature.model.web.SignaturePageEntity;
 import com.groupdocs.ui.signature.model.web.SignedDocumentEntity;
+import com.groupdocs.ui.signature.model.web.UploadSessionEntity;
 import com.groupdocs.ui.signature.model.xml.OpticalXmlEntity;
 import com.groupdocs.ui.signature.model.xml.TextXmlEntity;
+import com.groupdocs.ui.signature.service.ChunkedUploadService;
+import com.groupdocs.ui.signature.service.PageThumbnailRenderer;
 import com.groupdocs.ui.signature.service.SaveSignatureService;
+import com.groupdocs.ui.signature.service.SignJobService;
 import com.groupdocs.ui.signature.service.SignService;
+import com.groupdocs.ui.signature.service.SignatureHandlerPool;
 import com.groupdocs.ui.signature.service.SignatureService;
+import com.groupdocs.ui.util.FileDownload;
 import com.groupdocs.ui.util.Utils;
 import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.annotation.Nullable;
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.BufferedInputStream;
-import java.io.FileInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.net.URLConnection;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Map;
 
+import static com.groupdocs.ui.signature.service.SignatureServiceImpl.PAGE_RESOLUTION;
 import static com.groupdocs.ui.util.Utils.setLocalPort;
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
+import static org.springframework.http.MediaType.IMAGE_PNG_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM_VALUE;
 import static org.springframework.http.MediaType.MULTIPART_FORM_DATA_VALUE;
 
 @Controller
@@ -56,6 +79,14 @@ public class SignatureController {
     private SaveSignatureService saveSignatureService;
     @Autowired
     private SignService signService;
+    @Autowired
+    private SignJobService signJobService;
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+    @Autowired
+    private SignatureHandlerPool signatureHandlerPool;
+    @Autowired
+    private PageThumbnailRenderer pageThumbnailRenderer;
 
     /**
      * Get signature page
@@ -81,6 +112,17 @@ public class SignatureController {
         return signatureService.getSignatureConfiguration();
     }
 
+    /**
+     * Get signature handlers pool state and borrow metrics
+     *
+     * @return pool statistics
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/handlerPoolStats", produces = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public HandlerPoolStatsEntity handlerPoolStats() {
+        return signatureHandlerPool.getStats();
+    }
+
     /**
      * Get files and directories
      *
@@ -92,6 +134,17 @@ public class SignatureController {
         return signatureService.getFileList(fileTreeRequest);
     }
 
+    /**
+     * Get one page of files and directories
+     *
+     * @return page of files and directories list
+     */
+    @RequestMapping(method = RequestMethod.POST, value = "/loadFileTreePage", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public SignatureFileTreePageEntity loadFileTreePage(@RequestBody SignatureFileTreePageRequest fileTreePageRequest) {
+        return signatureService.getFileListPage(fileTreePageRequest);
+    }
+
     /**
      * Get document description
      *
@@ -114,6 +167,142 @@ public class SignatureController {
         return signatureService.loadDocumentPage(loadDocumentPageRequest);
     }
 
+    /**
+     * Get image of the document page, answers conditional requests with 304 while the document is not changed.
+     * Requests with a password are not mapped: images of password protected documents are inlined
+     * into the page description, so the password never appears in urls
+     *
+     * @param documentId url safe identifier of the document
+     * @param pageNumber page number
+     * @param webRequest web request with conditional headers
+     * @param response   http response
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/page/{documentId}/{pageNumber:\\d+}.png", params = "!password")
+    public void getPageImage(@PathVariable("documentId") String documentId,
+                             @PathVariable("pageNumber") int pageNumber,
+                             WebRequest webRequest,
+                             HttpServletResponse response) {
+        String documentGuid = Utils.decodeDocumentId(documentId);
+        PageImageKey key = PageImageKey.of(documentGuid, pageNumber, PAGE_RESOLUTION);
+        if (key == null) {
+            throw new TotalGroupDocsException("Document not found");
+        }
+        if (webRequest.checkNotModified(key.getVersionTag(), key.getLastModified())) {
+            return;
+        }
+        byte[] pageImage = signatureService.getPageImage(documentGuid, pageNumber, null);
+        writeImage(response, pageImage, IMAGE_PNG_VALUE);
+    }
+
+    /**
+     * Load thumbnails of all document pages for the page navigation
+     *
+     * @param loadDocumentRequest document request data
+     * @return thumbnails with their urls and positions in sprite sheets
+     */
+    @RequestMapping(method = RequestMethod.POST, value = "/loadPageThumbnails", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public PageThumbnailsEntity loadPageThumbnails(@RequestBody LoadDocumentRequest loadDocumentRequest) {
+        return signatureService.loadPageThumbnails(loadDocumentRequest);
+    }
+
+    /**
+     * Get thumbnail of the document page, answers conditional requests with 304 while the document is not changed
+     *
+     * @param documentId url safe identifier of the document
+     * @param pageNumber page number
+     * @param webRequest web request with conditional headers
+     * @param response   http response
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/thumbnail/{documentId}/{pageNumber:\\d+}.png", params = "!password")
+    public void getPageThumbnail(@PathVariable("documentId") String documentId,
+                                 @PathVariable("pageNumber") int pageNumber,
+                                 WebRequest webRequest,
+                                 HttpServletResponse response) {
+        String documentGuid = Utils.decodeDocumentId(documentId);
+        PageThumbnailKey key = PageThumbnailKey.of(documentGuid, pageNumber, pageThumbnailRenderer.getSize(), null);
+        if (key == null) {
+            throw new TotalGroupDocsException("Document not found");
+        }
+        if (webRequest.checkNotModified(key.getVersionTag(), key.getLastModified())) {
+            return;
+        }
+        byte[] thumbnail = signatureService.getPageThumbnail(documentGuid, pageNumber, null);
+        writeImage(response, thumbnail, IMAGE_PNG_VALUE);
+    }
+
+    /**
+     * Get sprite sheet with thumbnails of the document pages,
+     * answers conditional requests with 304 while the document is not changed
+     *
+     * @param documentId   url safe identifier of the document
+     * @param spriteNumber number of the sprite sheet starting from 0
+     * @param webRequest   web request with conditional headers
+     * @param response     http response
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/thumbnail/{documentId}/sprite/{spriteNumber:\\d+}.png", params = "!password")
+    public void getPageThumbnailSprite(@PathVariable("documentId") String documentId,
+                                       @PathVariable("spriteNumber") int spriteNumber,
+                                       WebRequest webRequest,
+                                       HttpServletResponse response) {
+        String documentGuid = Utils.decodeDocumentId(documentId);
+        PageSpriteKey key = PageSpriteKey.of(documentGuid, spriteNumber, pageThumbnailRenderer.getSize(), null);
+        if (key == null) {
+            throw new TotalGroupDocsException("Document not found");
+        }
+        if (webRequest.checkNotModified(key.getVersionTag(), key.getLastModified())) {
+            return;
+        }
+        byte[] sprite = signatureService.getPageThumbnailSprite(documentGuid, spriteNumber, null);
+        writeImage(response, sprite, IMAGE_PNG_VALUE);
+    }
+
+    /**
+     * Get signature thumbnail, answers conditional requests with 304 while the signature is not changed
+     *
+     * @param guid       path to signature image
+     * @param size       maximum width and height of the thumbnail
+     * @param webRequest web request with conditional headers
+     * @param response   http response
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/signatureThumbnail")
+    public void signatureThumbnail(@RequestParam("guid") String guid,
+                                   @RequestParam(value = "size", required = false) Integer size,
+                                   WebRequest webRequest,
+                                   HttpServletResponse response) {
+        // the path is checked before the entity tag is computed, so files outside the data directory are not revealed
+        File signatureFile = signatureService.getSignatureFile(guid);
+        SignatureThumbnailKey key = SignatureThumbnailKey.of(signatureFile.getPath(), size == null ? 0 : size);
+        if (key == null) {
+            throw new TotalGroupDocsException("Signature not found");
+        }
+        if (webRequest.checkNotModified(key.getVersionTag(), key.getLastModified())) {
+            return;
+        }
+        byte[] thumbnail = signatureService.getSignatureThumbnail(guid, size);
+        String contentType;
+        try {
+            // small images are sent as they are, not always as PNG
+            contentType = URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(thumbnail));
+        } catch (IOException ex) {
+            contentType = null;
+        }
+        writeImage(response, thumbnail, contentType == null ? APPLICATION_OCTET_STREAM_VALUE : contentType);
+    }
+
+    private void writeImage(HttpServletResponse response, byte[] image, String contentType) {
+        // urls don't change with the files, so browser has to revalidate the image
+        response.setHeader(CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        response.setContentType(contentType);
+        response.setContentLength(image.length);
+        try (ServletOutputStream outputStream = response.getOutputStream()) {
+            outputStream.write(image);
+        } catch (Exception ex) {
+            logger.error("Exception in sending image", ex);
+            throw new TotalGroupDocsException(ex.getMessage(), ex);
+        }
+    }
+
     /**
      * Get fonts
      *
@@ -128,28 +317,27 @@ public class SignatureController {
     /**
      * Download document
      *
+     * @param request
      * @param response
      * @return document
      */
     @RequestMapping(method = RequestMethod.GET, value = "/downloadDocument")
     public void downloadDocument(@RequestParam(name = "path") String documentGuid,
+                                 HttpServletRequest request,
                                  HttpServletResponse response) {
         // get document path
         String fileName = FilenameUtils.getName(documentGuid);
-        // set response content info
-        Utils.addFileDownloadHeaders(response, fileName, null);
-
-        long length;
-        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(documentGuid));
-             ServletOutputStream outputStream = response.getOutputStream()) {
-            // download the document
-            length = IOUtils.copyLarge(inputStream, outputStream);
+        File file = new File(documentGuid);
+        if (!file.isFile()) {
+            throw new TotalGroupDocsException("File " + fileName + " is not found");
+        }
+        try {
+            // download the document, supports ranges to resume interrupted downloads
+            FileDownload.send(request, response, file, fileName);
         } catch (Exception ex) {
             logger.error("Exception in downloading document", ex);
             throw new TotalGroupDocsException(ex.getMessage(), ex);
         }
-
-        Utils.addFileDownloadLengthHeader(response, length);
     }
 
     /**
@@ -167,6 +355,62 @@ public class SignatureController {
         return signatureService.uploadDocument(content, url, rewrite, signatureType);
     }
 
+    /**
+     * Start chunked upload
+     *
+     * @param uploadSessionRequest file name, size and target of the upload
+     * @return upload state with the upload id
+     */
+    @RequestMapping(method = RequestMethod.POST, value = "/upload", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public UploadSessionEntity startUpload(@RequestBody UploadSessionRequest uploadSessionRequest) {
+        return chunkedUploadService.start(uploadSessionRequest);
+    }
+
+    /**
+     * Get state of chunked upload
+     *
+     * @param uploadId id of the upload
+     * @return upload state, the next chunk starts at the received offset
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/upload/{uploadId}", produces = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public UploadSessionEntity getUpload(@PathVariable("uploadId") String uploadId) {
+        return chunkedUploadService.getState(uploadId);
+    }
+
+    /**
+     * Upload chunk of the file, request body is the raw chunk data
+     *
+     * @param uploadId id of the upload
+     * @param offset   position of the chunk in the file
+     * @param request  http request
+     * @return upload state, contains uploaded document when the last chunk is received
+     */
+    @RequestMapping(method = RequestMethod.PUT, value = "/upload/{uploadId}", consumes = APPLICATION_OCTET_STREAM_VALUE, produces = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public UploadSessionEntity uploadChunk(@PathVariable("uploadId") String uploadId,
+                                           @RequestParam("offset") long offset,
+                                           HttpServletRequest request) {
+        try (InputStream inputStream = request.getInputStream()) {
+            return chunkedUploadService.writeChunk(uploadId, offset, inputStream);
+        } catch (IOException ex) {
+            logger.error("Exception in uploading chunk", ex);
+            throw new TotalGroupDocsException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Cancel chunked upload
+     *
+     * @param uploadId id of the upload
+     */
+    @RequestMapping(method = RequestMethod.DELETE, value = "/upload/{uploadId}")
+    @ResponseBody
+    public void cancelUpload(@PathVariable("uploadId") String uploadId) {
+        chunkedUploadService.cancel(uploadId);
+    }
+
     /**
      * Get signature image stream - temporally workaround used until release of the GroupDocs.Signature 18.5, after release will be removed
      *
@@ -202,6 +446,66 @@ public class SignatureController {
         return signService.sign(signDocumentRequest);
     }
 
+    /**
+     * Put the same signatures on many documents
+     *
+     * @param signBatchRequest
+     * @return results of signing
+     */
+    @RequestMapping(method = RequestMethod.POST, value = "/signBatch", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public SignBatchEntity signBatch(@RequestBody SignBatchRequest signBatchRequest) {
+        List<String> guids = signBatchRequest.getGuids();
+        if (guids == null || guids.isEmpty()) {
+            throw new IllegalArgumentException("Documents list is empty");
+        }
+        List<SignatureDataEntity> signaturesData = signBatchRequest.getSignaturesData();
+        if (signaturesData == null || signaturesData.isEmpty()) {
+            throw new IllegalArgumentException("Sign data is empty");
+        }
+        return signService.signBatch(signBatchRequest);
+    }
+
+    /**
+     * Submit document for signing in the background
+     *
+     * @param signDocumentRequest
+     * @return queued sign job
+     */
+    @RequestMapping(method = RequestMethod.POST, value = "/signJob", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public SignJobEntity submitSignJob(@RequestBody SignDocumentRequest signDocumentRequest) {
+        List<SignatureDataEntity> signaturesData = signDocumentRequest.getSignaturesData();
+        if (signaturesData == null || signaturesData.isEmpty()) {
+            throw new IllegalArgumentException("Sign data is empty");
+        }
+        return signJobService.submit(signDocumentRequest);
+    }
+
+    /**
+     * Get state and timings of the sign job
+     *
+     * @param jobId id of the job
+     * @return sign job
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/signJob/{jobId}", produces = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public SignJobEntity getSignJob(@PathVariable("jobId") String jobId) {
+        return signJobService.getJob(jobId);
+    }
+
+    /**
+     * Get signed document of the finished sign job
+     *
+     * @param jobId id of the job
+     * @return signed document
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/signJob/{jobId}/result", produces = APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public SignedDocumentEntity getSignJobResult(@PathVariable("jobId") String jobId) {
+        return signJobService.getResult(jobId);
+    }
+
     /**
      * Sign document with signatures and download result without saving
      *
@@ -220,17 +524,20 @@ public class SignatureController {
         // set response content info
         Utils.addFileDownloadHeaders(response, fileName, null);
 
-        long length;
-        try (InputStream inputStream = signService.signByStream(signDocumentRequest);
-             ServletOutputStream outputStream = response.getOutputStream()) {
-            // download the document
-            length = IOUtils.copyLarge(inputStream, outputStream);
+        // signed document is kept on disk, so memory use doesn't depend on the document size
+        File signedFile = signService.signToTempFile(signDocumentRequest);
+        try {
+            Utils.addFileDownloadLengthHeader(response, signedFile.length());
+            try (ServletOutputStream outputStream = response.getOutputStream()) {
+                // download the document
+                Files.copy(signedFile.toPath(), outputStream);
+            }
         } catch (Exception ex) {
             logger.error("Exception in downloading document", ex);
             throw new TotalGroupDocsException(ex.getMessage(), ex);
+        } finally {
+            signService.deleteTempFile(signedFile);
         }
-
-        Utils.addFileDownloadLengthHeader(response, length);
     }
 
     /**
@@ -121,19 +121,18 @@ public class SignatureLoader {
     }
 
     private List<File> createFilesList(List<File> imageFiles, List<File> xmlFiles) {
+        // join previews and xml files by base name
+        Set<String> xmlNames = new HashSet<>(xmlFiles.size() * 2);
+        for (File xmlFile : xmlFiles) {
+            xmlNames.add(FilenameUtils.removeExtension(xmlFile.getName()));
+        }
         List<File> filesList = new ArrayList<>();
         for (File image : imageFiles) {
-            findXmlFile(xmlFiles, filesList, image);
-        }
-        return filesList;
-    }
-
-    private void findXmlFile(List<File> xmlFiles, List<File> filesList, File image) {
-        for (File xmlFile : xmlFiles) {
-            if (FilenameUtils.removeExtension(xmlFile.getName()).equals(FilenameUtils.removeExtension(image.getName()))) {
+            if (xmlNames.contains(FilenameUtils.removeExtension(image.getName()))) {
                 filesList.add(image);
             }
         }
+        return filesList;
     }
 
     private List<SignatureFileDescriptionEntity> getResultFileList(String dataPath, List<File> filesList, boolean withImage, String signatureType) throws IOException, JAXBException {
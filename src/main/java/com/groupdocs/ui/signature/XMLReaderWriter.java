@@ -1,13 +1,66 @@
 package com.groupdocs.ui.signature;
 
+import com.groupdocs.ui.signature.metrics.SignatureMetrics;
+import com.groupdocs.ui.signature.model.xml.OpticalXmlEntity;
+import com.groupdocs.ui.signature.model.xml.StampXmlEntityList;
+import com.groupdocs.ui.signature.model.xml.TextXmlEntity;
+import io.micrometer.core.instrument.Timer;
+
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.groupdocs.ui.signature.metrics.SignatureMetrics.TYPE;
+import static com.groupdocs.ui.signature.metrics.SignatureMetrics.XML_READ;
+import static com.groupdocs.ui.signature.metrics.SignatureMetrics.XML_WRITE;
 
 public class XMLReaderWriter<T> {
 
+    /**
+     * Compiled JAXB contexts, creating a context is expensive while a ready one is thread safe
+     */
+    private static final ConcurrentMap<Class<?>, JAXBContext> CONTEXTS = new ConcurrentHashMap<>();
+    /**
+     * Marshallers and unmarshallers are not thread safe, each thread reuses its own ones
+     */
+    private static final ThreadLocal<Map<Class<?>, Unmarshaller>> UNMARSHALLERS = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<Class<?>, Marshaller>> MARSHALLERS = ThreadLocal.withInitial(HashMap::new);
+
+    static {
+        try {
+            getContext(TextXmlEntity.class);
+            getContext(OpticalXmlEntity.class);
+            getContext(StampXmlEntityList.class);
+        } catch (JAXBException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    /**
+     * Get compiled JAXB context of the class
+     *
+     * @param clazz class bound by the context
+     * @return shared JAXB context
+     * @throws JAXBException
+     */
+    public static JAXBContext getContext(Class<?> clazz) throws JAXBException {
+        JAXBContext context = CONTEXTS.get(clazz);
+        if (context == null) {
+            context = JAXBContext.newInstance(clazz);
+            JAXBContext existing = CONTEXTS.putIfAbsent(clazz, context);
+            if (existing != null) {
+                context = existing;
+            }
+        }
+        return context;
+    }
+
     /**
      * read xml file into java object
      *
@@ -17,12 +70,17 @@ public class XMLReaderWriter<T> {
      * @throws JAXBException
      */
     public T read(String fileName, Class<T> clazz) throws JAXBException {
-        JAXBContext jc = JAXBContext.newInstance(clazz);
-
-        Unmarshaller unmarshaller = jc.createUnmarshaller();
-        File xml = new File(fileName);
-        T obj = (T) unmarshaller.unmarshal(xml);
-        return obj;
+        Timer.Sample sample = SignatureMetrics.start();
+        boolean success = false;
+        try {
+            Unmarshaller unmarshaller = getUnmarshaller(clazz);
+            File xml = new File(fileName);
+            T obj = (T) unmarshaller.unmarshal(xml);
+            success = true;
+            return obj;
+        } finally {
+            SignatureMetrics.stop(sample, XML_READ, success, TYPE, clazz.getSimpleName());
+        }
     }
 
     /**
@@ -33,12 +91,36 @@ public class XMLReaderWriter<T> {
      * @throws JAXBException
      */
     public void write(String fileName, T obj) throws JAXBException {
-        File file = new File(fileName);
-        JAXBContext jaxbContext = JAXBContext.newInstance(obj.getClass());
-        Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
+        Timer.Sample sample = SignatureMetrics.start();
+        boolean success = false;
+        try {
+            File file = new File(fileName);
+            Marshaller jaxbMarshaller = getMarshaller(obj.getClass());
+            jaxbMarshaller.marshal(obj, file);
+            success = true;
+        } finally {
+            SignatureMetrics.stop(sample, XML_WRITE, success, TYPE, obj.getClass().getSimpleName());
+        }
+    }
 
-        jaxbMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+    private static Unmarshaller getUnmarshaller(Class<?> clazz) throws JAXBException {
+        Map<Class<?>, Unmarshaller> unmarshallers = UNMARSHALLERS.get();
+        Unmarshaller unmarshaller = unmarshallers.get(clazz);
+        if (unmarshaller == null) {
+            unmarshaller = getContext(clazz).createUnmarshaller();
+            unmarshallers.put(clazz, unmarshaller);
+        }
+        return unmarshaller;
+    }
 
-        jaxbMarshaller.marshal(obj, file);
+    private static Marshaller getMarshaller(Class<?> clazz) throws JAXBException {
+        Map<Class<?>, Marshaller> marshallers = MARSHALLERS.get();
+        Marshaller marshaller = marshallers.get(clazz);
+        if (marshaller == null) {
+            marshaller = getContext(clazz).createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+            marshallers.put(clazz, marshaller);
+        }
+        return marshaller;
     }
 }
@@ -0,0 +1,166 @@
+package com.groupdocs.ui.signature.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.awt.Dimension;
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DocumentSessionCache
+ * Keeps what the signing engine tells about an opened document: the page count and the sizes of its pages.
+ * Viewer requests of one document share the session, so loading the description and pages doesn't ask
+ * the engine to open the document again, which includes decryption for password protected documents.
+ * Sessions are dropped after the configured idle time, their total estimated size is bounded,
+ * keys contain modification time and size of the document, so a signed document gets a new session.
+ */
+@Component
+public class DocumentSessionCache {
+
+    private static final long KILOBYTE = 1024;
+    private static final int DEFAULT_EXPIRATION_MINUTES = 10;
+    // estimated memory of the session and of one page size
+    private static final int SESSION_WEIGHT = 256;
+    private static final int PAGE_WEIGHT = 96;
+
+    @Autowired
+    private SignatureConfiguration signatureConfiguration;
+
+    private Cache<DocumentSessionKey, DocumentSession> sessions;
+
+    /**
+     * Opened document
+     */
+    public static class DocumentSession {
+        private final int pageCount;
+        private final Map<Integer, Dimension> pageSizes = new ConcurrentHashMap<>();
+
+        public DocumentSession(int pageCount) {
+            this.pageCount = pageCount;
+        }
+
+        /**
+         * Constructor of the session with known page sizes
+         *
+         * @param pageCount number of pages
+         * @param pageSizes sizes of pages by page number
+         */
+        public DocumentSession(int pageCount, Map<Integer, Dimension> pageSizes) {
+            this.pageCount = pageCount;
+            this.pageSizes.putAll(pageSizes);
+        }
+
+        public int getPageCount() {
+            return pageCount;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        Integer cacheSize = signatureConfiguration.getDocumentSessionCacheSize();
+        if (cacheSize == null || cacheSize <= 0) {
+            return;
+        }
+        Integer documentSessionExpiration = signatureConfiguration.getDocumentSessionExpiration();
+        int expiration = documentSessionExpiration == null || documentSessionExpiration <= 0 ? DEFAULT_EXPIRATION_MINUTES : documentSessionExpiration;
+        sessions = CacheBuilder.newBuilder()
+                .expireAfterAccess(expiration, TimeUnit.MINUTES)
+                .maximumWeight(cacheSize * KILOBYTE)
+                .weigher(new Weigher<DocumentSessionKey, DocumentSession>() {
+                    @Override
+                    public int weigh(DocumentSessionKey key, DocumentSession session) {
+                        // sizes of all pages are counted at once, the weight can't change after the session is cached
+                        return SESSION_WEIGHT + key.getDocumentGuid().length() * 2 + session.pageCount * PAGE_WEIGHT;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Get session of the document or open the document and cache its session
+     *
+     * @param documentGuid path to document
+     * @param password     document password
+     * @param loader       opens the document by the engine or from stored metadata
+     * @return document session
+     * @throws Exception exception of the loader
+     */
+    public DocumentSession getSession(String documentGuid, String password, Callable<DocumentSession> loader) throws Exception {
+        DocumentSessionKey key = sessions == null ? null : DocumentSessionKey.of(documentGuid, password);
+        if (key == null) {
+            return loader.call();
+        }
+        try {
+            return sessions.get(key, loader);
+        } catch (ExecutionException | UncheckedExecutionException ex) {
+            // wrong password and other errors of the engine are thrown as they are
+            Throwable cause = ex.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Get size of the page from the session of the document, the size is loaded and kept
+     * if the document is opened, otherwise it is just loaded
+     *
+     * @param documentGuid path to document
+     * @param password     document password
+     * @param pageNumber   page number
+     * @param loader       gets page size from the engine
+     * @return page size
+     * @throws Exception exception of the loader
+     */
+    public Dimension getPageSize(String documentGuid, String password, int pageNumber, Callable<Dimension> loader) throws Exception {
+        DocumentSessionKey key = sessions == null ? null : DocumentSessionKey.of(documentGuid, password);
+        DocumentSession session = key == null ? null : sessions.getIfPresent(key);
+        if (session == null) {
+            return loader.call();
+        }
+        Dimension pageSize = session.pageSizes.get(pageNumber);
+        if (pageSize == null) {
+            pageSize = loader.call();
+            session.pageSizes.put(pageNumber, pageSize);
+        }
+        return pageSize;
+    }
+
+    /**
+     * Remove sessions of the document, used when the document is overwritten
+     *
+     * @param documentGuid path to document
+     */
+    public void invalidate(String documentGuid) {
+        if (sessions == null || documentGuid == null) {
+            return;
+        }
+        String absolutePath = new File(documentGuid).getAbsolutePath();
+        for (DocumentSessionKey key : sessions.asMap().keySet()) {
+            if (key.getDocumentGuid().equals(absolutePath)) {
+                sessions.invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * Get number of cached sessions
+     *
+     * @return number of sessions
+     */
+    public long size() {
+        return sessions == null ? 0 : sessions.size();
+    }
+}
@@ -0,0 +1,107 @@
+package com.groupdocs.ui.signature.cache;
+
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+
+/**
+ * DocumentSessionKey
+ * Identifies opened document: the file path together with its modification time and size
+ * and the hash of the password, so the password itself is never kept by the cache
+ */
+public class DocumentSessionKey {
+    private final String documentGuid;
+    private final long lastModified;
+    private final long size;
+    private final String passwordHash;
+
+    public DocumentSessionKey(String documentGuid, long lastModified, long size, String passwordHash) {
+        this.documentGuid = documentGuid;
+        this.lastModified = lastModified;
+        this.size = size;
+        this.passwordHash = passwordHash;
+    }
+
+    /**
+     * Create key for the current version of the document file
+     *
+     * @param documentGuid path to document
+     * @param password     document password
+     * @return key or null if the file doesn't exist
+     */
+    public static DocumentSessionKey of(String documentGuid, String password) {
+        File file = new File(documentGuid);
+        if (!file.isFile()) {
+            return null;
+        }
+        return new DocumentSessionKey(file.getAbsolutePath(), file.lastModified(), file.length(), hashPassword(password));
+    }
+
+    /**
+     * Get hash of the password which can be kept in keys instead of the password
+     *
+     * @param password document password
+     * @return hex SHA-256 of the password or empty string if there is no password
+     */
+    static String hashPassword(String password) {
+        if (StringUtils.isEmpty(password)) {
+            return "";
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return String.format("%064x", new BigInteger(1, digest.digest(password.getBytes(StandardCharsets.UTF_8))));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    public String getDocumentGuid() {
+        return documentGuid;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DocumentSessionKey that = (DocumentSessionKey) o;
+        return lastModified == that.lastModified &&
+                size == that.size &&
+                documentGuid.equals(that.documentGuid) &&
+                passwordHash.equals(that.passwordHash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(documentGuid, lastModified, size, passwordHash);
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentSessionKey{" +
+                "documentGuid='" + documentGuid + '\'' +
+                ", lastModified=" + lastModified +
+                ", size=" + size +
+                '}';
+    }
+}
@@ -0,0 +1,328 @@
+package com.groupdocs.ui.signature.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.groupdocs.signature.handler.SignatureHandler;
+import com.groupdocs.ui.config.DefaultDirectories;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import com.groupdocs.ui.signature.service.SignatureHandlerPool;
+import com.groupdocs.ui.util.SingleFlight;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.DigestUtils;
+
+import javax.annotation.PostConstruct;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.concurrent.Callable;
+
+/**
+ * ImageCache
+ * Two tier cache of images made from documents and signatures, subclasses define the key type and the tiers.
+ * Memory tier keeps the most recently used images up to the configured amount of bytes,
+ * optional disk tier keeps images in the data directory, one folder per document, where images of
+ * older versions of the document are deleted when the first image of a new version is written.
+ * Images of password protected documents are kept in memory only, they are never written to disk unencrypted.
+ * Keys contain modification time and size of the document, so a changed document never gets stale images,
+ * and the password hash, so images of a protected document are returned only for the right password.
+ * Concurrent requests of the same image which is not cached yet share one render.
+ *
+ * @param <K> type of the image key
+ */
+public abstract class ImageCache<K extends ImageKey> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageCache.class);
+
+    private static final long MEGABYTE = 1024 * 1024;
+    private static final String PNG_EXTENSION = ".png";
+    private static final int SWEPT_VERSIONS_SIZE = 1000;
+
+    /**
+     * Render of an image with a borrowed signature handler
+     */
+    public interface HandlerRenderer {
+        byte[] render(SignatureHandler signatureHandler) throws Exception;
+    }
+
+    @Autowired
+    protected SignatureConfiguration signatureConfiguration;
+
+    private Cache<K, byte[]> memoryCache;
+    private Path cacheDirectory;
+    private final SingleFlight<K, byte[]> renders = new SingleFlight<>();
+    // document versions whose folders were cleaned of older versions by this instance
+    private final Cache<String, Boolean> sweptVersions = CacheBuilder.newBuilder().maximumSize(SWEPT_VERSIONS_SIZE).build();
+
+    @PostConstruct
+    public void init() {
+        long memorySize = getMemorySize();
+        if (memorySize > 0) {
+            memoryCache = CacheBuilder.newBuilder()
+                    .maximumWeight(memorySize * MEGABYTE)
+                    .weigher(new Weigher<K, byte[]>() {
+                        @Override
+                        public int weigh(K key, byte[] value) {
+                            return value.length;
+                        }
+                    })
+                    .build();
+        }
+        cacheDirectory = getCacheDirectory();
+        if (cacheDirectory != null) {
+            DefaultDirectories.makeDirs(cacheDirectory);
+        }
+    }
+
+    /**
+     * Get size of the memory tier in megabytes
+     *
+     * @return size of the memory tier, 0 to disable
+     */
+    protected abstract long getMemorySize();
+
+    /**
+     * Get directory of the disk tier
+     *
+     * @return directory or null if disk tier is disabled
+     */
+    protected abstract Path getCacheDirectory();
+
+    /**
+     * Get image from the cache or render it and put into the cache,
+     * a request of the image which is being rendered waits for that render
+     *
+     * @param key      image key, null if the file doesn't exist
+     * @param renderer renders image if it is not cached
+     * @return image
+     * @throws Exception
+     */
+    public byte[] getImage(K key, Callable<byte[]> renderer) throws Exception {
+        if (key == null) {
+            return renderer.call();
+        }
+        byte[] image = get(key);
+        if (image == null) {
+            // renders are joined by the full key, a request never waits for a render with another password
+            image = renders.execute(key, () -> {
+                // the image may be cached by a render completed right before this one started
+                byte[] cachedImage = get(key);
+                if (cachedImage != null) {
+                    return cachedImage;
+                }
+                byte[] renderedImage = renderer.call();
+                put(key, renderedImage);
+                return renderedImage;
+            });
+        }
+        return image;
+    }
+
+    /**
+     * Get image from the cache or borrow a signature handler and render it.
+     * The handler is borrowed before joining a render in flight, in the same order as on the paths which
+     * already hold a handler, so the owner of a render never waits for a handler held by its waiters
+     *
+     * @param key                  image key, null if the file doesn't exist
+     * @param signatureHandlerPool pool to borrow the handler from if the image is not cached
+     * @param renderer             renders image with the borrowed handler
+     * @return image
+     * @throws Exception
+     */
+    public byte[] getImage(K key, SignatureHandlerPool signatureHandlerPool, HandlerRenderer renderer) throws Exception {
+        byte[] image = key == null ? null : get(key);
+        if (image != null) {
+            return image;
+        }
+        SignatureHandler signatureHandler = signatureHandlerPool.borrow();
+        try {
+            return getImage(key, () -> renderer.render(signatureHandler));
+        } finally {
+            signatureHandlerPool.release(signatureHandler);
+        }
+    }
+
+    /**
+     * Get cached image
+     *
+     * @param key image key
+     * @return image or null if it is not cached
+     */
+    public byte[] get(K key) {
+        byte[] image = memoryCache == null ? null : memoryCache.getIfPresent(key);
+        if (image == null && isOnDisk(key)) {
+            image = readFromDisk(key);
+            if (image != null && memoryCache != null) {
+                memoryCache.put(key, image);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Put image into the cache
+     *
+     * @param key   image key
+     * @param image image
+     */
+    public void put(K key, byte[] image) {
+        if (image == null) {
+            return;
+        }
+        if (memoryCache != null) {
+            memoryCache.put(key, image);
+        }
+        if (isOnDisk(key)) {
+            writeToDisk(key, image);
+        }
+    }
+
+    /**
+     * Check if the image is cached
+     *
+     * @param key image key
+     * @return true if the image is in memory or on disk
+     */
+    public boolean contains(K key) {
+        if (memoryCache != null && memoryCache.getIfPresent(key) != null) {
+            return true;
+        }
+        return isOnDisk(key) && Files.exists(getDocumentDirectory(key.getDocumentGuid()).resolve(key.getFileName()));
+    }
+
+    /**
+     * Remove all cached images of the document, used when the document is overwritten
+     *
+     * @param documentGuid path to document
+     */
+    public void invalidate(String documentGuid) {
+        if (documentGuid == null) {
+            return;
+        }
+        String absolutePath = new File(documentGuid).getAbsolutePath();
+        if (memoryCache != null) {
+            for (K key : memoryCache.asMap().keySet()) {
+                if (key.getDocumentGuid().equals(absolutePath)) {
+                    memoryCache.invalidate(key);
+                }
+            }
+        }
+        if (cacheDirectory != null) {
+            deleteDirectory(getDocumentDirectory(absolutePath));
+        }
+    }
+
+    /**
+     * Get number of images in the memory tier
+     *
+     * @return number of images
+     */
+    public long getMemoryCount() {
+        return memoryCache == null ? 0 : memoryCache.size();
+    }
+
+    /**
+     * Get amount of bytes in the memory tier
+     *
+     * @return amount of bytes
+     */
+    public long getMemoryBytes() {
+        long bytes = 0;
+        if (memoryCache != null) {
+            for (byte[] image : memoryCache.asMap().values()) {
+                bytes += image.length;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Get number of renders run for requests of images which were not cached
+     *
+     * @return number of executed renders
+     */
+    public long getExecutedRenderCount() {
+        return renders.getExecutedCount();
+    }
+
+    /**
+     * Get number of requests which waited for the render of the same image run by another request
+     *
+     * @return number of coalesced renders
+     */
+    public long getCoalescedRenderCount() {
+        return renders.getCoalescedCount();
+    }
+
+    private boolean isOnDisk(K key) {
+        return cacheDirectory != null && !key.hasPassword();
+    }
+
+    private Path getDocumentDirectory(String documentGuid) {
+        String folderName = DigestUtils.md5DigestAsHex(documentGuid.getBytes(StandardCharsets.UTF_8));
+        return cacheDirectory.resolve(folderName);
+    }
+
+    private byte[] readFromDisk(K key) {
+        Path file = getDocumentDirectory(key.getDocumentGuid()).resolve(key.getFileName());
+        try {
+            return Files.readAllBytes(file);
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException ex) {
+            logger.error("Exception occurred while reading cached image", ex);
+            return null;
+        }
+    }
+
+    private void writeToDisk(K key, byte[] image) {
+        Path directory = getDocumentDirectory(key.getDocumentGuid());
+        try {
+            Files.createDirectories(directory);
+            // write into temporary file first, so readers never see partially written images
+            Path tempFile = Files.createTempFile(directory, "image", ".tmp");
+            try {
+                Files.write(tempFile, image);
+                Files.move(tempFile, directory.resolve(key.getFileName()), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException ex) {
+            logger.error("Exception occurred while caching image", ex);
+            return;
+        }
+        if (sweptVersions.asMap().putIfAbsent(directory.resolve(key.getVersionPrefix()).toString(), Boolean.TRUE) == null) {
+            deleteOlderVersions(directory, key.getVersionPrefix());
+        }
+    }
+
+    private void deleteOlderVersions(Path directory, String versionPrefix) {
+        File[] files = directory.toFile().listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String fileName = file.getName();
+            // temporary files of concurrent writes are left to their writers
+            if (fileName.endsWith(PNG_EXTENSION) && !fileName.startsWith(versionPrefix) && !file.delete()) {
+                logger.debug("Can not delete stale image {}", file);
+            }
+        }
+    }
+
+    private void deleteDirectory(Path directory) {
+        File[] files = directory.toFile().listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!file.delete()) {
+                logger.debug("Can not delete cached image {}", file);
+            }
+        }
+        directory.toFile().delete();
+    }
+}
@@ -0,0 +1,133 @@
+package com.groupdocs.ui.signature.cache;
+
+import java.io.File;
+import java.util.Objects;
+
+/**
+ * ImageKey
+ * Identifies an image made from the exact version of a file: the file path together with its
+ * modification time and size. Images of password protected documents are also keyed by the password hash,
+ * so they are never served to a request without the right password.
+ * Subclasses add what identifies the image within the file and name its cached file.
+ */
+public abstract class ImageKey {
+    private final String documentGuid;
+    private final long lastModified;
+    private final long size;
+    private final String passwordHash;
+
+    protected ImageKey(String documentGuid, long lastModified, long size, String passwordHash) {
+        this.documentGuid = documentGuid;
+        this.lastModified = lastModified;
+        this.size = size;
+        this.passwordHash = passwordHash;
+    }
+
+    /**
+     * Get the file of the current version of the document
+     *
+     * @param documentGuid path to document
+     * @return file or null if it doesn't exist
+     */
+    protected static File getFile(String documentGuid) {
+        File file = new File(documentGuid);
+        return file.isFile() ? file : null;
+    }
+
+    /**
+     * Get hash of the password which is kept in keys instead of the password
+     *
+     * @param password document password
+     * @return hash or empty string if there is no password
+     */
+    protected static String hashPassword(String password) {
+        return DocumentSessionKey.hashPassword(password);
+    }
+
+    public String getDocumentGuid() {
+        return documentGuid;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Check if the image was rendered with a password
+     *
+     * @return true if the document was opened with a password
+     */
+    public boolean hasPassword() {
+        return !passwordHash.isEmpty();
+    }
+
+    /**
+     * Get name of the image within the file version, for example page number and resolution
+     *
+     * @return image name
+     */
+    protected abstract String getImageName();
+
+    /**
+     * Get file name of the image inside the document cache folder
+     *
+     * @return file name
+     */
+    public String getFileName() {
+        return getVersionPrefix() + getImageName() + ".png";
+    }
+
+    /**
+     * Get beginning of file names of all images of this document version
+     *
+     * @return file name prefix
+     */
+    public String getVersionPrefix() {
+        return String.format("%d-%d-", lastModified, size);
+    }
+
+    /**
+     * Get tag which changes with every version of the image, used as HTTP entity tag.
+     * Images of password protected documents are never served by url, so the tag doesn't depend on the password
+     *
+     * @return version tag
+     */
+    public String getVersionTag() {
+        return String.format("%x-%x-", lastModified, size) + getImageName();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ImageKey that = (ImageKey) o;
+        return lastModified == that.lastModified &&
+                size == that.size &&
+                documentGuid.equals(that.documentGuid) &&
+                passwordHash.equals(that.passwordHash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(documentGuid, lastModified, size, passwordHash);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "documentGuid='" + documentGuid + '\'' +
+                ", lastModified=" + lastModified +
+                ", size=" + size +
+                ", image=" + getImageName() +
+                ", password=" + hasPassword() +
+                '}';
+    }
+}
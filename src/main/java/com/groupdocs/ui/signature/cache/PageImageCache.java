@@ -0,0 +1,61 @@
+package com.groupdocs.ui.signature.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+
+import static com.groupdocs.ui.signature.service.SignatureHandlerFactory.getFullDataPath;
+import static com.groupdocs.ui.util.directory.SignatureDirectory.PAGE_CACHE_DATA_DIRECTORY;
+
+/**
+ * PageImageCache
+ * Cache of rendered document pages, the disk tier is kept in the data directory when pageCacheOnDisk is enabled
+ */
+@Component
+public class PageImageCache extends ImageCache<PageImageKey> {
+
+    @Override
+    protected long getMemorySize() {
+        Integer pageCacheSize = signatureConfiguration.getPageCacheSize();
+        return pageCacheSize == null ? 0 : pageCacheSize;
+    }
+
+    @Override
+    protected Path getCacheDirectory() {
+        if (!Boolean.TRUE.equals(signatureConfiguration.getPageCacheOnDisk())) {
+            return null;
+        }
+        return getFullDataPath(signatureConfiguration.getDataDirectory(), PAGE_CACHE_DATA_DIRECTORY.getPath());
+    }
+
+    /**
+     * Get page image from the cache or render it and put into the cache
+     *
+     * @param documentGuid path to document
+     * @param pageNumber   page number
+     * @param resolution   page image resolution
+     * @param renderer     renders page image if it is not cached
+     * @return page image
+     * @throws Exception
+     */
+    public byte[] getPageImage(String documentGuid, int pageNumber, int resolution, Callable<byte[]> renderer) throws Exception {
+        return getPageImage(documentGuid, pageNumber, resolution, null, renderer);
+    }
+
+    /**
+     * Get page image of the document opened with the password from the cache or render it and put into the cache,
+     * images rendered with another password or without it are not used
+     *
+     * @param documentGuid path to document
+     * @param pageNumber   page number
+     * @param resolution   page image resolution
+     * @param password     document password
+     * @param renderer     renders page image if it is not cached
+     * @return page image
+     * @throws Exception
+     */
+    public byte[] getPageImage(String documentGuid, int pageNumber, int resolution, String password, Callable<byte[]> renderer) throws Exception {
+        return getImage(PageImageKey.of(documentGuid, pageNumber, resolution, password), renderer);
+    }
+}
@@ -0,0 +1,80 @@
+package com.groupdocs.ui.signature.cache;
+
+import java.io.File;
+import java.util.Objects;
+
+/**
+ * PageImageKey
+ * Identifies rendered page image of the exact version of the document by the page number and the resolution
+ */
+public class PageImageKey extends ImageKey {
+    private final int pageNumber;
+    private final int resolution;
+
+    public PageImageKey(String documentGuid, long lastModified, long size, int pageNumber, int resolution) {
+        this(documentGuid, lastModified, size, pageNumber, resolution, "");
+    }
+
+    public PageImageKey(String documentGuid, long lastModified, long size, int pageNumber, int resolution, String passwordHash) {
+        super(documentGuid, lastModified, size, passwordHash);
+        this.pageNumber = pageNumber;
+        this.resolution = resolution;
+    }
+
+    /**
+     * Create key for the current version of the document file
+     *
+     * @param documentGuid path to document
+     * @param pageNumber   page number
+     * @param resolution   page image resolution
+     * @return key or null if the file doesn't exist
+     */
+    public static PageImageKey of(String documentGuid, int pageNumber, int resolution) {
+        return of(documentGuid, pageNumber, resolution, null);
+    }
+
+    /**
+     * Create key for the current version of the document file opened with the password
+     *
+     * @param documentGuid path to document
+     * @param pageNumber   page number
+     * @param resolution   page image resolution
+     * @param password     document password
+     * @return key or null if the file doesn't exist
+     */
+    public static PageImageKey of(String documentGuid, int pageNumber, int resolution, String password) {
+        File file = getFile(documentGuid);
+        if (file == null) {
+            return null;
+        }
+        return new PageImageKey(file.getAbsolutePath(), file.lastModified(), file.length(), pageNumber, resolution, hashPassword(password));
+    }
+
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    public int getResolution() {
+        return resolution;
+    }
+
+    @Override
+    protected String getImageName() {
+        return pageNumber + "-" + resolution;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        PageImageKey that = (PageImageKey) o;
+        return pageNumber == that.pageNumber &&
+                resolution == that.resolution;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), pageNumber, resolution);
+    }
+}
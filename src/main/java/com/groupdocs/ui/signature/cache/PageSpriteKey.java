@@ -0,0 +1,65 @@
+package com.groupdocs.ui.signature.cache;
+
+import java.io.File;
+import java.util.Objects;
+
+/**
+ * PageSpriteKey
+ * Identifies sprite sheet of page thumbnails of the exact version of the document
+ * by the number of the sheet and the thumbnail size
+ */
+public class PageSpriteKey extends ImageKey {
+    private final int spriteNumber;
+    private final int thumbnailSize;
+
+    public PageSpriteKey(String documentGuid, long lastModified, long size, int spriteNumber, int thumbnailSize, String passwordHash) {
+        super(documentGuid, lastModified, size, passwordHash);
+        this.spriteNumber = spriteNumber;
+        this.thumbnailSize = thumbnailSize;
+    }
+
+    /**
+     * Create key for the current version of the document file opened with the password
+     *
+     * @param documentGuid  path to document
+     * @param spriteNumber  number of the sprite sheet starting from 0
+     * @param thumbnailSize maximum width and height of the thumbnails
+     * @param password      document password
+     * @return key or null if the file doesn't exist
+     */
+    public static PageSpriteKey of(String documentGuid, int spriteNumber, int thumbnailSize, String password) {
+        File file = getFile(documentGuid);
+        if (file == null) {
+            return null;
+        }
+        return new PageSpriteKey(file.getAbsolutePath(), file.lastModified(), file.length(), spriteNumber, thumbnailSize, hashPassword(password));
+    }
+
+    public int getSpriteNumber() {
+        return spriteNumber;
+    }
+
+    public int getThumbnailSize() {
+        return thumbnailSize;
+    }
+
+    @Override
+    protected String getImageName() {
+        return "sprite-" + spriteNumber + "-" + thumbnailSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        PageSpriteKey that = (PageSpriteKey) o;
+        return spriteNumber == that.spriteNumber &&
+                thumbnailSize == that.thumbnailSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), spriteNumber, thumbnailSize);
+    }
+}
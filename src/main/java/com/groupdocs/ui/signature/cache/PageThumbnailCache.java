@@ -0,0 +1,32 @@
+package com.groupdocs.ui.signature.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+import static com.groupdocs.ui.signature.service.SignatureHandlerFactory.getFullDataPath;
+import static com.groupdocs.ui.util.directory.SignatureDirectory.PAGE_THUMBNAIL_CACHE_DATA_DIRECTORY;
+
+/**
+ * PageThumbnailCache
+ * Cache of document page thumbnails and sprite sheets, separate from full size pages,
+ * so browsing the page navigation doesn't push rendered pages out of the memory.
+ * Thumbnails are keyed by PageThumbnailKey, sprite sheets by PageSpriteKey.
+ */
+@Component
+public class PageThumbnailCache extends ImageCache<ImageKey> {
+
+    @Override
+    protected long getMemorySize() {
+        Integer pageThumbnailCacheSize = signatureConfiguration.getPageThumbnailCacheSize();
+        return pageThumbnailCacheSize == null ? 0 : pageThumbnailCacheSize;
+    }
+
+    @Override
+    protected Path getCacheDirectory() {
+        if (!Boolean.TRUE.equals(signatureConfiguration.getPageCacheOnDisk())) {
+            return null;
+        }
+        return getFullDataPath(signatureConfiguration.getDataDirectory(), PAGE_THUMBNAIL_CACHE_DATA_DIRECTORY.getPath());
+    }
+}
@@ -0,0 +1,64 @@
+package com.groupdocs.ui.signature.cache;
+
+import java.io.File;
+import java.util.Objects;
+
+/**
+ * PageThumbnailKey
+ * Identifies thumbnail of a page of the exact version of the document by the page number and the thumbnail size
+ */
+public class PageThumbnailKey extends ImageKey {
+    private final int pageNumber;
+    private final int thumbnailSize;
+
+    public PageThumbnailKey(String documentGuid, long lastModified, long size, int pageNumber, int thumbnailSize, String passwordHash) {
+        super(documentGuid, lastModified, size, passwordHash);
+        this.pageNumber = pageNumber;
+        this.thumbnailSize = thumbnailSize;
+    }
+
+    /**
+     * Create key for the current version of the document file opened with the password
+     *
+     * @param documentGuid  path to document
+     * @param pageNumber    page number
+     * @param thumbnailSize maximum width and height of the thumbnail
+     * @param password      document password
+     * @return key or null if the file doesn't exist
+     */
+    public static PageThumbnailKey of(String documentGuid, int pageNumber, int thumbnailSize, String password) {
+        File file = getFile(documentGuid);
+        if (file == null) {
+            return null;
+        }
+        return new PageThumbnailKey(file.getAbsolutePath(), file.lastModified(), file.length(), pageNumber, thumbnailSize, hashPassword(password));
+    }
+
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    public int getThumbnailSize() {
+        return thumbnailSize;
+    }
+
+    @Override
+    protected String getImageName() {
+        return pageNumber + "-" + thumbnailSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        PageThumbnailKey that = (PageThumbnailKey) o;
+        return pageNumber == that.pageNumber &&
+                thumbnailSize == that.thumbnailSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), pageNumber, thumbnailSize);
+    }
+}
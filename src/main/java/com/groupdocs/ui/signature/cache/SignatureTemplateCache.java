@@ -0,0 +1,126 @@
+package com.groupdocs.ui.signature.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.groupdocs.ui.signature.XMLReaderWriter;
+import com.groupdocs.ui.signature.metrics.SignatureMetrics;
+import com.groupdocs.ui.signature.model.xml.OpticalXmlEntity;
+import com.groupdocs.ui.signature.model.xml.StampXmlEntityList;
+import com.groupdocs.ui.signature.model.xml.TextXmlEntity;
+import com.groupdocs.ui.signature.signer.StampTemplate;
+import com.groupdocs.ui.signature.signer.TextTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.xml.bind.JAXBException;
+import java.io.File;
+
+import static com.groupdocs.ui.signature.metrics.SignatureMetrics.RESULT;
+import static com.groupdocs.ui.signature.metrics.SignatureMetrics.TEMPLATE_CACHE;
+
+/**
+ * SignatureTemplateCache
+ * Signatures read from the xml files and prepared for signing, so signing with a known signature
+ * doesn't unmarshal xml or parse colors. Templates are keyed by the xml file path and checked against
+ * modification time and size of the file, saving and deleting signatures invalidate them right away.
+ */
+@Component
+public class SignatureTemplateCache {
+
+    private static final int TEMPLATES_SIZE = 1000;
+
+    private final Cache<String, Template> templates = CacheBuilder.newBuilder().maximumSize(TEMPLATES_SIZE).build();
+
+    private static class Template {
+        private final long lastModified;
+        private final long size;
+        private final Object value;
+
+        private Template(long lastModified, long size, Object value) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.value = value;
+        }
+    }
+
+    private interface TemplateLoader<T> {
+        T load(String xmlFileName) throws JAXBException;
+    }
+
+    /**
+     * Get template of the text signature
+     *
+     * @param xmlFileName path to xml file of the signature
+     * @return text template
+     * @throws JAXBException
+     */
+    public TextTemplate getTextTemplate(String xmlFileName) throws JAXBException {
+        return get(xmlFileName, TextTemplate.class, fileName ->
+                new TextTemplate(new XMLReaderWriter<TextXmlEntity>().read(fileName, TextXmlEntity.class)));
+    }
+
+    /**
+     * Get template of the stamp signature
+     *
+     * @param xmlFileName path to xml file of the signature
+     * @return stamp template
+     * @throws JAXBException
+     */
+    public StampTemplate getStampTemplate(String xmlFileName) throws JAXBException {
+        return get(xmlFileName, StampTemplate.class, fileName ->
+                new StampTemplate(new XMLReaderWriter<StampXmlEntityList>().read(fileName, StampXmlEntityList.class)));
+    }
+
+    /**
+     * Get data of the optical code signature, the returned object is shared and must not be changed
+     *
+     * @param xmlFileName path to xml file of the signature
+     * @return optical code data
+     * @throws JAXBException
+     */
+    public OpticalXmlEntity getOpticalTemplate(String xmlFileName) throws JAXBException {
+        return get(xmlFileName, OpticalXmlEntity.class, fileName ->
+                new XMLReaderWriter<OpticalXmlEntity>().read(fileName, OpticalXmlEntity.class));
+    }
+
+    /**
+     * Remove template of the changed signature
+     *
+     * @param xmlFileName path to xml file of the signature
+     */
+    public void invalidate(String xmlFileName) {
+        templates.invalidate(new File(xmlFileName).getAbsolutePath());
+    }
+
+    /**
+     * Remove all templates
+     */
+    public void invalidateAll() {
+        templates.invalidateAll();
+    }
+
+    /**
+     * Get number of cached templates
+     *
+     * @return number of templates
+     */
+    public long size() {
+        return templates.size();
+    }
+
+    private <T> T get(String xmlFileName, Class<T> templateClass, TemplateLoader<T> loader) throws JAXBException {
+        File file = new File(xmlFileName);
+        String key = file.getAbsolutePath();
+        // file attributes are taken before reading, so a file changed while reading is read again next time
+        long lastModified = file.lastModified();
+        long size = file.length();
+        Template template = templates.getIfPresent(key);
+        if (template != null && template.lastModified == lastModified && template.size == size && templateClass.isInstance(template.value)) {
+            SignatureMetrics.count(TEMPLATE_CACHE, RESULT, "hit");
+            return templateClass.cast(template.value);
+        }
+        SignatureMetrics.count(TEMPLATE_CACHE, RESULT, "miss");
+        T value = loader.load(key);
+        templates.put(key, new Template(lastModified, size, value));
+        return value;
+    }
+}
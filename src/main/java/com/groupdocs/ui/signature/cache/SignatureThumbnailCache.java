@@ -0,0 +1,25 @@
+package com.groupdocs.ui.signature.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * SignatureThumbnailCache
+ * Memory cache of downscaled signature images keyed by SignatureThumbnailKey
+ */
+@Component
+public class SignatureThumbnailCache extends ImageCache<SignatureThumbnailKey> {
+
+    @Override
+    protected long getMemorySize() {
+        Integer thumbnailCacheSize = signatureConfiguration.getThumbnailCacheSize();
+        return thumbnailCacheSize == null ? 0 : thumbnailCacheSize;
+    }
+
+    @Override
+    protected Path getCacheDirectory() {
+        // thumbnails are cheap to create from the signature files
+        return null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.groupdocs.ui.signature.cache;
+
+import java.io.File;
+import java.util.Objects;
+
+/**
+ * SignatureThumbnailKey
+ * Identifies downscaled image of the exact version of the signature file by the thumbnail size
+ */
+public class SignatureThumbnailKey extends ImageKey {
+    private final int thumbnailSize;
+
+    public SignatureThumbnailKey(String guid, long lastModified, long size, int thumbnailSize) {
+        super(guid, lastModified, size, "");
+        this.thumbnailSize = thumbnailSize;
+    }
+
+    /**
+     * Create key for the current version of the signature file
+     *
+     * @param guid          path to signature image
+     * @param thumbnailSize maximum width and height of the thumbnail
+     * @return key or null if the file doesn't exist
+     */
+    public static SignatureThumbnailKey of(String guid, int thumbnailSize) {
+        File file = getFile(guid);
+        if (file == null) {
+            return null;
+        }
+        return new SignatureThumbnailKey(file.getAbsolutePath(), file.lastModified(), file.length(), thumbnailSize);
+    }
+
+    public int getThumbnailSize() {
+        return thumbnailSize;
+    }
+
+    @Override
+    protected String getImageName() {
+        return "thumbnail-" + thumbnailSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return super.equals(o) && thumbnailSize == ((SignatureThumbnailKey) o).thumbnailSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), thumbnailSize);
+    }
+}
@@ -0,0 +1,164 @@
+package com.groupdocs.ui.signature.library;
+
+import com.groupdocs.ui.exception.TotalGroupDocsException;
+import com.groupdocs.ui.signature.model.web.SignatureFileDescriptionEntity;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * SignatureLibraryEntry
+ * Indexed signature file: its metadata, sort key and properties parsed from the xml file.
+ * Images are not kept in the entry, the index caches them in a bounded cache
+ */
+public class SignatureLibraryEntry {
+
+    /**
+     * Order of the listings: creation time, then file name ignoring case
+     */
+    public static final Comparator<SignatureLibraryEntry> ORDER = new Comparator<SignatureLibraryEntry>() {
+        @Override
+        public int compare(SignatureLibraryEntry entry1, SignatureLibraryEntry entry2) {
+            int result = Long.compare(entry1.creationTime, entry2.creationTime);
+            return result != 0 ? result : String.CASE_INSENSITIVE_ORDER.compare(entry1.name, entry2.name);
+        }
+    };
+
+    private static final String TOKEN_SEPARATOR = "/";
+
+    private final File file;
+    private final String name;
+    private final boolean directory;
+    private final long size;
+    private final long lastModified;
+    private final long creationTime;
+    private final boolean withImage;
+    private final long xmlLastModified;
+    private String text;
+    private String fontColor;
+
+    public SignatureLibraryEntry(File file, boolean directory, long size, long lastModified, long creationTime, boolean withImage, long xmlLastModified) {
+        this.file = file;
+        this.name = file.getName();
+        this.directory = directory;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.creationTime = creationTime;
+        this.withImage = withImage;
+        this.xmlLastModified = xmlLastModified;
+    }
+
+    /**
+     * Check if the entry describes the same version of the files
+     *
+     * @param size            size of the file
+     * @param lastModified    modification time of the file
+     * @param xmlLastModified modification time of the xml file, 0 if there is no xml file
+     * @return true if the entry can be reused
+     */
+    public boolean isCurrent(long size, long lastModified, long xmlLastModified) {
+        return this.size == size && this.lastModified == lastModified && this.xmlLastModified == xmlLastModified;
+    }
+
+    /**
+     * Get token which points right after this entry in the listing, the token stays valid when the entry is removed
+     *
+     * @return url safe continuation token
+     */
+    public String getContinuationToken() {
+        String sortKey = creationTime + TOKEN_SEPARATOR + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sortKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Create entry with the sort key from the continuation token, used to find the position in the listing
+     *
+     * @param continuationToken token created by getContinuationToken
+     * @return entry which can be used only for comparisons
+     */
+    public static SignatureLibraryEntry fromContinuationToken(String continuationToken) {
+        try {
+            String sortKey = new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8);
+            int separator = sortKey.indexOf(TOKEN_SEPARATOR);
+            long creationTime = Long.parseLong(sortKey.substring(0, separator));
+            String name = sortKey.substring(separator + 1);
+            return new SignatureLibraryEntry(new File(name), false, 0, 0, creationTime, false, 0);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new TotalGroupDocsException("Wrong continuation token " + continuationToken, ex);
+        }
+    }
+
+    /**
+     * Create file description for the listing response, without the image
+     *
+     * @return new file description
+     */
+    public SignatureFileDescriptionEntity toFileDescription() {
+        SignatureFileDescriptionEntity fileDescription = new SignatureFileDescriptionEntity();
+        fileDescription.setGuid(file.getAbsolutePath());
+        fileDescription.setName(name);
+        fileDescription.setDirectory(directory);
+        fileDescription.setSize(size);
+        fileDescription.setText(text);
+        fileDescription.setFontColor(fontColor);
+        return fileDescription;
+    }
+
+    /**
+     * Read the image file and encode it
+     *
+     * @return Base64 encoded image
+     * @throws IOException
+     */
+    public String readImage() throws IOException {
+        return Base64.getEncoder().encodeToString(Files.readAllBytes(file.toPath()));
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isDirectory() {
+        return directory;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public boolean isWithImage() {
+        return withImage;
+    }
+
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public String getFontColor() {
+        return fontColor;
+    }
+
+    public void setFontColor(String fontColor) {
+        this.fontColor = fontColor;
+    }
+}
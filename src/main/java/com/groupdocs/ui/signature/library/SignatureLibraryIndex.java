@@ -0,0 +1,390 @@
+package com.groupdocs.ui.signature.library;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.groupdocs.ui.config.GlobalConfiguration;
+import com.groupdocs.ui.exception.TotalGroupDocsException;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import com.groupdocs.ui.signature.XMLReaderWriter;
+import com.groupdocs.ui.signature.model.web.SignatureFileDescriptionEntity;
+import com.groupdocs.ui.signature.model.xml.OpticalXmlEntity;
+import com.groupdocs.ui.signature.model.xml.TextXmlEntity;
+import com.groupdocs.ui.signature.service.SignatureHandlerFactory;
+import com.groupdocs.ui.util.directory.SignatureDirectory;
+import org.apache.commons.io.FilenameUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.xml.bind.JAXBException;
+import java.io.File;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.groupdocs.ui.signature.SignatureType.*;
+import static com.groupdocs.ui.signature.service.SignatureHandlerFactory.getFullDataPathStr;
+import static com.groupdocs.ui.util.directory.PathConstants.DATA_PREVIEW_FOLDER;
+import static com.groupdocs.ui.util.directory.PathConstants.DATA_XML_FOLDER;
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * SignatureLibraryIndex
+ * Keeps listings of the signatures of every type in memory, so listings are served without file system access.
+ * Listings are loaded at startup and rescanned when the watch service reports changes in their directories
+ * or when the application changes signature files itself. A rescan reads file attributes once per file
+ * and parses xml files only for new or changed signatures.
+ */
+@Component
+public class SignatureLibraryIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignatureLibraryIndex.class);
+
+    private static final List<String> SIGNATURE_TYPES = Arrays.asList(DIGITAL, IMAGE, HAND, TEXT, STAMP, QR_CODE, BAR_CODE);
+    /**
+     * Time to wait for related changes, saving one signature changes an image and an xml file
+     */
+    private static final long COALESCE_DELAY = 100;
+    private static final long MEGABYTE = 1024 * 1024;
+
+    private static final String THUMBNAIL_URL = "%s/signature/signatureThumbnail?guid=%s&size=%d";
+
+    @Autowired
+    private SignatureConfiguration signatureConfiguration;
+    @Autowired
+    private GlobalConfiguration globalConfiguration;
+
+    private final Map<String, List<SignatureLibraryEntry>> listings = new ConcurrentHashMap<>();
+    private final Map<WatchKey, String> watchedTypes = new ConcurrentHashMap<>();
+    private WatchService watchService;
+    private Thread watcherThread;
+    // encoded images by entry, entries are compared by identity
+    private Cache<SignatureLibraryEntry, String> images;
+
+    @PostConstruct
+    public void init() {
+        Integer signatureImageCacheSize = signatureConfiguration.getSignatureImageCacheSize();
+        if (signatureImageCacheSize != null && signatureImageCacheSize > 0) {
+            images = CacheBuilder.newBuilder()
+                    .maximumWeight(signatureImageCacheSize * MEGABYTE)
+                    .weigher(new Weigher<SignatureLibraryEntry, String>() {
+                        @Override
+                        public int weigh(SignatureLibraryEntry key, String value) {
+                            return value.length();
+                        }
+                    })
+                    .build();
+        }
+        SignatureHandlerFactory.createDirectories(signatureConfiguration.getDataDirectory());
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException ex) {
+            logger.warn("Signature directories can not be watched, external changes will not be visible", ex);
+        }
+        for (String signatureType : SIGNATURE_TYPES) {
+            refresh(signatureType);
+        }
+        if (watchService != null) {
+            watcherThread = new Thread(this::watch, "signature-library-watcher");
+            watcherThread.setDaemon(true);
+            watcherThread.start();
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ex) {
+                logger.debug("Can not close watch service", ex);
+            }
+        }
+    }
+
+    /**
+     * Check if listings of the signature type are indexed
+     *
+     * @param signatureType signature type
+     * @param directory     listed directory
+     * @return true if the directory is the indexed directory of the signature type
+     */
+    public boolean isIndexed(String signatureType, String directory) {
+        return SIGNATURE_TYPES.contains(signatureType) && Paths.get(getRootDirectory(signatureType)).equals(Paths.get(directory));
+    }
+
+    /**
+     * Get signatures of the type in listing order
+     *
+     * @param signatureType signature type
+     * @return indexed entries
+     */
+    public List<SignatureLibraryEntry> getEntries(String signatureType) {
+        List<SignatureLibraryEntry> entries = listings.get(signatureType);
+        if (entries == null) {
+            // initial scan failed, try again
+            entries = refresh(signatureType);
+        }
+        return entries;
+    }
+
+    /**
+     * Get file descriptions of the signatures of the type
+     *
+     * @param signatureType signature type
+     * @return file descriptions in listing order
+     */
+    public List<SignatureFileDescriptionEntity> getFiles(String signatureType) {
+        List<SignatureLibraryEntry> entries = getEntries(signatureType);
+        List<SignatureFileDescriptionEntity> fileList = new ArrayList<>(entries.size());
+        try {
+            for (SignatureLibraryEntry entry : entries) {
+                fileList.add(describe(entry));
+            }
+        } catch (IOException ex) {
+            // file was removed after the last scan
+            refresh(signatureType);
+            throw new TotalGroupDocsException(ex.getMessage(), ex);
+        }
+        return fileList;
+    }
+
+    /**
+     * Create file description of the indexed signature, with image data or thumbnail url depending on configuration
+     *
+     * @param entry indexed signature
+     * @return file description
+     * @throws IOException
+     */
+    public SignatureFileDescriptionEntity describe(SignatureLibraryEntry entry) throws IOException {
+        SignatureFileDescriptionEntity fileDescription = entry.toFileDescription();
+        if (!entry.isWithImage()) {
+            return fileDescription;
+        }
+        if (!Boolean.FALSE.equals(signatureConfiguration.getInlineImages())) {
+            fileDescription.setImage(getImage(entry));
+            return fileDescription;
+        }
+        String guid = URLEncoder.encode(entry.getFile().getAbsolutePath(), "UTF-8");
+        fileDescription.setThumbnailUrl(String.format(THUMBNAIL_URL, globalConfiguration.getServer().getApplicationContextPath(), guid, signatureConfiguration.getThumbnailSize()));
+        return fileDescription;
+    }
+
+    /**
+     * Get Base64 encoded image of the signature, recently listed images are kept in memory
+     *
+     * @param entry indexed signature
+     * @return encoded image
+     * @throws IOException
+     */
+    private String getImage(SignatureLibraryEntry entry) throws IOException {
+        if (images == null) {
+            return entry.readImage();
+        }
+        try {
+            // changed signature gets a new entry, so the cached image of the old entry is never returned
+            return images.get(entry, entry::readImage);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            throw new IOException(ex.getCause());
+        }
+    }
+
+    /**
+     * Find position in the listing right after the entry from the continuation token
+     *
+     * @param entries           indexed entries
+     * @param continuationToken token of the last entry of the previous page
+     * @return index of the first entry of the next page
+     */
+    public static int indexAfter(List<SignatureLibraryEntry> entries, String continuationToken) {
+        int position = Collections.binarySearch(entries, SignatureLibraryEntry.fromContinuationToken(continuationToken), SignatureLibraryEntry.ORDER);
+        // the entry itself may be removed already, then the insertion point is the next entry
+        return position >= 0 ? position + 1 : -(position + 1);
+    }
+
+    /**
+     * Rescan signatures of the type, used after the application changed signature files
+     *
+     * @param signatureType signature type
+     * @return new listing of the signature type
+     */
+    public synchronized List<SignatureLibraryEntry> refresh(String signatureType) {
+        if (!SIGNATURE_TYPES.contains(signatureType)) {
+            return Collections.emptyList();
+        }
+        registerDirectories(signatureType);
+        List<SignatureLibraryEntry> previous = listings.get(signatureType);
+        Map<String, SignatureLibraryEntry> previousEntries = new HashMap<>();
+        if (previous != null) {
+            for (SignatureLibraryEntry entry : previous) {
+                previousEntries.put(entry.getFile().getAbsolutePath(), entry);
+            }
+        }
+        try {
+            List<SignatureLibraryEntry> entries = scan(signatureType, previousEntries);
+            Collections.sort(entries, SignatureLibraryEntry.ORDER);
+            List<SignatureLibraryEntry> listing = Collections.unmodifiableList(entries);
+            listings.put(signatureType, listing);
+            return listing;
+        } catch (Exception ex) {
+            logger.error("Exception occurred while indexing {} signatures", signatureType, ex);
+            throw new TotalGroupDocsException(ex.getMessage(), ex);
+        }
+    }
+
+    private String getRootDirectory(String signatureType) {
+        return getFullDataPathStr(signatureConfiguration.getDataDirectory(), SignatureDirectory.getPathFromSignatureType(signatureType));
+    }
+
+    private List<Path> getWatchedDirectories(String signatureType) {
+        String rootDirectory = getRootDirectory(signatureType);
+        return Arrays.asList(Paths.get(rootDirectory), Paths.get(rootDirectory + DATA_PREVIEW_FOLDER), Paths.get(rootDirectory + DATA_XML_FOLDER));
+    }
+
+    private void registerDirectories(String signatureType) {
+        if (watchService == null) {
+            return;
+        }
+        for (Path directory : getWatchedDirectories(signatureType)) {
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+            try {
+                // registering the same directory again returns the same key
+                WatchKey key = directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                watchedTypes.put(key, signatureType);
+            } catch (IOException | ClosedWatchServiceException ex) {
+                logger.debug("Can not watch directory {}", directory, ex);
+            }
+        }
+    }
+
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                Set<String> changedTypes = new HashSet<>();
+                while (key != null) {
+                    key.pollEvents();
+                    String signatureType = key.reset() ? watchedTypes.get(key) : watchedTypes.remove(key);
+                    if (signatureType != null) {
+                        changedTypes.add(signatureType);
+                    }
+                    key = watchService.poll(COALESCE_DELAY, TimeUnit.MILLISECONDS);
+                }
+                for (String signatureType : changedTypes) {
+                    try {
+                        refresh(signatureType);
+                    } catch (TotalGroupDocsException ex) {
+                        // already logged, previous listing is kept
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            // application is stopped
+        }
+    }
+
+    private List<SignatureLibraryEntry> scan(String signatureType, Map<String, SignatureLibraryEntry> previousEntries) throws IOException, JAXBException {
+        String rootDirectory = getRootDirectory(signatureType);
+        List<SignatureLibraryEntry> entries = new ArrayList<>();
+        switch (signatureType) {
+            case IMAGE:
+            case HAND:
+                for (File file : listFiles(rootDirectory)) {
+                    addEntry(entries, previousEntries, signatureType, file, null, true);
+                }
+                break;
+            case TEXT:
+                for (File file : listFiles(rootDirectory + DATA_XML_FOLDER)) {
+                    addEntry(entries, previousEntries, signatureType, file, file, false);
+                }
+                break;
+            case STAMP:
+            case QR_CODE:
+            case BAR_CODE:
+                // signature is listed only if both its preview and its xml file exist
+                Map<String, File> xmlFiles = new HashMap<>();
+                for (File xmlFile : listFiles(rootDirectory + DATA_XML_FOLDER)) {
+                    xmlFiles.put(FilenameUtils.removeExtension(xmlFile.getName()), xmlFile);
+                }
+                for (File file : listFiles(rootDirectory + DATA_PREVIEW_FOLDER)) {
+                    File xmlFile = xmlFiles.get(FilenameUtils.removeExtension(file.getName()));
+                    if (xmlFile != null) {
+                        addEntry(entries, previousEntries, signatureType, file, xmlFile, true);
+                    }
+                }
+                break;
+            default:
+                for (File file : listFiles(rootDirectory)) {
+                    addEntry(entries, previousEntries, signatureType, file, null, false);
+                }
+                break;
+        }
+        return entries;
+    }
+
+    private void addEntry(List<SignatureLibraryEntry> entries, Map<String, SignatureLibraryEntry> previousEntries,
+                          String signatureType, File file, File xmlFile, boolean withImage) throws IOException, JAXBException {
+        BasicFileAttributes attributes;
+        long xmlLastModified;
+        try {
+            attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            xmlLastModified = xmlFile == null ? 0 : Files.getLastModifiedTime(xmlFile.toPath()).toMillis();
+        } catch (NoSuchFileException ex) {
+            // removed while scanning
+            return;
+        }
+        if (withImage && attributes.isDirectory()) {
+            return;
+        }
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        SignatureLibraryEntry entry = previousEntries.get(file.getAbsolutePath());
+        if (entry == null || !entry.isCurrent(attributes.size(), lastModified, xmlLastModified)) {
+            entry = new SignatureLibraryEntry(file, attributes.isDirectory(), attributes.size(), lastModified,
+                    attributes.creationTime().toMillis(), withImage, xmlLastModified);
+            fillProperties(entry, xmlFile, signatureType);
+        }
+        entries.add(entry);
+    }
+
+    private void fillProperties(SignatureLibraryEntry entry, File xmlFile, String signatureType) throws JAXBException {
+        if (QR_CODE.equals(signatureType) || BAR_CODE.equals(signatureType)) {
+            OpticalXmlEntity opticalCodeData = new XMLReaderWriter<OpticalXmlEntity>().read(xmlFile.getAbsolutePath(), OpticalXmlEntity.class);
+            entry.setText(opticalCodeData.getText());
+        } else if (TEXT.equals(signatureType)) {
+            TextXmlEntity textXmlEntity = new XMLReaderWriter<TextXmlEntity>().read(xmlFile.getAbsolutePath(), TextXmlEntity.class);
+            entry.setText(textXmlEntity.getText());
+            entry.setFontColor(textXmlEntity.getFontColor());
+        }
+    }
+
+    private List<File> listFiles(String directory) {
+        File[] files = new File(directory).listFiles();
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        List<File> filesList = new ArrayList<>(files.length);
+        for (File file : files) {
+            if (!file.isHidden()) {
+                filesList.add(file);
+            }
+        }
+        return filesList;
+    }
+}
@@ -0,0 +1,201 @@
+package com.groupdocs.ui.signature.metrics;
+
+import com.groupdocs.ui.signature.SignatureType;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.io.FilenameUtils;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * SignatureMetrics
+ * Records timers, counters and distribution summaries of the signature services and engine calls.
+ * Meters are registered in the global registry, Spring Boot adds the Prometheus registry to it,
+ * so classes which are not beans are measured too. Timers are tagged with the outcome of the call,
+ * percentile histograms are enabled in application.properties.
+ */
+public class SignatureMetrics {
+
+    // timers of the signing engine calls
+    public static final String ENGINE_DESCRIPTION = "signature.engine.description";
+    public static final String ENGINE_PAGE_SIZE = "signature.engine.page.size";
+    public static final String ENGINE_PAGE_IMAGE = "signature.engine.page.image";
+    public static final String ENGINE_SIGN = "signature.engine.sign";
+    // timers of the services
+    public static final String DOCUMENT_LOAD = "signature.document.load";
+    public static final String DOCUMENT_PAGE = "signature.document.page";
+    public static final String FILES_LIST = "signature.files.list";
+    public static final String SIGN = "signature.sign";
+    public static final String SIGN_BATCH = "signature.sign.batch";
+    public static final String SAVE = "signature.save";
+    public static final String XML_READ = "signature.xml.read";
+    public static final String XML_WRITE = "signature.xml.write";
+    // distribution summaries
+    public static final String PAGE_IMAGE_BYTES = "signature.page.image.bytes";
+    public static final String FILES_COUNT = "signature.files.count";
+    public static final String SIGN_SIGNATURES = "signature.sign.signatures";
+    public static final String SIGN_BATCH_DOCUMENTS = "signature.sign.batch.documents";
+    // counters
+    public static final String TEMPLATE_CACHE = "signature.template.cache";
+
+    // tags
+    public static final String OUTCOME = "outcome";
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+    public static final String FORMAT = "format";
+    public static final String PAGES = "pages";
+    public static final String TYPE = "type";
+    public static final String RESULT = "result";
+    public static final String UNKNOWN = "unknown";
+
+    private static final int[] PAGE_COUNT_BUCKETS = {1, 10, 50, 200};
+    // formats which can be signed or shown, any other extension is tagged as unknown
+    private static final Set<String> KNOWN_FORMATS = new HashSet<>(Arrays.asList(
+            "pdf",
+            "doc", "docx", "docm", "dot", "dotx", "dotm", "rtf", "odt", "ott",
+            "xls", "xlsx", "xlsm", "xlsb", "xltx", "xltm", "ods", "csv",
+            "ppt", "pptx", "pptm", "pps", "ppsx", "odp",
+            "bmp", "jpeg", "jpg", "tiff", "tif", "png"));
+    private static final Set<String> KNOWN_TYPES = new HashSet<>(Arrays.asList(
+            SignatureType.TEXT, SignatureType.DIGITAL, SignatureType.IMAGE, SignatureType.HAND,
+            SignatureType.STAMP, SignatureType.QR_CODE, SignatureType.BAR_CODE));
+
+    /**
+     * Call which is timed
+     *
+     * @param <T> type of the result
+     */
+    public interface TimedCall<T> {
+        T call() throws Exception;
+    }
+
+    /**
+     * Time the call, exceptions are recorded with error outcome and rethrown
+     *
+     * @param name name of the timer
+     * @param call timed call
+     * @param tags tag names and values
+     * @param <T>  type of the result
+     * @return result of the call
+     */
+    public static <T> T time(String name, Supplier<T> call, String... tags) {
+        Timer.Sample sample = start();
+        boolean success = false;
+        try {
+            T result = call.get();
+            success = true;
+            return result;
+        } finally {
+            stop(sample, name, success, tags);
+        }
+    }
+
+    /**
+     * Time the call which throws checked exceptions
+     *
+     * @param name name of the timer
+     * @param call timed call
+     * @param tags tag names and values
+     * @param <T>  type of the result
+     * @return result of the call
+     * @throws Exception exception of the call
+     */
+    public static <T> T timeCall(String name, TimedCall<T> call, String... tags) throws Exception {
+        Timer.Sample sample = start();
+        boolean success = false;
+        try {
+            T result = call.call();
+            success = true;
+            return result;
+        } finally {
+            stop(sample, name, success, tags);
+        }
+    }
+
+    /**
+     * Start timing, used when tags are known only after the call
+     *
+     * @return started sample
+     */
+    public static Timer.Sample start() {
+        return Timer.start(Metrics.globalRegistry);
+    }
+
+    /**
+     * Stop timing and record the time
+     *
+     * @param sample  started sample
+     * @param name    name of the timer
+     * @param success outcome of the call
+     * @param tags    tag names and values
+     */
+    public static void stop(Timer.Sample sample, String name, boolean success, String... tags) {
+        sample.stop(Metrics.globalRegistry.timer(name, Tags.of(tags).and(OUTCOME, success ? SUCCESS : ERROR)));
+    }
+
+    /**
+     * Count the event
+     *
+     * @param name name of the counter
+     * @param tags tag names and values
+     */
+    public static void count(String name, String... tags) {
+        Metrics.counter(name, tags).increment();
+    }
+
+    /**
+     * Record the amount, like size in bytes or number of items
+     *
+     * @param name   name of the distribution summary
+     * @param amount amount
+     * @param tags   tag names and values
+     */
+    public static void record(String name, double amount, String... tags) {
+        Metrics.summary(name, tags).record(amount);
+    }
+
+    /**
+     * Get format tag of the document, paths come from clients, so only known formats become tag values
+     *
+     * @param documentGuid path to document
+     * @return lower case extension of the document or unknown
+     */
+    public static String format(String documentGuid) {
+        String extension = documentGuid == null ? null : FilenameUtils.getExtension(documentGuid).toLowerCase();
+        return KNOWN_FORMATS.contains(extension) ? extension : UNKNOWN;
+    }
+
+    /**
+     * Get page count bucket tag, pages are bucketed to keep the number of time series small
+     *
+     * @param pageCount number of pages
+     * @return bucket of the page count, for example 2-10
+     */
+    public static String pageCountBucket(int pageCount) {
+        if (pageCount <= 0) {
+            return "0";
+        }
+        int lower = 1;
+        for (int bucket : PAGE_COUNT_BUCKETS) {
+            if (pageCount <= bucket) {
+                return lower == bucket ? Integer.toString(bucket) : lower + "-" + bucket;
+            }
+            lower = bucket + 1;
+        }
+        return lower + "+";
+    }
+
+    /**
+     * Get signature type tag
+     *
+     * @param signatureType signature type
+     * @return signature type or unknown if it is not one of the signature types
+     */
+    public static String type(String signatureType) {
+        return KNOWN_TYPES.contains(signatureType) ? signatureType : UNKNOWN;
+    }
+}
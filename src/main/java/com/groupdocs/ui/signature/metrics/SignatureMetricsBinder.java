@@ -0,0 +1,107 @@
+package com.groupdocs.ui.signature.metrics;
+
+import com.groupdocs.ui.signature.cache.DocumentSessionCache;
+import com.groupdocs.ui.signature.cache.ImageCache;
+import com.groupdocs.ui.signature.cache.PageImageCache;
+import com.groupdocs.ui.signature.cache.PageThumbnailCache;
+import com.groupdocs.ui.signature.cache.SignatureTemplateCache;
+import com.groupdocs.ui.signature.cache.SignatureThumbnailCache;
+import com.groupdocs.ui.signature.service.ChunkedUploadService;
+import com.groupdocs.ui.signature.service.DocumentPrerenderer;
+import com.groupdocs.ui.signature.service.PagePrefetcher;
+import com.groupdocs.ui.signature.service.PageRenderExecutor;
+import com.groupdocs.ui.signature.service.SignJobService;
+import com.groupdocs.ui.signature.service.SignatureHandlerPool;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * SignatureMetricsBinder
+ * Gauges of the signature handlers pool, work queues and caches, read when metrics are scraped.
+ * Spring Boot binds it to the registry on startup.
+ */
+@Component
+public class SignatureMetricsBinder implements MeterBinder {
+
+    private static final String CACHE = "cache";
+
+    @Autowired
+    private SignatureHandlerPool signatureHandlerPool;
+    @Autowired
+    private PageRenderExecutor pageRenderExecutor;
+    @Autowired
+    private PagePrefetcher pagePrefetcher;
+    @Autowired
+    private DocumentPrerenderer documentPrerenderer;
+    @Autowired
+    private SignJobService signJobService;
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+    @Autowired
+    private PageImageCache pageImageCache;
+    @Autowired
+    private SignatureThumbnailCache signatureThumbnailCache;
+    @Autowired
+    private PageThumbnailCache pageThumbnailCache;
+    @Autowired
+    private SignatureTemplateCache signatureTemplateCache;
+    @Autowired
+    private DocumentSessionCache documentSessionCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // signature handlers, every engine call holds one
+        Gauge.builder("signature.handler.pool.size", signatureHandlerPool, SignatureHandlerPool::getPoolSize)
+                .description("Maximum number of signature handlers").register(registry);
+        Gauge.builder("signature.handler.pool.active", signatureHandlerPool, SignatureHandlerPool::getActiveCount)
+                .description("Signature handlers borrowed by requests").register(registry);
+        Gauge.builder("signature.handler.pool.idle", signatureHandlerPool, SignatureHandlerPool::getIdleCount)
+                .description("Created signature handlers waiting in the pool").register(registry);
+        FunctionCounter.builder("signature.handler.pool.borrows", signatureHandlerPool, SignatureHandlerPool::getBorrowCount)
+                .register(registry);
+        FunctionCounter.builder("signature.handler.pool.timeouts", signatureHandlerPool, SignatureHandlerPool::getTimeoutCount)
+                .description("Requests which waited for a signature handler longer than the timeout").register(registry);
+
+        // work queues
+        Gauge.builder("signature.render.queue", pageRenderExecutor, PageRenderExecutor::getQueueSize)
+                .description("Pages waiting for a render thread").register(registry);
+        Gauge.builder("signature.render.active", pageRenderExecutor, PageRenderExecutor::getActiveCount)
+                .register(registry);
+        Gauge.builder("signature.prefetch.queue", pagePrefetcher, PagePrefetcher::getQueueSize)
+                .description("Pages waiting to be prefetched").register(registry);
+        Gauge.builder("signature.prerender.queue", documentPrerenderer, DocumentPrerenderer::getQueueSize)
+                .description("Uploaded documents waiting to be prerendered").register(registry);
+        Gauge.builder("signature.sign.jobs.queue", signJobService, SignJobService::getQueueSize)
+                .description("Sign jobs waiting for a sign thread").register(registry);
+        Gauge.builder("signature.sign.jobs.active", signJobService, SignJobService::getActiveCount)
+                .register(registry);
+        Gauge.builder("signature.upload.sessions", chunkedUploadService, ChunkedUploadService::getSessionCount)
+                .register(registry);
+        Gauge.builder("signature.upload.sessions.open", chunkedUploadService, ChunkedUploadService::getOpenSessionCount)
+                .description("Uploads in progress, limited by uploadSessionLimit").register(registry);
+
+        // caches
+        bindPageCache(registry, pageImageCache, "page");
+        bindPageCache(registry, signatureThumbnailCache, "thumbnail");
+        bindPageCache(registry, pageThumbnailCache, "pageThumbnail");
+        Gauge.builder("signature.template.cache.size", signatureTemplateCache, SignatureTemplateCache::size)
+                .register(registry);
+        Gauge.builder("signature.document.sessions", documentSessionCache, DocumentSessionCache::size)
+                .description("Opened documents kept for viewer requests").register(registry);
+    }
+
+    private static void bindPageCache(MeterRegistry registry, ImageCache<?> cache, String name) {
+        Gauge.builder("signature.page.cache.size", cache, ImageCache::getMemoryCount)
+                .tag(CACHE, name).description("Images in the memory tier").register(registry);
+        Gauge.builder("signature.page.cache.bytes", cache, ImageCache::getMemoryBytes)
+                .tag(CACHE, name).description("Bytes of images in the memory tier").register(registry);
+        FunctionCounter.builder("signature.page.renders", cache, ImageCache::getExecutedRenderCount)
+                .tag(CACHE, name).tag(SignatureMetrics.RESULT, "executed").description("Renders of images which were not cached").register(registry);
+        FunctionCounter.builder("signature.page.renders", cache, ImageCache::getCoalescedRenderCount)
+                .tag(CACHE, name).tag(SignatureMetrics.RESULT, "coalesced").description("Requests which shared a render of another request").register(registry);
+    }
+}
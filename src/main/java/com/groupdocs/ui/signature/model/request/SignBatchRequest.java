@@ -0,0 +1,45 @@
+package com.groupdocs.ui.signature.model.request;
+
+import com.groupdocs.ui.signature.model.web.SignatureDataEntity;
+
+import java.util.List;
+
+/**
+ * SignBatchRequest
+ * Signatures which are put on every document of the batch
+ */
+public class SignBatchRequest {
+    /**
+     * Paths to documents
+     */
+    private List<String> guids;
+    /**
+     * Password of the documents
+     */
+    private String password;
+    private List<SignatureDataEntity> signaturesData;
+
+    public List<String> getGuids() {
+        return guids;
+    }
+
+    public void setGuids(List<String> guids) {
+        this.guids = guids;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public List<SignatureDataEntity> getSignaturesData() {
+        return signaturesData;
+    }
+
+    public void setSignaturesData(List<SignatureDataEntity> signaturesData) {
+        this.signaturesData = signaturesData;
+    }
+}
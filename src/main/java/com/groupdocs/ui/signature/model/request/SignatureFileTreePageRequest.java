@@ -0,0 +1,40 @@
+package com.groupdocs.ui.signature.model.request;
+
+public class SignatureFileTreePageRequest extends SignatureFileTreeRequest {
+    /**
+     * Index of the first file, used if there is no continuation token
+     */
+    private Integer offset;
+    /**
+     * Maximum number of files in the page
+     */
+    private Integer limit;
+    /**
+     * Token from the previous page, the page starts right after the last file of the previous page
+     */
+    private String continuationToken;
+
+    public Integer getOffset() {
+        return offset;
+    }
+
+    public void setOffset(Integer offset) {
+        this.offset = offset;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public void setContinuationToken(String continuationToken) {
+        this.continuationToken = continuationToken;
+    }
+}
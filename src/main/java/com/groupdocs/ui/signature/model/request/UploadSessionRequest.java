@@ -0,0 +1,50 @@
+package com.groupdocs.ui.signature.model.request;
+
+/**
+ * UploadSessionRequest
+ * Start of the chunked upload
+ */
+public class UploadSessionRequest {
+    private String fileName;
+    /**
+     * Size of the whole file in bytes
+     */
+    private long size;
+    private Boolean rewrite;
+    /**
+     * Type of the signature for signature files, null for documents
+     */
+    private String signatureType;
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public Boolean getRewrite() {
+        return rewrite;
+    }
+
+    public void setRewrite(Boolean rewrite) {
+        this.rewrite = rewrite;
+    }
+
+    public String getSignatureType() {
+        return signatureType;
+    }
+
+    public void setSignatureType(String signatureType) {
+        this.signatureType = signatureType;
+    }
+}
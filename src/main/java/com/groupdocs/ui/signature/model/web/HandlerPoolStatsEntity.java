@@ -0,0 +1,98 @@
+package com.groupdocs.ui.signature.model.web;
+
+/**
+ * HandlerPoolStatsEntity
+ * State and borrow metrics of the signature handlers pool
+ */
+public class HandlerPoolStatsEntity {
+    /**
+     * Maximum number of handlers
+     */
+    private int poolSize;
+    /**
+     * Borrow timeout in milliseconds
+     */
+    private long timeout;
+    private int created;
+    private int active;
+    private int idle;
+    private long borrowCount;
+    private long timeoutCount;
+    /**
+     * Average and maximum time in milliseconds requests waited for a handler
+     */
+    private long averageWaitTime;
+    private long maxWaitTime;
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public void setActive(int active) {
+        this.active = active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public void setIdle(int idle) {
+        this.idle = idle;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    public void setBorrowCount(long borrowCount) {
+        this.borrowCount = borrowCount;
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    public void setTimeoutCount(long timeoutCount) {
+        this.timeoutCount = timeoutCount;
+    }
+
+    public long getAverageWaitTime() {
+        return averageWaitTime;
+    }
+
+    public void setAverageWaitTime(long averageWaitTime) {
+        this.averageWaitTime = averageWaitTime;
+    }
+
+    public long getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    public void setMaxWaitTime(long maxWaitTime) {
+        this.maxWaitTime = maxWaitTime;
+    }
+}
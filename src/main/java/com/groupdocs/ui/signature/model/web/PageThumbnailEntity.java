@@ -0,0 +1,59 @@
+package com.groupdocs.ui.signature.model.web;
+
+/**
+ * PageThumbnailEntity
+ * Thumbnail of one page: its own url and its cell in the sprite sheet
+ */
+public class PageThumbnailEntity {
+    private int number;
+    /**
+     * Url of the thumbnail image, null for password protected documents
+     */
+    private String url;
+    /**
+     * Index of the sprite sheet and position of the thumbnail cell inside it in pixels
+     */
+    private int sprite;
+    private int left;
+    private int top;
+
+    public int getNumber() {
+        return number;
+    }
+
+    public void setNumber(int number) {
+        this.number = number;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public int getSprite() {
+        return sprite;
+    }
+
+    public void setSprite(int sprite) {
+        this.sprite = sprite;
+    }
+
+    public int getLeft() {
+        return left;
+    }
+
+    public void setLeft(int left) {
+        this.left = left;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public void setTop(int top) {
+        this.top = top;
+    }
+}
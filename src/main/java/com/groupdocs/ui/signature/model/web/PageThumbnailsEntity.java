@@ -0,0 +1,57 @@
+package com.groupdocs.ui.signature.model.web;
+
+import java.util.List;
+
+/**
+ * PageThumbnailsEntity
+ * Thumbnails of all pages of the document for the page navigation.
+ * Every thumbnail fits into a square cell of the thumbnail size, cells of up to 100 pages form one sprite sheet.
+ * Sprite sheets are linked by urls or, for password protected documents, sent inside as base64 data.
+ */
+public class PageThumbnailsEntity {
+    private String guid;
+    private int size;
+    private List<String> spriteUrls;
+    private List<String> spriteData;
+    private List<PageThumbnailEntity> thumbnails;
+
+    public String getGuid() {
+        return guid;
+    }
+
+    public void setGuid(String guid) {
+        this.guid = guid;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public List<String> getSpriteUrls() {
+        return spriteUrls;
+    }
+
+    public void setSpriteUrls(List<String> spriteUrls) {
+        this.spriteUrls = spriteUrls;
+    }
+
+    public List<String> getSpriteData() {
+        return spriteData;
+    }
+
+    public void setSpriteData(List<String> spriteData) {
+        this.spriteData = spriteData;
+    }
+
+    public List<PageThumbnailEntity> getThumbnails() {
+        return thumbnails;
+    }
+
+    public void setThumbnails(List<PageThumbnailEntity> thumbnails) {
+        this.thumbnails = thumbnails;
+    }
+}
@@ -0,0 +1,53 @@
+package com.groupdocs.ui.signature.model.web;
+
+/**
+ * SignBatchDocumentEntity
+ * Result of signing one document of the batch
+ */
+public class SignBatchDocumentEntity {
+    /**
+     * Path to the original document
+     */
+    private String guid;
+    /**
+     * Path to the signed document, null if signing failed
+     */
+    private String signedGuid;
+    private String error;
+    /**
+     * Time of signing in milliseconds
+     */
+    private long signTime;
+
+    public String getGuid() {
+        return guid;
+    }
+
+    public void setGuid(String guid) {
+        this.guid = guid;
+    }
+
+    public String getSignedGuid() {
+        return signedGuid;
+    }
+
+    public void setSignedGuid(String signedGuid) {
+        this.signedGuid = signedGuid;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public long getSignTime() {
+        return signTime;
+    }
+
+    public void setSignTime(long signTime) {
+        this.signTime = signTime;
+    }
+}
@@ -0,0 +1,61 @@
+package com.groupdocs.ui.signature.model.web;
+
+import java.util.List;
+
+/**
+ * SignBatchEntity
+ * Results of signing the batch of documents
+ */
+public class SignBatchEntity {
+    /**
+     * Results in the order of the requested documents
+     */
+    private List<SignBatchDocumentEntity> documents;
+    private int signedCount;
+    private int failedCount;
+    /**
+     * Time of signing the whole batch in milliseconds
+     */
+    private long totalTime;
+    private double documentsPerSecond;
+
+    public List<SignBatchDocumentEntity> getDocuments() {
+        return documents;
+    }
+
+    public void setDocuments(List<SignBatchDocumentEntity> documents) {
+        this.documents = documents;
+    }
+
+    public int getSignedCount() {
+        return signedCount;
+    }
+
+    public void setSignedCount(int signedCount) {
+        this.signedCount = signedCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(int failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    public void setTotalTime(long totalTime) {
+        this.totalTime = totalTime;
+    }
+
+    public double getDocumentsPerSecond() {
+        return documentsPerSecond;
+    }
+
+    public void setDocumentsPerSecond(double documentsPerSecond) {
+        this.documentsPerSecond = documentsPerSecond;
+    }
+}
@@ -0,0 +1,112 @@
+package com.groupdocs.ui.signature.model.web;
+
+/**
+ * SignJobEntity
+ * State and timings of the asynchronous sign job
+ */
+public class SignJobEntity {
+    public static final String QUEUED = "queued";
+    public static final String RUNNING = "running";
+    public static final String DONE = "done";
+    public static final String FAILED = "failed";
+
+    private String id;
+    /**
+     * Path to the signed document
+     */
+    private String guid;
+    private String status;
+    /**
+     * Times of submitting, starting and finishing the job in milliseconds since epoch
+     */
+    private long submitted;
+    private Long started;
+    private Long finished;
+    /**
+     * Time in milliseconds the job waited for a thread and the time of signing
+     */
+    private Long queueTime;
+    private Long signTime;
+    private SignedDocumentEntity result;
+    private String error;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getGuid() {
+        return guid;
+    }
+
+    public void setGuid(String guid) {
+        this.guid = guid;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public void setSubmitted(long submitted) {
+        this.submitted = submitted;
+    }
+
+    public Long getStarted() {
+        return started;
+    }
+
+    public void setStarted(Long started) {
+        this.started = started;
+    }
+
+    public Long getFinished() {
+        return finished;
+    }
+
+    public void setFinished(Long finished) {
+        this.finished = finished;
+    }
+
+    public Long getQueueTime() {
+        return queueTime;
+    }
+
+    public void setQueueTime(Long queueTime) {
+        this.queueTime = queueTime;
+    }
+
+    public Long getSignTime() {
+        return signTime;
+    }
+
+    public void setSignTime(Long signTime) {
+        this.signTime = signTime;
+    }
+
+    public SignedDocumentEntity getResult() {
+        return result;
+    }
+
+    public void setResult(SignedDocumentEntity result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
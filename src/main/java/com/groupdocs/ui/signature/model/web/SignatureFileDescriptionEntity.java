@@ -9,8 +9,16 @@ import com.groupdocs.ui.model.response.FileDescriptionEntity;
  */
 public class SignatureFileDescriptionEntity extends FileDescriptionEntity {
     private String image;
+    /**
+     * Url of the signature thumbnail, set instead of image when images are not inlined
+     */
+    private String thumbnailUrl;
     private String text;
     private String fontColor;
+    /**
+     * SHA-256 hash of the document content, set when it is known without reading the document
+     */
+    private String contentHash;
 
     public String getFontColor() {
         return fontColor;
@@ -42,4 +50,20 @@ public class SignatureFileDescriptionEntity extends FileDescriptionEntity {
     public void setImage(String image) {
         this.image = image;
     }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
 }
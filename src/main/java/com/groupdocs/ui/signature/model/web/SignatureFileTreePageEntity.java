@@ -0,0 +1,65 @@
+package com.groupdocs.ui.signature.model.web;
+
+import java.util.List;
+
+/**
+ * SignatureFileTreePageEntity
+ * One page of the files listing
+ */
+public class SignatureFileTreePageEntity {
+    private List<SignatureFileDescriptionEntity> files;
+    /**
+     * Index of the first file of the page in the whole listing
+     */
+    private int offset;
+    /**
+     * Number of files in the whole listing
+     */
+    private int total;
+    /**
+     * Offset and token of the next page, null for the last page.
+     * Token is set only for signature listings, unlike offset it stays valid when files are added or removed
+     */
+    private Integer nextOffset;
+    private String continuationToken;
+
+    public List<SignatureFileDescriptionEntity> getFiles() {
+        return files;
+    }
+
+    public void setFiles(List<SignatureFileDescriptionEntity> files) {
+        this.files = files;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public void setOffset(int offset) {
+        this.offset = offset;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public Integer getNextOffset() {
+        return nextOffset;
+    }
+
+    public void setNextOffset(Integer nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public void setContinuationToken(String continuationToken) {
+        this.continuationToken = continuationToken;
+    }
+}
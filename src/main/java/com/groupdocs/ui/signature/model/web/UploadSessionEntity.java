@@ -0,0 +1,80 @@
+package com.groupdocs.ui.signature.model.web;
+
+/**
+ * UploadSessionEntity
+ * State of the chunked upload
+ */
+public class UploadSessionEntity {
+    private String uploadId;
+    private String fileName;
+    private long size;
+    /**
+     * Number of bytes received from the start of the file, the next chunk starts at this offset
+     */
+    private long received;
+    private boolean completed;
+    /**
+     * Hex encoded SHA-256 of the file, set when the upload is completed
+     */
+    private String sha256;
+    /**
+     * Uploaded file, set when the upload is completed
+     */
+    private SignatureFileDescriptionEntity document;
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public void setReceived(long received) {
+        this.received = received;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public SignatureFileDescriptionEntity getDocument() {
+        return document;
+    }
+
+    public void setDocument(SignatureFileDescriptionEntity document) {
+        this.document = document;
+    }
+}
@@ -0,0 +1,48 @@
+package com.groupdocs.ui.signature.model.xml;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.util.ArrayList;
+import java.util.List;
+
+@XmlRootElement(name="DocumentMetadataXmlEntity")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class DocumentMetadataXmlEntity {
+    private String format;
+    private int pageCount;
+    private boolean passwordRequired;
+    private List<PageSizeXmlEntity> pages = new ArrayList<>();
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    public void setPageCount(int pageCount) {
+        this.pageCount = pageCount;
+    }
+
+    public boolean isPasswordRequired() {
+        return passwordRequired;
+    }
+
+    public void setPasswordRequired(boolean passwordRequired) {
+        this.passwordRequired = passwordRequired;
+    }
+
+    public List<PageSizeXmlEntity> getPages() {
+        return pages;
+    }
+
+    public void setPages(List<PageSizeXmlEntity> pages) {
+        this.pages = pages;
+    }
+}
@@ -0,0 +1,46 @@
+package com.groupdocs.ui.signature.model.xml;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlRootElement;
+
+@XmlRootElement(name="PageSizeXmlEntity")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class PageSizeXmlEntity {
+    private int number;
+    private int width;
+    private int height;
+
+    public PageSizeXmlEntity() {
+    }
+
+    public PageSizeXmlEntity(int number, int width, int height) {
+        this.number = number;
+        this.width = width;
+        this.height = height;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public void setNumber(int number) {
+        this.number = number;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+}
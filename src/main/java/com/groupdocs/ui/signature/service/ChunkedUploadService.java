@@ -0,0 +1,335 @@
+package com.groupdocs.ui.signature.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.groupdocs.ui.exception.TotalGroupDocsException;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import com.groupdocs.ui.signature.model.request.UploadSessionRequest;
+import com.groupdocs.ui.signature.model.web.SignatureFileDescriptionEntity;
+import com.groupdocs.ui.signature.model.web.UploadSessionEntity;
+import org.apache.commons.io.FilenameUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.groupdocs.ui.signature.SignatureType.*;
+import static com.groupdocs.ui.util.UniqueFileAllocator.createFreeFile;
+
+/**
+ * ChunkedUploadService
+ * Receives files in chunks, so big files can be uploaded over unreliable connections and resumed after failures.
+ * Chunks are written straight into a hidden partial file in the target directory and hashed on the fly,
+ * the completed file is renamed to its name in one step. Chunks must come in order, a chunk which overlaps
+ * already received data is accepted and its known part is skipped.
+ */
+@Component
+public class ChunkedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private static final String PART_FILE_FORMAT = ".upload-%s.part";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_EXPIRATION_MINUTES = 60;
+    private static final int DEFAULT_SESSION_LIMIT = 100;
+    // documents and signature files which can be uploaded
+    private static final List<String> UPLOAD_TYPES = Arrays.asList(null, DIGITAL, IMAGE, HAND, TEXT, STAMP, QR_CODE, BAR_CODE);
+
+    @Autowired
+    private SignatureConfiguration signatureConfiguration;
+    @Autowired
+    private SignatureService signatureService;
+    @Autowired
+    private ContentHashService contentHashService;
+
+    private Cache<String, UploadSession> sessions;
+    // sessions which keep their partial file open, completed sessions only keep the result
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private int sessionLimit;
+
+    private static class UploadSession {
+        private final String uploadId;
+        private final String fileName;
+        private final long size;
+        private final boolean rewrite;
+        private final String signatureType;
+        private final Path directory;
+        private final Path partFile;
+        private final MessageDigest digest;
+        private FileChannel channel;
+        private long received;
+        private boolean closed;
+        private UploadSessionEntity result;
+
+        private UploadSession(String uploadId, UploadSessionRequest request, Path directory) throws IOException, NoSuchAlgorithmException {
+            this.uploadId = uploadId;
+            this.fileName = FilenameUtils.getName(request.getFileName());
+            this.size = request.getSize();
+            this.rewrite = Boolean.TRUE.equals(request.getRewrite());
+            this.signatureType = request.getSignatureType();
+            this.directory = directory;
+            this.partFile = directory.resolve(String.format(PART_FILE_FORMAT, uploadId));
+            this.digest = MessageDigest.getInstance("SHA-256");
+            this.channel = FileChannel.open(partFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+
+        /**
+         * Close and remove the partial file
+         *
+         * @return true if the session was open
+         */
+        private synchronized boolean abort() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            try {
+                channel.close();
+                Files.deleteIfExists(partFile);
+            } catch (IOException ex) {
+                logger.warn("Can not remove partial upload {}", partFile, ex);
+            }
+            return true;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        Integer uploadSessionExpiration = signatureConfiguration.getUploadSessionExpiration();
+        int expiration = uploadSessionExpiration == null || uploadSessionExpiration <= 0 ? DEFAULT_EXPIRATION_MINUTES : uploadSessionExpiration;
+        Integer uploadSessionLimit = signatureConfiguration.getUploadSessionLimit();
+        sessionLimit = uploadSessionLimit == null || uploadSessionLimit <= 0 ? DEFAULT_SESSION_LIMIT : uploadSessionLimit;
+        sessions = CacheBuilder.newBuilder()
+                .expireAfterAccess(expiration, TimeUnit.MINUTES)
+                .removalListener((RemovalListener<String, UploadSession>) notification -> {
+                    if (notification.getValue().abort()) {
+                        openSessions.decrementAndGet();
+                    }
+                })
+                .build();
+        // uploads are not resumed after restart, remove their partial files
+        for (String signatureType : UPLOAD_TYPES) {
+            removePartFiles(Paths.get(signatureService.getUploadDirectory(signatureType)));
+        }
+    }
+
+    private void removePartFiles(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> partFiles = Files.newDirectoryStream(directory, String.format(PART_FILE_FORMAT, "*"))) {
+            for (Path partFile : partFiles) {
+                Files.deleteIfExists(partFile);
+            }
+        } catch (IOException ex) {
+            logger.warn("Can not remove partial uploads in {}", directory, ex);
+        }
+    }
+
+    /**
+     * Start chunked upload, refused while the number of uploads in progress reaches the limit
+     *
+     * @param uploadSessionRequest file name, size and target of the upload
+     * @return state of the new upload
+     */
+    public UploadSessionEntity start(UploadSessionRequest uploadSessionRequest) {
+        if (StringUtils.isEmpty(FilenameUtils.getName(uploadSessionRequest.getFileName())) || uploadSessionRequest.getSize() < 0) {
+            throw new IllegalArgumentException("File name and size are required");
+        }
+        // expired sessions are removed on cache access, clean up before a new partial file is created
+        sessions.cleanUp();
+        if (openSessions.incrementAndGet() > sessionLimit) {
+            openSessions.decrementAndGet();
+            throw new TotalGroupDocsException(String.format("Too many uploads in progress, the limit is %d", sessionLimit));
+        }
+        Path directory = Paths.get(signatureService.getUploadDirectory(uploadSessionRequest.getSignatureType()));
+        String uploadId = UUID.randomUUID().toString();
+        UploadSession session;
+        try {
+            session = new UploadSession(uploadId, uploadSessionRequest, directory);
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            openSessions.decrementAndGet();
+            logger.error("Exception occurred while starting upload", ex);
+            throw new TotalGroupDocsException(ex.getMessage(), ex);
+        }
+        sessions.put(uploadId, session);
+        synchronized (session) {
+            if (session.size == 0) {
+                complete(session);
+            }
+            return describe(session);
+        }
+    }
+
+    /**
+     * Get state of the upload, the client continues interrupted upload from the received offset
+     *
+     * @param uploadId id of the upload
+     * @return state of the upload
+     */
+    public UploadSessionEntity getState(String uploadId) {
+        UploadSession session = getSession(uploadId);
+        synchronized (session) {
+            return describe(session);
+        }
+    }
+
+    /**
+     * Write chunk of the file
+     *
+     * @param uploadId    id of the upload
+     * @param offset      position of the chunk in the file
+     * @param inputStream chunk data
+     * @return state of the upload
+     */
+    public UploadSessionEntity writeChunk(String uploadId, long offset, InputStream inputStream) {
+        UploadSession session = getSession(uploadId);
+        synchronized (session) {
+            if (session.result != null) {
+                return session.result;
+            }
+            if (offset < 0 || offset > session.received) {
+                throw new TotalGroupDocsException(String.format("Chunk offset %d doesn't match received size %d", offset, session.received));
+            }
+            try {
+                receive(session, offset, Channels.newChannel(inputStream));
+            } catch (IOException ex) {
+                // received data stays written, the client resumes from the received offset
+                logger.warn("Upload {} is interrupted at {} bytes", uploadId, session.received, ex);
+                throw new TotalGroupDocsException(ex.getMessage(), ex);
+            }
+            if (session.received == session.size) {
+                complete(session);
+            }
+            return describe(session);
+        }
+    }
+
+    /**
+     * Cancel the upload and remove the partial file
+     *
+     * @param uploadId id of the upload
+     */
+    public void cancel(String uploadId) {
+        sessions.invalidate(uploadId);
+    }
+
+    private void receive(UploadSession session, long offset, ReadableByteChannel input) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        // bytes of the chunk which were received before
+        long skip = session.received - offset;
+        while (input.read(buffer) >= 0) {
+            buffer.flip();
+            if (skip > 0) {
+                int skipped = (int) Math.min(skip, buffer.remaining());
+                buffer.position(buffer.position() + skipped);
+                skip -= skipped;
+            }
+            if (session.received + buffer.remaining() > session.size) {
+                throw new TotalGroupDocsException("Uploaded data exceeds the file size " + session.size);
+            }
+            int start = buffer.position();
+            long written = 0;
+            while (buffer.hasRemaining()) {
+                written += session.channel.write(buffer, session.received + written);
+            }
+            // the offset moves only together with the digest, a failed write is repeated from the same offset
+            session.digest.update(buffer.array(), start, buffer.position() - start);
+            session.received += written;
+            buffer.clear();
+        }
+    }
+
+    private void complete(UploadSession session) {
+        Path target = session.directory.resolve(session.fileName);
+        String sha256 = ContentHashService.toHex(session.digest.digest());
+        try {
+            session.channel.force(true);
+            session.channel.close();
+            if (contentHashService.isContentAddressed(session.directory.toString())) {
+                target = contentHashService.store(session.partFile, sha256, session.directory, session.fileName, session.rewrite);
+            } else if (session.rewrite) {
+                Files.move(session.partFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                // the file gets new name if the name is taken
+                target = createFreeFile(session.directory.toString(), session.fileName,
+                        tempFile -> Files.move(session.partFile, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)).toPath();
+            }
+            contentHashService.remember(target.toFile(), sha256);
+        } catch (IOException ex) {
+            logger.error("Exception occurred while completing upload", ex);
+            sessions.invalidate(session.uploadId);
+            throw new TotalGroupDocsException(ex.getMessage(), ex);
+        }
+        session.closed = true;
+        openSessions.decrementAndGet();
+        SignatureFileDescriptionEntity document = signatureService.describeUploadedFile(target.toString(), session.signatureType);
+        UploadSessionEntity result = describe(session);
+        result.setCompleted(true);
+        result.setSha256(sha256);
+        result.setDocument(document);
+        // the result is kept till the session expires, so a client which lost the response gets it again
+        session.result = result;
+    }
+
+    private UploadSessionEntity describe(UploadSession session) {
+        if (session.result != null) {
+            return session.result;
+        }
+        UploadSessionEntity uploadSessionEntity = new UploadSessionEntity();
+        uploadSessionEntity.setUploadId(session.uploadId);
+        uploadSessionEntity.setFileName(session.fileName);
+        uploadSessionEntity.setSize(session.size);
+        uploadSessionEntity.setReceived(session.received);
+        return uploadSessionEntity;
+    }
+
+    private UploadSession getSession(String uploadId) {
+        UploadSession session = sessions.getIfPresent(uploadId);
+        if (session == null) {
+            throw new TotalGroupDocsException("Upload " + uploadId + " is not found or expired");
+        }
+        return session;
+    }
+
+    /**
+     * Get number of uploads in progress or waiting for expiration
+     *
+     * @return number of upload sessions
+     */
+    public long getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Get number of uploads in progress, they are limited by the configuration
+     *
+     * @return number of uploads with open partial files
+     */
+    public int getOpenSessionCount() {
+        return openSessions.get();
+    }
+}
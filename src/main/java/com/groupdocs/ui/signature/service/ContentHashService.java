@@ -0,0 +1,367 @@
+package com.groupdocs.ui.signature.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.groupdocs.ui.config.DefaultDirectories;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.groupdocs.ui.signature.service.SignatureHandlerFactory.getFullDataPath;
+import static com.groupdocs.ui.util.UniqueFileAllocator.createFreeFile;
+import static com.groupdocs.ui.util.directory.SignatureDirectory.BLOBS_DATA_DIRECTORY;
+
+/**
+ * ContentHashService
+ * Knows SHA-256 hashes of documents, so anything derived from a document can be keyed on its content.
+ * When content addressed storage is enabled, uploaded documents are stored once per content in the data
+ * directory and their names are hard links to the stored blob. The number of links is the reference count,
+ * a blob which has no names left is removed.
+ */
+@Component
+public class ContentHashService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentHashService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int HASHES_SIZE = 10000;
+    private static final String TEMP_FILE_PREFIX = ".blob-";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    @Autowired
+    private SignatureConfiguration signatureConfiguration;
+
+    // hashes of files by absolute path, checked against modification time and size
+    private final Cache<String, FileHash> hashes = CacheBuilder.newBuilder().maximumSize(HASHES_SIZE).build();
+    // hashes of blobs by file key, names linked to a blob have the same file key
+    private final ConcurrentMap<Object, String> blobKeys = new ConcurrentHashMap<>();
+    // blob is not removed while it is linked and not linked while it is removed
+    private final Object blobLock = new Object();
+
+    private static class FileHash {
+        private final long lastModified;
+        private final long size;
+        private final String sha256;
+
+        private FileHash(long lastModified, long size, String sha256) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.sha256 = sha256;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!isEnabled()) {
+            return;
+        }
+        Path blobsPath = getBlobsPath();
+        DefaultDirectories.makeDirs(blobsPath);
+        int blobs = 0;
+        int removed = 0;
+        try (DirectoryStream<Path> prefixes = Files.newDirectoryStream(blobsPath)) {
+            for (Path prefix : prefixes) {
+                if (!Files.isDirectory(prefix)) {
+                    // temporary file of an upload interrupted by restart
+                    Files.deleteIfExists(prefix);
+                    continue;
+                }
+                try (DirectoryStream<Path> blobFiles = Files.newDirectoryStream(prefix)) {
+                    for (Path blob : blobFiles) {
+                        if (collect(blob)) {
+                            removed++;
+                        } else {
+                            Object fileKey = getFileKey(blob);
+                            if (fileKey != null) {
+                                blobKeys.put(fileKey, blob.getFileName().toString());
+                            }
+                            blobs++;
+                        }
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            logger.error("Can not read content storage {}", blobsPath, ex);
+        }
+        logger.info("Content storage has {} documents, {} unreferenced removed", blobs, removed);
+    }
+
+    /**
+     * Check if uploaded documents are stored by content
+     *
+     * @return true if content addressed storage is enabled
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(signatureConfiguration.getContentAddressedStorage());
+    }
+
+    /**
+     * Check if files uploaded to the directory are stored by content, only documents are
+     *
+     * @param directory upload directory
+     * @return true if the files are stored by content
+     */
+    public boolean isContentAddressed(String directory) {
+        return isEnabled() && Paths.get(directory).toAbsolutePath().normalize()
+                .equals(Paths.get(signatureConfiguration.getFilesDirectory()).toAbsolutePath().normalize());
+    }
+
+    /**
+     * Get hash of the file content, the file is read only when its hash is not known yet
+     *
+     * @param file file
+     * @return SHA-256 hash in hex
+     * @throws IOException
+     */
+    public String hash(File file) throws IOException {
+        String sha256 = getContentHash(file);
+        if (sha256 != null) {
+            return sha256;
+        }
+        // attributes are taken before reading, so a file changed while reading is hashed again next time
+        long lastModified = file.lastModified();
+        long size = file.length();
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = inputStream.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        sha256 = toHex(digest.digest());
+        hashes.put(file.getAbsolutePath(), new FileHash(lastModified, size, sha256));
+        return sha256;
+    }
+
+    /**
+     * Get known hash of the file content without reading the file
+     *
+     * @param file file
+     * @return SHA-256 hash in hex or null if the hash is not known
+     */
+    public String getContentHash(File file) {
+        FileHash fileHash = hashes.getIfPresent(file.getAbsolutePath());
+        if (fileHash != null && fileHash.lastModified == file.lastModified() && fileHash.size == file.length()) {
+            return fileHash.sha256;
+        }
+        if (blobKeys.isEmpty()) {
+            return null;
+        }
+        try {
+            Object fileKey = getFileKey(file.toPath());
+            return fileKey == null ? null : blobKeys.get(fileKey);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Remember hash of the file which was computed while the file was written
+     *
+     * @param file   file
+     * @param sha256 SHA-256 hash in hex
+     */
+    public void remember(File file, String sha256) {
+        hashes.put(file.getAbsolutePath(), new FileHash(file.lastModified(), file.length(), sha256));
+    }
+
+    /**
+     * Store uploaded content and link it to the name in the directory
+     *
+     * @param inputStream content
+     * @param directory   upload directory
+     * @param fileName    name of the file
+     * @param rewrite     replace existing file with the same name
+     * @return path to the file
+     * @throws IOException
+     */
+    public String store(InputStream inputStream, String directory, String fileName, boolean rewrite) throws IOException {
+        Path blobsPath = getBlobsPath();
+        DefaultDirectories.makeDirs(blobsPath);
+        Path tempFile = Files.createTempFile(blobsPath, TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+        try {
+            MessageDigest digest = newDigest();
+            Files.copy(new DigestInputStream(inputStream, digest), tempFile, StandardCopyOption.REPLACE_EXISTING);
+            return store(tempFile, toHex(digest.digest()), Paths.get(directory), fileName, rewrite).toString();
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Store the file by its content and link it to the name in the directory, the file is moved or removed.
+     * Uploading the same content under the existing name returns the existing file instead of making a copy.
+     *
+     * @param file      file with uploaded content
+     * @param sha256    SHA-256 hash of the file in hex
+     * @param directory upload directory
+     * @param fileName  name of the file
+     * @param rewrite   replace existing file with the same name
+     * @return path to the file
+     * @throws IOException
+     */
+    public Path store(Path file, String sha256, Path directory, String fileName, boolean rewrite) throws IOException {
+        Path target = directory.resolve(fileName);
+        if (!rewrite && Files.isRegularFile(target) && sha256.equals(hash(target.toFile()))) {
+            Files.delete(file);
+            return target;
+        }
+        String replacedHash = null;
+        synchronized (blobLock) {
+            Path blob = storeBlob(file, sha256);
+            if (rewrite && Files.exists(target)) {
+                replacedHash = getContentHash(target.toFile());
+            }
+            // the name is linked aside and renamed, so readers never see a missing or partial file
+            Path tempLink = directory.resolve(TEMP_FILE_PREFIX + sha256 + TEMP_FILE_SUFFIX);
+            try {
+                Files.deleteIfExists(tempLink);
+                link(blob, tempLink);
+                if (rewrite) {
+                    Files.move(tempLink, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } else {
+                    // the file gets new name if the name is taken
+                    target = createFreeFile(directory.toString(), fileName,
+                            tempFile -> Files.move(tempLink, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)).toPath();
+                }
+            } finally {
+                Files.deleteIfExists(tempLink);
+            }
+            if (replacedHash != null && !replacedHash.equals(sha256)) {
+                collect(getBlobPath(replacedHash));
+            }
+        }
+        remember(target.toFile(), sha256);
+        return target;
+    }
+
+    /**
+     * Give the document own copy of its content before it is changed in place,
+     * otherwise every name linked to the same blob would change too
+     *
+     * @param document path to the document
+     * @throws IOException
+     */
+    public void detach(String document) throws IOException {
+        if (blobKeys.isEmpty()) {
+            return;
+        }
+        Path path = Paths.get(document);
+        String sha256 = getContentHash(path.toFile());
+        if (sha256 == null || !sha256.equals(blobKeys.get(getFileKey(path)))) {
+            return;
+        }
+        synchronized (blobLock) {
+            Path copy = path.resolveSibling(TEMP_FILE_PREFIX + sha256 + TEMP_FILE_SUFFIX);
+            Files.copy(path, copy, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(copy, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            collect(getBlobPath(sha256));
+        }
+    }
+
+    private Path storeBlob(Path file, String sha256) throws IOException {
+        Path blob = getBlobPath(sha256);
+        if (Files.exists(blob)) {
+            // the content is stored already
+            Files.delete(file);
+            return blob;
+        }
+        Files.createDirectories(blob.getParent());
+        try {
+            Files.move(file, blob, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            // chunked uploads are written in the upload directory, which may be on another file system
+            Files.move(file, blob);
+        }
+        Object fileKey = getFileKey(blob);
+        if (fileKey != null) {
+            blobKeys.put(fileKey, sha256);
+        }
+        return blob;
+    }
+
+    private void link(Path blob, Path target) throws IOException {
+        try {
+            Files.createLink(target, blob);
+        } catch (UnsupportedOperationException | IOException ex) {
+            // no hard links across file systems, the document gets own copy and the blob is removed later
+            logger.warn("Can not link {} to content storage, copying it: {}", target, ex.getMessage());
+            Files.copy(blob, target);
+        }
+    }
+
+    /**
+     * Remove the blob if no document is linked to it
+     *
+     * @return true if the blob was removed
+     */
+    private boolean collect(Path blob) throws IOException {
+        if (!Files.exists(blob) || getLinkCount(blob) > 1) {
+            return false;
+        }
+        Object fileKey = getFileKey(blob);
+        if (fileKey != null) {
+            blobKeys.remove(fileKey);
+        }
+        Files.deleteIfExists(blob);
+        return true;
+    }
+
+    private static int getLinkCount(Path path) throws IOException {
+        try {
+            return (Integer) Files.getAttribute(path, "unix:nlink");
+        } catch (UnsupportedOperationException | IllegalArgumentException ex) {
+            // links are not counted on this file system, never remove blobs
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private static Object getFileKey(Path path) throws IOException {
+        return Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+    }
+
+    private Path getBlobPath(String sha256) {
+        // blobs are spread over subdirectories by the first byte of the hash
+        return getBlobsPath().resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    private Path getBlobsPath() {
+        return getFullDataPath(signatureConfiguration.getDataDirectory(), BLOBS_DATA_DIRECTORY.getPath()).toAbsolutePath();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,347 @@
+package com.groupdocs.ui.signature.service;
+
+import com.aspose.words.IncorrectPasswordException;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.groupdocs.signature.domain.DocumentDescription;
+import com.groupdocs.signature.handler.SignatureHandler;
+import com.groupdocs.signature.internal.c.a.s.InvalidPasswordException;
+import com.groupdocs.ui.config.DefaultDirectories;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import com.groupdocs.ui.signature.XMLReaderWriter;
+import com.groupdocs.ui.signature.metrics.SignatureMetrics;
+import com.groupdocs.ui.signature.model.xml.DocumentMetadataXmlEntity;
+import com.groupdocs.ui.signature.model.xml.PageSizeXmlEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.awt.Dimension;
+import java.io.File;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static com.groupdocs.ui.signature.metrics.SignatureMetrics.*;
+import static com.groupdocs.ui.signature.service.SignatureHandlerFactory.getFullDataPath;
+import static com.groupdocs.ui.util.directory.SignatureDirectory.METADATA_DATA_DIRECTORY;
+
+/**
+ * DocumentMetadataStore
+ * Keeps what the signing engine tells about a document in the data directory, keyed by the content hash:
+ * page count, page sizes, format and whether the document requires a password. A document seen before,
+ * under any name and after restarts, is described without asking the engine to parse it.
+ * Metadata of uploaded documents is filled on a single low priority thread which uses a signature handler
+ * only if one is free right now, documents which can't be filled get their metadata when opened.
+ * Request threads never read whole documents: they use the hash known from the upload or an earlier request,
+ * hashing and saving are done on the metadata thread.
+ */
+@Component
+public class DocumentMetadataStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentMetadataStore.class);
+
+    private static final int QUEUE_SIZE = 64;
+    private static final int METADATA_SIZE = 1000;
+    private static final String XML_EXTENSION = ".xml";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    @Autowired
+    private SignatureConfiguration signatureConfiguration;
+    @Autowired
+    private ContentHashService contentHashService;
+    @Autowired
+    private SignatureHandlerPool signatureHandlerPool;
+
+    private ThreadPoolExecutor executor;
+    private final Set<String> scheduledDocuments = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    // recently used metadata by content hash, saved entities are replaced and never changed
+    private final Cache<String, DocumentMetadataXmlEntity> metadata = CacheBuilder.newBuilder().maximumSize(METADATA_SIZE).build();
+
+    @PostConstruct
+    public void init() {
+        if (isEnabled()) {
+            DefaultDirectories.makeDirs(getMetadataPath());
+        }
+        executor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_SIZE),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "document-metadata");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Check if metadata of documents is stored, it needs the data directory
+     *
+     * @return true if the store is enabled
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(signatureConfiguration.getDocumentMetadataStore())
+                && !StringUtils.isEmpty(signatureConfiguration.getDataDirectory());
+    }
+
+    /**
+     * Get stored metadata of the current content of the document. The content hash is not computed here,
+     * a document with unknown hash is hashed in the background and its metadata is found by the next request
+     *
+     * @param documentGuid path to document
+     * @return metadata or null if it is not stored, the hash is not known yet or the store is disabled
+     */
+    public DocumentMetadataXmlEntity get(String documentGuid) {
+        File file = new File(documentGuid);
+        if (!isEnabled() || !file.isFile()) {
+            return null;
+        }
+        String sha256 = contentHashService.getContentHash(file);
+        if (sha256 == null) {
+            schedule(documentGuid, () -> getContentHash(documentGuid));
+            return null;
+        }
+        return read(sha256);
+    }
+
+    /**
+     * Save page count and page sizes of the document opened without password in the background,
+     * sizes stored before are kept and nothing is written if nothing is new
+     *
+     * @param documentGuid path to document
+     * @param pageCount    number of pages in the document
+     * @param pageSizes    sizes of the loaded pages by page number
+     */
+    public void save(String documentGuid, int pageCount, Map<Integer, Dimension> pageSizes) {
+        File file = new File(documentGuid);
+        if (!isEnabled() || !file.isFile()) {
+            return;
+        }
+        long lastModified = file.lastModified();
+        long size = file.length();
+        Map<Integer, Dimension> savedPageSizes = new HashMap<>(pageSizes);
+        execute(() -> {
+            // sizes of a document changed in the meantime belong to its previous content
+            if (file.lastModified() == lastModified && file.length() == size) {
+                saveLoaded(documentGuid, pageCount, savedPageSizes);
+            }
+        });
+    }
+
+    /**
+     * Save that the document can't be opened without password, in the background
+     *
+     * @param documentGuid path to document
+     */
+    public void savePasswordRequired(String documentGuid) {
+        if (isEnabled()) {
+            execute(() -> savePasswordRequiredLoaded(documentGuid));
+        }
+    }
+
+    private void saveLoaded(String documentGuid, int pageCount, Map<Integer, Dimension> pageSizes) {
+        String sha256 = getContentHash(documentGuid);
+        if (sha256 == null) {
+            return;
+        }
+        synchronized (this) {
+            DocumentMetadataXmlEntity stored = read(sha256);
+            Map<Integer, Dimension> newPageSizes = new HashMap<>(pageSizes);
+            if (stored != null) {
+                for (PageSizeXmlEntity page : stored.getPages()) {
+                    newPageSizes.remove(page.getNumber());
+                }
+                if (!stored.isPasswordRequired() && stored.getPageCount() == pageCount && newPageSizes.isEmpty()) {
+                    return;
+                }
+            }
+            DocumentMetadataXmlEntity entity = copy(documentGuid, stored);
+            entity.setPageCount(pageCount);
+            entity.setPasswordRequired(false);
+            for (Map.Entry<Integer, Dimension> pageSize : newPageSizes.entrySet()) {
+                entity.getPages().add(new PageSizeXmlEntity(pageSize.getKey(), pageSize.getValue().width, pageSize.getValue().height));
+            }
+            write(sha256, entity);
+        }
+    }
+
+    private void savePasswordRequiredLoaded(String documentGuid) {
+        String sha256 = getContentHash(documentGuid);
+        if (sha256 == null) {
+            return;
+        }
+        synchronized (this) {
+            DocumentMetadataXmlEntity stored = read(sha256);
+            if (stored != null && stored.isPasswordRequired()) {
+                return;
+            }
+            // nothing but the flag is known about a document which can't be opened
+            DocumentMetadataXmlEntity entity = copy(documentGuid, null);
+            entity.setPasswordRequired(true);
+            write(sha256, entity);
+        }
+    }
+
+    /**
+     * Schedule loading metadata of the uploaded document
+     *
+     * @param documentGuid path to document
+     */
+    public void fill(String documentGuid) {
+        if (isEnabled()) {
+            schedule(documentGuid, () -> load(documentGuid));
+        }
+    }
+
+    /**
+     * Run the task on the metadata thread unless a task for the document is waiting already,
+     * loading the metadata hashes the document too
+     *
+     * @param documentGuid path to document
+     * @param task         task to run
+     */
+    private void schedule(String documentGuid, Runnable task) {
+        if (!scheduledDocuments.add(documentGuid)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    scheduledDocuments.remove(documentGuid);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // too many documents are waiting already, it is tried again when the document is opened
+            scheduledDocuments.remove(documentGuid);
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            // metadata is saved next time the document is opened
+            logger.debug("Document metadata queue is full", ex);
+        }
+    }
+
+    private void load(String documentGuid) {
+        String sha256 = getContentHash(documentGuid);
+        DocumentMetadataXmlEntity stored = sha256 == null ? null : read(sha256);
+        if (stored != null && (stored.isPasswordRequired() || stored.getPages().size() == stored.getPageCount())) {
+            return;
+        }
+        SignatureHandler signatureHandler = signatureHandlerPool.tryBorrow();
+        if (signatureHandler == null) {
+            // all handlers serve users right now
+            return;
+        }
+        String format = SignatureMetrics.format(documentGuid);
+        try {
+            DocumentDescription documentDescription = SignatureMetrics.timeCall(ENGINE_DESCRIPTION,
+                    () -> signatureHandler.getDocumentDescription(documentGuid, null), FORMAT, format);
+            int pageCount = documentDescription.getPageCount();
+            Map<Integer, Dimension> pageSizes = new HashMap<>();
+            for (int pageNumber = 1; pageNumber <= pageCount; pageNumber++) {
+                int page = pageNumber;
+                pageSizes.put(page, SignatureMetrics.timeCall(ENGINE_PAGE_SIZE,
+                        () -> signatureHandler.getDocumentPageSize(documentGuid, page, null, (double) 0, (double) 0, null), FORMAT, format));
+            }
+            saveLoaded(documentGuid, pageCount, pageSizes);
+        } catch (IncorrectPasswordException | InvalidPasswordException | com.groupdocs.signature.internal.c.a.pd.exceptions.InvalidPasswordException ex) {
+            savePasswordRequiredLoaded(documentGuid);
+        } catch (Exception ex) {
+            logger.debug("Can not load metadata of {}", documentGuid, ex);
+        } finally {
+            signatureHandlerPool.release(signatureHandler);
+        }
+    }
+
+    private String getContentHash(String documentGuid) {
+        File file = new File(documentGuid);
+        if (!isEnabled() || !file.isFile()) {
+            return null;
+        }
+        try {
+            return contentHashService.hash(file);
+        } catch (Exception ex) {
+            logger.warn("Can not hash document {}", documentGuid, ex);
+            return null;
+        }
+    }
+
+    private DocumentMetadataXmlEntity read(String sha256) {
+        DocumentMetadataXmlEntity entity = metadata.getIfPresent(sha256);
+        if (entity != null) {
+            return entity;
+        }
+        Path metadataFile = getMetadataFile(sha256);
+        if (!Files.isRegularFile(metadataFile)) {
+            return null;
+        }
+        try {
+            entity = new XMLReaderWriter<DocumentMetadataXmlEntity>().read(metadataFile.toString(), DocumentMetadataXmlEntity.class);
+            metadata.put(sha256, entity);
+            return entity;
+        } catch (Exception ex) {
+            // damaged metadata is written again when the document is opened
+            logger.warn("Can not read document metadata {}", metadataFile, ex);
+            return null;
+        }
+    }
+
+    private void write(String sha256, DocumentMetadataXmlEntity entity) {
+        Path metadataFile = getMetadataFile(sha256);
+        Path tempFile = metadataFile.resolveSibling(metadataFile.getFileName() + TEMP_FILE_SUFFIX);
+        try {
+            DefaultDirectories.makeDirs(metadataFile.getParent());
+            new XMLReaderWriter<DocumentMetadataXmlEntity>().write(tempFile.toString(), entity);
+            // readers of other instances never see a partially written file
+            try {
+                Files.move(tempFile, metadataFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tempFile, metadataFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            metadata.put(sha256, entity);
+        } catch (Exception ex) {
+            logger.warn("Can not write document metadata {}", metadataFile, ex);
+        }
+    }
+
+    private static DocumentMetadataXmlEntity copy(String documentGuid, DocumentMetadataXmlEntity stored) {
+        DocumentMetadataXmlEntity entity = new DocumentMetadataXmlEntity();
+        entity.setFormat(SignatureMetrics.format(documentGuid));
+        if (stored != null) {
+            entity.setPageCount(stored.getPageCount());
+            entity.setPasswordRequired(stored.isPasswordRequired());
+            entity.setPages(new ArrayList<>(stored.getPages()));
+        }
+        return entity;
+    }
+
+    private Path getMetadataFile(String sha256) {
+        return getMetadataPath().resolve(sha256 + XML_EXTENSION);
+    }
+
+    private Path getMetadataPath() {
+        return getFullDataPath(signatureConfiguration.getDataDirectory(), METADATA_DATA_DIRECTORY.getPath()).toAbsolutePath();
+    }
+}
@@ -0,0 +1,278 @@
+package com.groupdocs.ui.signature.service;
+
+import com.groupdocs.signature.handler.SignatureHandler;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import com.groupdocs.ui.signature.cache.PageImageCache;
+import com.groupdocs.ui.signature.cache.PageImageKey;
+import com.groupdocs.ui.signature.cache.PageThumbnailCache;
+import com.groupdocs.ui.signature.cache.PageThumbnailKey;
+import com.groupdocs.ui.signature.metrics.SignatureMetrics;
+import com.groupdocs.ui.signature.model.xml.DocumentMetadataXmlEntity;
+import org.apache.commons.io.FilenameUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static com.groupdocs.ui.signature.metrics.SignatureMetrics.*;
+import static com.groupdocs.ui.signature.service.SignatureServiceImpl.PAGE_RESOLUTION;
+
+/**
+ * DocumentPrerenderer
+ * Renders first pages of new documents and their thumbnails into the page caches before anybody opens them.
+ * Documents are taken on upload and, if configured, when they appear in the files directory.
+ * Runs on a single low priority thread which steps aside for users: a page is rendered only when
+ * no request waits for a signature handler or a render thread, and the handler is returned after each page.
+ */
+@Component
+public class DocumentPrerenderer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentPrerenderer.class);
+
+    private static final int QUEUE_SIZE = 64;
+    // pause while users keep the engine busy
+    private static final long BUSY_DELAY_MS = 200;
+    // file which is still being written is not opened, watched files are reported before they are complete
+    private static final long QUIET_PERIOD_MS = 1000;
+    private static final String TEMP_FILE_EXTENSION = "tmp";
+
+    @Autowired
+    private SignatureConfiguration signatureConfiguration;
+    @Autowired
+    private SignatureHandlerPool signatureHandlerPool;
+    @Autowired
+    private PageRenderExecutor pageRenderExecutor;
+    @Autowired
+    private PageImageCache pageImageCache;
+    @Autowired
+    private PageThumbnailCache pageThumbnailCache;
+    @Autowired
+    private PageThumbnailRenderer pageThumbnailRenderer;
+    @Autowired
+    private DocumentMetadataStore documentMetadataStore;
+
+    private ThreadPoolExecutor executor;
+    private WatchService watchService;
+    private final Set<String> scheduledDocuments = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    @PostConstruct
+    public void init() {
+        if (!isEnabled()) {
+            return;
+        }
+        executor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_SIZE),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "document-prerender");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        if (Boolean.TRUE.equals(signatureConfiguration.getPrerenderWatchFilesDirectory())) {
+            startWatching(Paths.get(signatureConfiguration.getFilesDirectory()).toAbsolutePath());
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ex) {
+                logger.debug("Can not close files directory watcher", ex);
+            }
+        }
+    }
+
+    /**
+     * Check if documents are prerendered
+     *
+     * @return true if the number of prerendered pages is configured
+     */
+    public boolean isEnabled() {
+        Integer prerenderPageCount = signatureConfiguration.getPrerenderPageCount();
+        return prerenderPageCount != null && prerenderPageCount > 0;
+    }
+
+    /**
+     * Schedule rendering of the first pages of the document
+     *
+     * @param documentGuid path to document
+     */
+    public void prerender(String documentGuid) {
+        if (!isEnabled()) {
+            return;
+        }
+        String absolutePath = new File(documentGuid).getAbsolutePath();
+        if (!scheduledDocuments.add(absolutePath)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    render(absolutePath);
+                } finally {
+                    scheduledDocuments.remove(absolutePath);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // too many documents are waiting already, pages are rendered when the document is opened
+            scheduledDocuments.remove(absolutePath);
+        }
+    }
+
+    /**
+     * Get number of documents waiting to be prerendered
+     *
+     * @return number of waiting documents
+     */
+    public int getQueueSize() {
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    private void render(String documentGuid) {
+        File file = new File(documentGuid);
+        try {
+            waitUntilWritten(file);
+            int pageCount = getPageCount(documentGuid);
+            int lastPage = Math.min(pageCount, signatureConfiguration.getPrerenderPageCount());
+            for (int pageNumber = 1; pageNumber <= lastPage; pageNumber++) {
+                PageImageKey key = PageImageKey.of(documentGuid, pageNumber, PAGE_RESOLUTION);
+                if (key == null) {
+                    // removed or replaced meanwhile
+                    return;
+                }
+                if (!pageImageCache.contains(key)) {
+                    renderPage(documentGuid, pageNumber);
+                }
+                PageThumbnailKey thumbnailKey = PageThumbnailKey.of(documentGuid, pageNumber, pageThumbnailRenderer.getSize(), null);
+                if (thumbnailKey != null && !pageThumbnailCache.contains(thumbnailKey)) {
+                    renderThumbnail(documentGuid, pageNumber);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            // password protected and broken documents are rendered when they are opened
+            logger.debug("Can not prerender {}", documentGuid, ex);
+        }
+    }
+
+    private void waitUntilWritten(File file) throws InterruptedException {
+        long quietTime;
+        while (file.isFile() && (quietTime = System.currentTimeMillis() - file.lastModified()) < QUIET_PERIOD_MS) {
+            Thread.sleep(QUIET_PERIOD_MS - quietTime);
+        }
+    }
+
+    private int getPageCount(String documentGuid) throws Exception {
+        DocumentMetadataXmlEntity metadata = documentMetadataStore.get(documentGuid);
+        if (metadata != null) {
+            return metadata.isPasswordRequired() ? 0 : metadata.getPageCount();
+        }
+        SignatureHandler signatureHandler = borrowFreeHandler();
+        try {
+            return SignatureMetrics.timeCall(ENGINE_DESCRIPTION,
+                    () -> signatureHandler.getDocumentDescription(documentGuid, null), FORMAT, SignatureMetrics.format(documentGuid)).getPageCount();
+        } finally {
+            signatureHandlerPool.release(signatureHandler);
+        }
+    }
+
+    private void renderPage(String documentGuid, int pageNumber) throws Exception {
+        SignatureHandler signatureHandler = borrowFreeHandler();
+        try {
+            // user request of the page while it is rendered here waits for this render
+            pageImageCache.getPageImage(documentGuid, pageNumber, PAGE_RESOLUTION, () -> SignatureMetrics.timeCall(ENGINE_PAGE_IMAGE,
+                    () -> signatureHandler.getPageImage(documentGuid, pageNumber, null, null, PAGE_RESOLUTION), FORMAT, SignatureMetrics.format(documentGuid)));
+        } finally {
+            signatureHandlerPool.release(signatureHandler);
+        }
+    }
+
+    private void renderThumbnail(String documentGuid, int pageNumber) throws Exception {
+        SignatureHandler signatureHandler = borrowFreeHandler();
+        try {
+            pageThumbnailRenderer.getThumbnail(signatureHandler, documentGuid, pageNumber, null);
+        } finally {
+            signatureHandlerPool.release(signatureHandler);
+        }
+    }
+
+    /**
+     * Wait until users don't need the engine and take a free signature handler
+     *
+     * @return signature handler which must be returned into the pool
+     * @throws InterruptedException
+     */
+    private SignatureHandler borrowFreeHandler() throws InterruptedException {
+        while (true) {
+            if (signatureHandlerPool.getWaitingCount() == 0 && pageRenderExecutor.getQueueSize() == 0) {
+                SignatureHandler signatureHandler = signatureHandlerPool.tryBorrow();
+                if (signatureHandler != null) {
+                    return signatureHandler;
+                }
+            }
+            Thread.sleep(BUSY_DELAY_MS);
+        }
+    }
+
+    private void startWatching(Path directory) {
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException ex) {
+            logger.error("Can not watch files directory {}", directory, ex);
+            return;
+        }
+        Thread thread = new Thread(() -> watch(directory), "files-directory-watch");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void watch(Path directory) {
+        while (true) {
+            WatchKey watchKey;
+            try {
+                watchKey = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException ex) {
+                return;
+            }
+            for (WatchEvent<?> event : watchKey.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    continue;
+                }
+                Path file = directory.resolve((Path) event.context());
+                if (isDocument(file)) {
+                    documentMetadataStore.fill(file.toString());
+                    prerender(file.toString());
+                }
+            }
+            if (!watchKey.reset()) {
+                logger.warn("Files directory {} is not watched anymore", directory);
+                return;
+            }
+        }
+    }
+
+    private static boolean isDocument(Path file) {
+        String fileName = file.getFileName().toString();
+        String extension = FilenameUtils.getExtension(fileName);
+        // hidden files include temporary files of uploads and of the content storage
+        return !fileName.startsWith(".") && !extension.isEmpty() && !TEMP_FILE_EXTENSION.equalsIgnoreCase(extension)
+                && Files.isRegularFile(file);
+    }
+}
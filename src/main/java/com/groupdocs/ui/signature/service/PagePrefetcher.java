@@ -0,0 +1,153 @@
+package com.groupdocs.ui.signature.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.groupdocs.signature.handler.SignatureHandler;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import com.groupdocs.ui.signature.cache.PageImageCache;
+import com.groupdocs.ui.signature.cache.PageImageKey;
+import com.groupdocs.ui.signature.metrics.SignatureMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static com.groupdocs.ui.signature.metrics.SignatureMetrics.ENGINE_PAGE_IMAGE;
+import static com.groupdocs.ui.signature.metrics.SignatureMetrics.FORMAT;
+import static com.groupdocs.ui.signature.service.SignatureServiceImpl.PAGE_RESOLUTION;
+
+/**
+ * PagePrefetcher
+ * Renders pages which the user is likely to open next into the page images cache.
+ * Runs on a single low priority thread and uses a signature handler only if one is free right now,
+ * so prefetching never delays requests of the users. Pages which can't be prefetched are skipped.
+ */
+@Component
+public class PagePrefetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PagePrefetcher.class);
+
+    private static final int QUEUE_SIZE = 256;
+    private static final int PAGE_COUNTS_SIZE = 1000;
+
+    @Autowired
+    private SignatureConfiguration signatureConfiguration;
+    @Autowired
+    private SignatureHandlerPool signatureHandlerPool;
+    @Autowired
+    private PageImageCache pageImageCache;
+
+    private ThreadPoolExecutor executor;
+    private final Set<PageImageKey> scheduledPages = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    // page counts of recently opened documents, pages loaded one by one don't come with the page count
+    private final Cache<String, Integer> pageCounts = CacheBuilder.newBuilder().maximumSize(PAGE_COUNTS_SIZE).build();
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_SIZE),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "page-prefetch");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Schedule rendering of the pages starting from the given page
+     *
+     * @param documentGuid path to document
+     * @param password     document password
+     * @param firstPage    first page to prefetch
+     * @param pageCount    number of pages in the document
+     */
+    public void prefetch(String documentGuid, String password, int firstPage, int pageCount) {
+        pageCounts.put(new File(documentGuid).getAbsolutePath(), pageCount);
+        Integer prefetchPageCount = signatureConfiguration.getPrefetchPageCount();
+        if (prefetchPageCount == null || prefetchPageCount <= 0) {
+            return;
+        }
+        int lastPage = Math.min(pageCount, firstPage + prefetchPageCount - 1);
+        for (int pageNumber = firstPage; pageNumber <= lastPage; pageNumber++) {
+            PageImageKey key = PageImageKey.of(documentGuid, pageNumber, PAGE_RESOLUTION, password);
+            if (key == null) {
+                return;
+            }
+            if (pageImageCache.contains(key) || !scheduledPages.add(key)) {
+                continue;
+            }
+            int page = pageNumber;
+            try {
+                executor.execute(() -> {
+                    try {
+                        render(documentGuid, password, page, key);
+                    } finally {
+                        scheduledPages.remove(key);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                // too many pages are waiting already, the page is rendered on demand
+                scheduledPages.remove(key);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Schedule rendering of the pages following the loaded page,
+     * does nothing if the document description was not loaded recently
+     *
+     * @param documentGuid path to document
+     * @param password     document password
+     * @param pageNumber   loaded page
+     */
+    public void prefetchAfter(String documentGuid, String password, int pageNumber) {
+        Integer pageCount = pageCounts.getIfPresent(new File(documentGuid).getAbsolutePath());
+        if (pageCount != null) {
+            prefetch(documentGuid, password, pageNumber + 1, pageCount);
+        }
+    }
+
+    private void render(String documentGuid, String password, int pageNumber, PageImageKey key) {
+        if (pageImageCache.contains(key)) {
+            return;
+        }
+        SignatureHandler signatureHandler = signatureHandlerPool.tryBorrow();
+        if (signatureHandler == null) {
+            // all handlers serve users right now
+            return;
+        }
+        try {
+            // a user request of the page while it is prefetched waits for this render
+            pageImageCache.getPageImage(documentGuid, pageNumber, PAGE_RESOLUTION, password, () -> SignatureMetrics.timeCall(ENGINE_PAGE_IMAGE,
+                    () -> signatureHandler.getPageImage(documentGuid, pageNumber, password, null, PAGE_RESOLUTION), FORMAT, SignatureMetrics.format(documentGuid)));
+        } catch (Exception ex) {
+            logger.debug("Can not prefetch page {} of {}", pageNumber, documentGuid, ex);
+        } finally {
+            signatureHandlerPool.release(signatureHandler);
+        }
+    }
+
+    /**
+     * Get number of prefetch tasks waiting to be rendered
+     *
+     * @return number of waiting tasks
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+}
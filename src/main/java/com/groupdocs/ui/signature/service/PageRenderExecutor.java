@@ -0,0 +1,191 @@
+package com.groupdocs.ui.signature.service;
+
+import com.groupdocs.signature.handler.SignatureHandler;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * PageRenderExecutor
+ * Processes pages of a document concurrently on a bounded thread pool shared by all documents.
+ * Each document uses at most the configured number of workers, so one huge document can't take all threads,
+ * and every worker uses its own signature handler from the pool.
+ */
+@Component
+public class PageRenderExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PageRenderExecutor.class);
+
+    private static final int QUEUE_SIZE_PER_THREAD = 16;
+
+    @Autowired
+    private SignatureConfiguration signatureConfiguration;
+    @Autowired
+    private SignatureHandlerPool signatureHandlerPool;
+
+    private ThreadPoolExecutor executor;
+    private int documentParallelism;
+
+    /**
+     * Task computing result for one page of the document
+     *
+     * @param <T> type of the page result
+     */
+    public interface PageTask<T> {
+        T process(SignatureHandler signatureHandler, int pageNumber) throws Exception;
+    }
+
+    @PostConstruct
+    public void init() {
+        Integer renderThreads = signatureConfiguration.getRenderThreads();
+        int threads = renderThreads == null || renderThreads <= 0 ? Runtime.getRuntime().availableProcessors() : renderThreads;
+        Integer parallelism = signatureConfiguration.getDocumentParallelism();
+        documentParallelism = parallelism == null || parallelism <= 0 ? 1 : parallelism;
+        final AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * QUEUE_SIZE_PER_THREAD),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "page-render-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        logger.info("Page render threads: {}, document parallelism: {}", threads, documentParallelism);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Process pages 1..pageCount concurrently and return results in page order.
+     * The calling thread works on pages too, using the signature handler it already holds,
+     * additional workers are started only while threads and signature handlers are available.
+     *
+     * @param signatureHandler signature handler of the calling thread
+     * @param pageCount        number of pages
+     * @param task             page task
+     * @param <T>              type of the page result
+     * @return results ordered by page number
+     * @throws Exception first exception thrown by the page task
+     */
+    public <T> List<T> processPages(SignatureHandler signatureHandler, int pageCount, PageTask<T> task) throws Exception {
+        return processPages(signatureHandler, 1, pageCount, task);
+    }
+
+    /**
+     * Process pages firstPage..lastPage concurrently and return results in page order
+     *
+     * @param signatureHandler signature handler of the calling thread
+     * @param firstPage        first page number
+     * @param lastPage         last page number
+     * @param task             page task
+     * @param <T>              type of the page result
+     * @return results ordered by page number
+     * @throws Exception first exception thrown by the page task
+     */
+    public <T> List<T> processPages(SignatureHandler signatureHandler, int firstPage, int lastPage, PageTask<T> task) throws Exception {
+        int pageCount = lastPage - firstPage + 1;
+        if (pageCount <= 0) {
+            return new ArrayList<>();
+        }
+        Object[] results = new Object[pageCount];
+        AtomicInteger nextPage = new AtomicInteger(firstPage);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        List<Future<?>> workers = new ArrayList<>();
+        List<AtomicBoolean> workersStarted = new ArrayList<>();
+        int additionalWorkers = Math.min(documentParallelism, pageCount) - 1;
+        for (int i = 0; i < additionalWorkers; i++) {
+            AtomicBoolean started = new AtomicBoolean();
+            try {
+                workers.add(executor.submit(() -> {
+                    if (started.compareAndSet(false, true)) {
+                        runPooledWorker(firstPage, lastPage, task, results, nextPage, failure);
+                    }
+                }));
+                workersStarted.add(started);
+            } catch (RejectedExecutionException ex) {
+                // all threads are busy and the queue is full, the calling thread processes the pages itself
+                break;
+            }
+        }
+        runWorker(signatureHandler, firstPage, lastPage, task, results, nextPage, failure);
+
+        for (int i = 0; i < workers.size(); i++) {
+            Future<?> worker = workers.get(i);
+            if (workersStarted.get(i).compareAndSet(false, true)) {
+                // worker has not started yet and is not needed anymore
+                worker.cancel(false);
+                continue;
+            }
+            try {
+                worker.get();
+            } catch (ExecutionException ex) {
+                failure.compareAndSet(null, ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex);
+            }
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        List<T> pages = new ArrayList<>(pageCount);
+        for (Object result : results) {
+            pages.add((T) result);
+        }
+        return pages;
+    }
+
+    private <T> void runPooledWorker(int firstPage, int lastPage, PageTask<T> task, Object[] results, AtomicInteger nextPage, AtomicReference<Exception> failure) {
+        SignatureHandler signatureHandler = signatureHandlerPool.tryBorrow();
+        if (signatureHandler == null) {
+            // no free handlers, the remaining workers process the pages
+            return;
+        }
+        try {
+            runWorker(signatureHandler, firstPage, lastPage, task, results, nextPage, failure);
+        } finally {
+            signatureHandlerPool.release(signatureHandler);
+        }
+    }
+
+    private <T> void runWorker(SignatureHandler signatureHandler, int firstPage, int lastPage, PageTask<T> task, Object[] results, AtomicInteger nextPage, AtomicReference<Exception> failure) {
+        int pageNumber;
+        while (failure.get() == null && (pageNumber = nextPage.getAndIncrement()) <= lastPage) {
+            try {
+                results[pageNumber - firstPage] = task.process(signatureHandler, pageNumber);
+            } catch (Exception ex) {
+                failure.compareAndSet(null, ex);
+            }
+        }
+    }
+
+    /**
+     * Get number of page tasks waiting for a render thread
+     *
+     * @return number of waiting tasks
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Get number of render threads working on pages
+     *
+     * @return number of active threads
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+}
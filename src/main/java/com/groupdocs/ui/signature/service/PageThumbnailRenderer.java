@@ -0,0 +1,188 @@
+package com.groupdocs.ui.signature.service;
+
+import com.groupdocs.signature.handler.SignatureHandler;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import com.groupdocs.ui.signature.cache.DocumentSessionCache;
+import com.groupdocs.ui.signature.cache.PageSpriteKey;
+import com.groupdocs.ui.signature.cache.PageThumbnailCache;
+import com.groupdocs.ui.signature.cache.PageThumbnailKey;
+import com.groupdocs.ui.signature.metrics.SignatureMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static com.groupdocs.ui.signature.metrics.SignatureMetrics.*;
+import static com.groupdocs.ui.signature.service.SignatureServiceImpl.PAGE_RESOLUTION;
+import static com.groupdocs.ui.signature.service.SignatureServiceImpl.PNG;
+import static com.groupdocs.ui.util.Utils.downscaleImage;
+
+/**
+ * PageThumbnailRenderer
+ * Renders page thumbnails for the page navigation. A page is rendered at the lowest resolution which still
+ * covers the thumbnail size and then downscaled, so a thumbnail costs a fraction of the full page render.
+ * Sprite sheets put thumbnails of up to SPRITE_PAGES pages into a grid of SPRITE_COLUMNS columns,
+ * every thumbnail is centered in its cell of the thumbnail size.
+ * Thumbnails and sprite sheets of password protected documents are cached by the password hash like full pages.
+ */
+@Component
+public class PageThumbnailRenderer {
+
+    /**
+     * Number of pages in one sprite sheet and number of columns of the sheet
+     */
+    public static final int SPRITE_PAGES = 100;
+    public static final int SPRITE_COLUMNS = 10;
+
+    private static final int DEFAULT_SIZE = 120;
+    private static final int MIN_RESOLUTION = 10;
+
+    @Autowired
+    private SignatureConfiguration signatureConfiguration;
+    @Autowired
+    private SignatureHandlerPool signatureHandlerPool;
+    @Autowired
+    private PageRenderExecutor pageRenderExecutor;
+    @Autowired
+    private PageThumbnailCache pageThumbnailCache;
+    @Autowired
+    private DocumentSessionCache documentSessionCache;
+
+    /**
+     * Get maximum width and height of thumbnails
+     *
+     * @return thumbnail size in pixels
+     */
+    public int getSize() {
+        Integer pageThumbnailSize = signatureConfiguration.getPageThumbnailSize();
+        return pageThumbnailSize == null || pageThumbnailSize <= 0 ? DEFAULT_SIZE : pageThumbnailSize;
+    }
+
+    /**
+     * Get thumbnail of the page, signature handler is borrowed only if the thumbnail is not cached
+     *
+     * @param documentGuid path to document
+     * @param pageNumber   page number
+     * @param password     document password
+     * @return thumbnail in PNG format
+     * @throws Exception
+     */
+    public byte[] getThumbnail(String documentGuid, int pageNumber, String password) throws Exception {
+        int size = getSize();
+        return pageThumbnailCache.getImage(PageThumbnailKey.of(documentGuid, pageNumber, size, password), signatureHandlerPool,
+                signatureHandler -> render(signatureHandler, documentGuid, pageNumber, password, size));
+    }
+
+    /**
+     * Get thumbnail of the page
+     *
+     * @param signatureHandler signature handler
+     * @param documentGuid     path to document
+     * @param pageNumber       page number
+     * @param password         document password
+     * @return thumbnail in PNG format
+     * @throws Exception
+     */
+    public byte[] getThumbnail(SignatureHandler signatureHandler, String documentGuid, int pageNumber, String password) throws Exception {
+        int size = getSize();
+        return pageThumbnailCache.getImage(PageThumbnailKey.of(documentGuid, pageNumber, size, password),
+                () -> render(signatureHandler, documentGuid, pageNumber, password, size));
+    }
+
+    /**
+     * Get sprite sheet with thumbnails of the pages, missing thumbnails are rendered concurrently
+     *
+     * @param signatureHandler signature handler
+     * @param documentGuid     path to document
+     * @param spriteNumber     number of the sprite sheet starting from 0
+     * @param pageCount        number of pages in the document
+     * @param password         document password
+     * @return sprite sheet in PNG format
+     * @throws Exception
+     */
+    public byte[] getSprite(SignatureHandler signatureHandler, String documentGuid, int spriteNumber, int pageCount, String password) throws Exception {
+        int size = getSize();
+        int firstPage = spriteNumber * SPRITE_PAGES + 1;
+        int lastPage = Math.min(pageCount, firstPage + SPRITE_PAGES - 1);
+        return pageThumbnailCache.getImage(PageSpriteKey.of(documentGuid, spriteNumber, size, password), () -> {
+            List<byte[]> thumbnails = pageRenderExecutor.processPages(signatureHandler, firstPage, lastPage,
+                    (handler, pageNumber) -> getThumbnail(handler, documentGuid, pageNumber, password));
+            return composeSprite(thumbnails, size);
+        });
+    }
+
+    /**
+     * Get number of sprite sheets of the document
+     *
+     * @param pageCount number of pages in the document
+     * @return number of sprite sheets
+     */
+    public static int getSpriteCount(int pageCount) {
+        return (pageCount + SPRITE_PAGES - 1) / SPRITE_PAGES;
+    }
+
+    private byte[] render(SignatureHandler signatureHandler, String documentGuid, int pageNumber, String password, int size) throws Exception {
+        String format = SignatureMetrics.format(documentGuid);
+        Dimension pageSize = documentSessionCache.getPageSize(documentGuid, password, pageNumber, () -> SignatureMetrics.timeCall(ENGINE_PAGE_SIZE,
+                () -> signatureHandler.getDocumentPageSize(documentGuid, pageNumber, password, (double) 0, (double) 0, null), FORMAT, format));
+        int resolution = getResolution(pageSize, size);
+        byte[] pageImage = SignatureMetrics.timeCall(ENGINE_PAGE_IMAGE,
+                () -> signatureHandler.getPageImage(documentGuid, pageNumber, password, null, resolution), FORMAT, format);
+        return downscaleImage(pageImage, size);
+    }
+
+    /**
+     * Get the lowest resolution at which the page is not smaller than the thumbnail,
+     * page sizes are measured at the resolution of full pages
+     *
+     * @param pageSize page size
+     * @param size     thumbnail size
+     * @return render resolution
+     */
+    static int getResolution(Dimension pageSize, int size) {
+        int longSide = Math.max(pageSize.width, pageSize.height);
+        if (longSide <= 0) {
+            return PAGE_RESOLUTION;
+        }
+        int resolution = (int) Math.ceil((double) PAGE_RESOLUTION * size / longSide);
+        return Math.max(MIN_RESOLUTION, Math.min(PAGE_RESOLUTION, resolution));
+    }
+
+    /**
+     * Put thumbnails into a grid, each one centered in its cell
+     *
+     * @param thumbnails thumbnails in page order
+     * @param size       thumbnail size
+     * @return sprite sheet in PNG format
+     * @throws IOException
+     */
+    static byte[] composeSprite(List<byte[]> thumbnails, int size) throws IOException {
+        int columns = Math.max(1, Math.min(SPRITE_COLUMNS, thumbnails.size()));
+        int rows = Math.max(1, (thumbnails.size() + columns - 1) / columns);
+        BufferedImage sprite = new BufferedImage(columns * size, rows * size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = sprite.createGraphics();
+        try {
+            for (int i = 0; i < thumbnails.size(); i++) {
+                BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(thumbnails.get(i)));
+                if (thumbnail == null) {
+                    continue;
+                }
+                int left = i % columns * size + Math.max(0, size - thumbnail.getWidth()) / 2;
+                int top = i / columns * size + Math.max(0, size - thumbnail.getHeight()) / 2;
+                g2d.drawImage(thumbnail, left, top, null);
+            }
+        } finally {
+            g2d.dispose();
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(sprite, PNG, outputStream);
+        return outputStream.toByteArray();
+    }
+}
@@ -10,6 +10,9 @@ import com.groupdocs.ui.exception.TotalGroupDocsException;
 import com.groupdocs.ui.model.response.FileDescriptionEntity;
 import com.groupdocs.ui.signature.SignatureConfiguration;
 import com.groupdocs.ui.signature.XMLReaderWriter;
+import com.groupdocs.ui.signature.cache.SignatureTemplateCache;
+import com.groupdocs.ui.signature.metrics.SignatureMetrics;
+import com.groupdocs.ui.signature.library.SignatureLibraryIndex;
 import com.groupdocs.ui.signature.model.request.SaveImageRequest;
 import com.groupdocs.ui.signature.model.request.SaveOpticalCodeRequest;
 import com.groupdocs.ui.signature.model.request.SaveStampRequest;
@@ -26,7 +29,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import javax.annotation.PostConstruct;
 import javax.imageio.ImageIO;
 import javax.xml.bind.JAXBException;
 import java.awt.image.BufferedImage;
@@ -36,8 +38,9 @@ import java.nio.file.Files;
 import java.util.Base64;
 import java.util.List;
 
-import static com.groupdocs.ui.signature.SignatureType.QR_CODE;
-import static com.groupdocs.ui.signature.service.SignatureHandlerFactory.createStreamHandler;
+import static com.groupdocs.ui.signature.SignatureType.*;
+import static com.groupdocs.ui.signature.metrics.SignatureMetrics.SAVE;
+import static com.groupdocs.ui.signature.metrics.SignatureMetrics.TYPE;
 import static com.groupdocs.ui.signature.service.SignatureHandlerFactory.getFullDataPathStr;
 import static com.groupdocs.ui.util.Utils.getBufferedImage;
 import static com.groupdocs.ui.util.Utils.getFileWithUniqueName;
@@ -50,20 +53,24 @@ public class SaveSignatureServiceImpl implements SaveSignatureService {
     public static final String PNG = "png";
     public static final String XML = "xml";
 
-    private SignatureHandler signatureHandler;
     @Autowired
     private SignatureConfiguration signatureConfiguration;
-
-    @PostConstruct
-    public void init() {
-        signatureHandler = SignatureHandlerFactory.createHandler(signatureConfiguration.getFilesDirectory(), signatureConfiguration.getDataDirectory());
-    }
+    @Autowired
+    private SignatureHandlerPool signatureHandlerPool;
+    @Autowired
+    private SignatureLibraryIndex signatureLibraryIndex;
+    @Autowired
+    private SignatureTemplateCache signatureTemplateCache;
 
     /**
      * {@inheritDoc}
      */
     @Override
     public FileDescriptionEntity saveStamp(SaveStampRequest saveStampRequest) {
+        return SignatureMetrics.time(SAVE, () -> writeStamp(saveStampRequest), TYPE, STAMP);
+    }
+
+    private FileDescriptionEntity writeStamp(SaveStampRequest saveStampRequest) {
         String previewPath = getFullDataPathStr(signatureConfiguration.getDataDirectory(), STAMP_DATA_DIRECTORY.getPreviewPath());
         String xmlPath = getFullDataPathStr(signatureConfiguration.getDataDirectory(), STAMP_DATA_DIRECTORY.getXMLPath());
         try {
@@ -71,15 +78,16 @@ public class SaveSignatureServiceImpl implements SaveSignatureService {
             String encodedImage = saveStampRequest.getImage().replace("data:image/png;base64,", "");
             List<StampXmlEntity> stampData = saveStampRequest.getStampData();
 
-            File file = getFileWithUniqueName(previewPath, "", PNG);
             byte[] decodedImg = Base64.getDecoder().decode(encodedImage.getBytes(StandardCharsets.UTF_8));
-            Files.write(file.toPath(), decodedImg);
+            File file = getFileWithUniqueName(previewPath, "", PNG, imageFile -> Files.write(imageFile.toPath(), decodedImg));
             // stamp data to xml file saving
             StampXmlEntityList stampXmlEntityList = new StampXmlEntityList();
             stampXmlEntityList.setStampXmlEntityList(stampData);
             String xmlFileName = FilenameUtils.removeExtension(file.getName());
             String fileName = String.format("%s%s%s.xml", xmlPath, File.separator, xmlFileName);
             new XMLReaderWriter<StampXmlEntityList>().write(fileName, stampXmlEntityList);
+            signatureTemplateCache.invalidate(fileName);
+            signatureLibraryIndex.refresh(STAMP);
 
             FileDescriptionEntity savedImage = new FileDescriptionEntity();
             savedImage.setGuid(file.toPath().toString());
@@ -96,6 +104,10 @@ public class SaveSignatureServiceImpl implements SaveSignatureService {
      */
     @Override
     public OpticalXmlEntity saveOpticalCode(SaveOpticalCodeRequest saveOpticalCodeRequest) {
+        return SignatureMetrics.time(SAVE, () -> writeOpticalCode(saveOpticalCodeRequest), TYPE, SignatureMetrics.type(saveOpticalCodeRequest.getSignatureType()));
+    }
+
+    private OpticalXmlEntity writeOpticalCode(SaveOpticalCodeRequest saveOpticalCodeRequest) {
         OpticalXmlEntity signatureData = saveOpticalCodeRequest.getProperties();
         // initiate signature data wrapper with default values
         SignatureDataEntity signatureDataEntity = getSignatureDataEntity(270, 200);
@@ -111,6 +123,9 @@ public class SaveSignatureServiceImpl implements SaveSignatureService {
 
         SignatureDirectory dataDirectory = QR_CODE.equals(saveOpticalCodeRequest.getSignatureType()) ? QRCODE_DATA_DIRECTORY : BARCODE_DATA_DIRECTORY;
         String encodedImage = createAndSaveOpticalCode(signatureData, dataDirectory, collection);
+        if (!Boolean.TRUE.equals(signatureData.getTemp())) {
+            signatureLibraryIndex.refresh(saveOpticalCodeRequest.getSignatureType());
+        }
         signatureData.setEncodedImage(encodedImage);
         signatureData.setWidth(signatureDataEntity.getImageWidth());
         signatureData.setHeight(signatureDataEntity.getImageHeight());
@@ -141,7 +156,9 @@ public class SaveSignatureServiceImpl implements SaveSignatureService {
                 File file = writeImageFile(signatureData.getImageGuid(), previewPath, 200, 200);
                 String fileName = FilenameUtils.removeExtension(file.getName());
                 // Save data to xml file
-                new XMLReaderWriter<OpticalXmlEntity>().write(String.format("%s%s%s.xml", xmlPath, File.separator, fileName), signatureData);
+                String xmlFileName = String.format("%s%s%s.xml", xmlPath, File.separator, fileName);
+                new XMLReaderWriter<OpticalXmlEntity>().write(xmlFileName, signatureData);
+                signatureTemplateCache.invalidate(xmlFileName);
                 return signWithImageToFile(previewPath, signatureData, collection, file.toPath().toString());
             }
         } catch (Exception e) {
@@ -155,15 +172,26 @@ public class SaveSignatureServiceImpl implements SaveSignatureService {
      */
     @Override
     public TextXmlEntity saveText(SaveTextRequest saveTextRequest) {
+        return SignatureMetrics.time(SAVE, () -> writeText(saveTextRequest), TYPE, TEXT);
+    }
+
+    private TextXmlEntity writeText(SaveTextRequest saveTextRequest) {
         String xmlPath = getFullDataPathStr(signatureConfiguration.getDataDirectory(), TEXT_DATA_DIRECTORY.getXMLPath());
         TextXmlEntity signatureData = saveTextRequest.getProperties();
         try {
-            File file = getFileWithUniqueName(xmlPath, signatureData.getImageGuid(), XML);
             // Save data to xml file
+            File file = getFileWithUniqueName(xmlPath, signatureData.getImageGuid(), XML, xmlFile -> {
+                try {
+                    new XMLReaderWriter<TextXmlEntity>().write(xmlFile.getPath(), signatureData);
+                } catch (JAXBException ex) {
+                    throw new IOException(ex.getMessage(), ex);
+                }
+            });
             String fileName = String.format("%s%s%s.xml", xmlPath, File.separator, FilenameUtils.removeExtension(file.getName()));
-            new XMLReaderWriter<TextXmlEntity>().write(fileName, signatureData);
+            signatureTemplateCache.invalidate(fileName);
+            signatureLibraryIndex.refresh(TEXT);
             signatureData.setImageGuid(fileName);
-        } catch (JAXBException e) {
+        } catch (IOException e) {
             logger.error("Exception occurred while saving text signature", e);
             throw new TotalGroupDocsException(e.getMessage(), e);
         }
@@ -175,12 +203,16 @@ public class SaveSignatureServiceImpl implements SaveSignatureService {
      */
     @Override
     public FileDescriptionEntity saveImage(SaveImageRequest saveImageRequest) {
+        return SignatureMetrics.time(SAVE, () -> writeImage(saveImageRequest), TYPE, HAND);
+    }
+
+    private FileDescriptionEntity writeImage(SaveImageRequest saveImageRequest) {
         try {
             String dataDirectoryPath = getFullDataPathStr(signatureConfiguration.getDataDirectory(), IMAGE_DATA_DIRECTORY.getPath());
-            File file = getFileWithUniqueName(dataDirectoryPath, "", PNG);
             String encodedImage = saveImageRequest.getImage().replace("data:image/png;base64,", "");
             byte[] decodedImg = Base64.getDecoder().decode(encodedImage.getBytes(StandardCharsets.UTF_8));
-            Files.write(file.toPath(), decodedImg);
+            File file = getFileWithUniqueName(dataDirectoryPath, "", PNG, imageFile -> Files.write(imageFile.toPath(), decodedImg));
+            signatureLibraryIndex.refresh(HAND);
 
             FileDescriptionEntity savedImage = new FileDescriptionEntity();
             savedImage.setGuid(file.getAbsolutePath());
@@ -200,11 +232,11 @@ public class SaveSignatureServiceImpl implements SaveSignatureService {
      * @return
      */
     private File writeImageFile(String imageGuid, String previewPath, int width, int height) {
-        File file = getFileWithUniqueName(previewPath, imageGuid, PNG);
+        File file;
         try {
             BufferedImage bufImage = getBufferedImage(width, height);
             // save BufferedImage to file
-            ImageIO.write(bufImage, PNG, file);
+            file = getFileWithUniqueName(previewPath, imageGuid, PNG, imageFile -> ImageIO.write(bufImage, PNG, imageFile));
         } catch (Exception ex) {
             logger.error("Exception occurred while saving signatures image", ex);
             throw new TotalGroupDocsException(ex.getMessage(), ex);
@@ -220,11 +252,11 @@ public class SaveSignatureServiceImpl implements SaveSignatureService {
      * @return encoded image
      */
     private String signWithImageToStream(SignatureOptionsCollection collection, InputStream inputStream) {
+        SignatureHandler imgSignatureHandler = signatureHandlerPool.borrow();
         try {
             final SaveOptions saveOptions = new SaveOptions();
             saveOptions.setOutputType(OutputType.Stream);
             // sign generated image with signature
-            SignatureHandler<OutputStream> imgSignatureHandler = createStreamHandler();
             ByteArrayOutputStream bos = (ByteArrayOutputStream) imgSignatureHandler.sign(inputStream, collection, saveOptions);
             byte[] bytes = bos.toByteArray();
             // encode ByteArray into String
@@ -232,6 +264,8 @@ public class SaveSignatureServiceImpl implements SaveSignatureService {
         } catch (Exception ex) {
             logger.error("Exception occurred while saving optical code signature", ex);
             throw new TotalGroupDocsException(ex.getMessage(), ex);
+        } finally {
+            signatureHandlerPool.release(imgSignatureHandler);
         }
     }
 
@@ -245,6 +279,7 @@ public class SaveSignatureServiceImpl implements SaveSignatureService {
      * @return encoded image
      */
     private String signWithImageToFile(String previewPath, XmlEntityWithImage signatureData, SignatureOptionsCollection collection, String path) {
+        SignatureHandler signatureHandler = signatureHandlerPool.borrow();
         try {
             // set signing save options
             final SaveOptions saveOptions = new SaveOptions();
@@ -264,6 +299,8 @@ public class SaveSignatureServiceImpl implements SaveSignatureService {
         } catch (Exception ex) {
             logger.error("Exception occurred while saving optical code signature", ex);
             throw new TotalGroupDocsException(ex.getMessage(), ex);
+        } finally {
+            signatureHandlerPool.release(signatureHandler);
         }
     }
 
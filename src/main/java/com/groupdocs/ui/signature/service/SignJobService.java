@@ -0,0 +1,364 @@
+package com.groupdocs.ui.signature.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.groupdocs.ui.config.DefaultDirectories;
+import com.groupdocs.ui.exception.TotalGroupDocsException;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import com.groupdocs.ui.signature.model.request.SignDocumentRequest;
+import com.groupdocs.ui.signature.model.web.SignJobEntity;
+import com.groupdocs.ui.signature.model.web.SignedDocumentEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.groupdocs.ui.signature.service.SignatureHandlerFactory.getFullDataPath;
+import static com.groupdocs.ui.util.directory.SignatureDirectory.JOBS_DATA_DIRECTORY;
+
+/**
+ * SignJobService
+ * Signs documents in the background, so request threads are not held while big documents are signed.
+ * Jobs run on a bounded thread pool, finished jobs are kept for a while to let clients get the result.
+ * Waiting jobs may be stored in the data directory, then they are submitted again after restart.
+ * A job which was running when the service stopped is reported as failed and not run again,
+ * signing overwrites the document, so running it twice could sign the document twice.
+ * Jobs of password protected documents are never stored, the password is not written to disk.
+ */
+@Component
+public class SignJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignJobService.class);
+
+    private static final String JOB_FILE_EXTENSION = ".json";
+    private static final int FINISHED_JOBS_SIZE = 1000;
+    private static final long FINISHED_JOBS_EXPIRATION_MINUTES = 60;
+
+    @Autowired
+    private SignatureConfiguration signatureConfiguration;
+    @Autowired
+    private SignService signService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ThreadPoolExecutor executor;
+    private final ConcurrentMap<String, SignJobEntity> activeJobs = new ConcurrentHashMap<>();
+    private final Cache<String, SignJobEntity> finishedJobs = CacheBuilder.newBuilder()
+            .maximumSize(FINISHED_JOBS_SIZE)
+            .expireAfterWrite(FINISHED_JOBS_EXPIRATION_MINUTES, TimeUnit.MINUTES)
+            .build();
+
+    /**
+     * Job stored in the data directory until it is finished
+     */
+    static class StoredSignJob {
+        private String id;
+        private long submitted;
+        private long started;
+        private SignDocumentRequest request;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public long getSubmitted() {
+            return submitted;
+        }
+
+        public void setSubmitted(long submitted) {
+            this.submitted = submitted;
+        }
+
+        public long getStarted() {
+            return started;
+        }
+
+        public void setStarted(long started) {
+            this.started = started;
+        }
+
+        public SignDocumentRequest getRequest() {
+            return request;
+        }
+
+        public void setRequest(SignDocumentRequest request) {
+            this.request = request;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        Integer signJobThreads = signatureConfiguration.getSignJobThreads();
+        int threads = signJobThreads == null || signJobThreads <= 0 ? 1 : signJobThreads;
+        Integer signJobQueueSize = signatureConfiguration.getSignJobQueueSize();
+        int queueSize = signJobQueueSize == null || signJobQueueSize <= 0 ? 1 : signJobQueueSize;
+        final AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sign-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        if (isPersistent()) {
+            DefaultDirectories.makeDirs(getJobsPath());
+            resumeStoredJobs();
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        // stored jobs which have not started yet are submitted again after restart
+        executor.shutdownNow();
+    }
+
+    /**
+     * Submit sign job
+     *
+     * @param signDocumentRequest sign request
+     * @return state of the queued job
+     */
+    public SignJobEntity submit(SignDocumentRequest signDocumentRequest) {
+        StoredSignJob storedJob = new StoredSignJob();
+        storedJob.setId(UUID.randomUUID().toString());
+        storedJob.setSubmitted(System.currentTimeMillis());
+        storedJob.setRequest(signDocumentRequest);
+        if (isStored(storedJob)) {
+            store(storedJob);
+        }
+        try {
+            return snapshot(enqueue(storedJob));
+        } catch (RejectedExecutionException ex) {
+            deleteStored(storedJob.getId());
+            throw new TotalGroupDocsException("Too many documents are waiting for signing, try again later", ex);
+        }
+    }
+
+    /**
+     * Get state of the sign job
+     *
+     * @param jobId id of the job
+     * @return state of the job
+     */
+    public SignJobEntity getJob(String jobId) {
+        SignJobEntity job = activeJobs.get(jobId);
+        if (job == null) {
+            job = finishedJobs.getIfPresent(jobId);
+        }
+        if (job == null) {
+            throw new TotalGroupDocsException("Sign job " + jobId + " is not found");
+        }
+        return snapshot(job);
+    }
+
+    /**
+     * Get result of the finished sign job
+     *
+     * @param jobId id of the job
+     * @return signed document
+     */
+    public SignedDocumentEntity getResult(String jobId) {
+        SignJobEntity job = getJob(jobId);
+        if (SignJobEntity.FAILED.equals(job.getStatus())) {
+            throw new TotalGroupDocsException(job.getError());
+        }
+        if (!SignJobEntity.DONE.equals(job.getStatus())) {
+            throw new TotalGroupDocsException("Sign job " + jobId + " is not finished yet");
+        }
+        return job.getResult();
+    }
+
+    private SignJobEntity enqueue(StoredSignJob storedJob) {
+        SignJobEntity job = new SignJobEntity();
+        job.setId(storedJob.getId());
+        job.setGuid(storedJob.getRequest().getGuid());
+        job.setStatus(SignJobEntity.QUEUED);
+        job.setSubmitted(storedJob.getSubmitted());
+        activeJobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, storedJob));
+        } catch (RejectedExecutionException ex) {
+            activeJobs.remove(job.getId());
+            throw ex;
+        }
+        return job;
+    }
+
+    private void run(SignJobEntity job, StoredSignJob storedJob) {
+        long started = System.currentTimeMillis();
+        synchronized (job) {
+            job.setStatus(SignJobEntity.RUNNING);
+            job.setStarted(started);
+            job.setQueueTime(started - job.getSubmitted());
+        }
+        SignedDocumentEntity result = null;
+        String error = null;
+        try {
+            if (isStored(storedJob)) {
+                // the job is marked as started before the document is touched, restart doesn't run it again
+                storedJob.setStarted(started);
+                store(storedJob);
+            }
+            result = signService.sign(storedJob.getRequest());
+        } catch (Exception ex) {
+            logger.error("Sign job {} of {} failed", job.getId(), job.getGuid(), ex);
+            error = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getName();
+        }
+        long finished = System.currentTimeMillis();
+        synchronized (job) {
+            job.setStatus(error == null ? SignJobEntity.DONE : SignJobEntity.FAILED);
+            job.setFinished(finished);
+            job.setSignTime(finished - started);
+            job.setResult(result);
+            job.setError(error);
+        }
+        finishedJobs.put(job.getId(), job);
+        activeJobs.remove(job.getId());
+        deleteStored(job.getId());
+    }
+
+    private SignJobEntity snapshot(SignJobEntity job) {
+        SignJobEntity copy = new SignJobEntity();
+        synchronized (job) {
+            copy.setId(job.getId());
+            copy.setGuid(job.getGuid());
+            copy.setStatus(job.getStatus());
+            copy.setSubmitted(job.getSubmitted());
+            copy.setStarted(job.getStarted());
+            copy.setFinished(job.getFinished());
+            copy.setQueueTime(job.getQueueTime());
+            copy.setSignTime(job.getSignTime());
+            copy.setResult(job.getResult());
+            copy.setError(job.getError());
+        }
+        return copy;
+    }
+
+    private void resumeStoredJobs() {
+        File[] files = getJobsPath().toFile().listFiles((dir, name) -> name.endsWith(JOB_FILE_EXTENSION));
+        if (files == null) {
+            return;
+        }
+        // keep order of submitting
+        StoredSignJob[] storedJobs = Arrays.stream(files)
+                .map(this::readStored)
+                .filter(storedJob -> storedJob != null)
+                .sorted(Comparator.comparingLong(StoredSignJob::getSubmitted))
+                .toArray(StoredSignJob[]::new);
+        int resumed = 0;
+        for (StoredSignJob storedJob : storedJobs) {
+            if (storedJob.getStarted() > 0) {
+                failInterrupted(storedJob);
+                continue;
+            }
+            try {
+                enqueue(storedJob);
+                resumed++;
+            } catch (RejectedExecutionException ex) {
+                logger.warn("Sign job queue is full, {} stored jobs wait for the next start", storedJobs.length - resumed);
+                break;
+            }
+        }
+        logger.info("Resumed {} stored sign jobs", resumed);
+    }
+
+    private void failInterrupted(StoredSignJob storedJob) {
+        logger.warn("Sign job {} of {} was interrupted by restart, it is not run again", storedJob.getId(), storedJob.getRequest().getGuid());
+        SignJobEntity job = new SignJobEntity();
+        job.setId(storedJob.getId());
+        job.setGuid(storedJob.getRequest().getGuid());
+        job.setStatus(SignJobEntity.FAILED);
+        job.setSubmitted(storedJob.getSubmitted());
+        job.setStarted(storedJob.getStarted());
+        job.setQueueTime(storedJob.getStarted() - storedJob.getSubmitted());
+        job.setError("Signing was interrupted by restart, the document may be signed already");
+        finishedJobs.put(job.getId(), job);
+        deleteStored(job.getId());
+    }
+
+    private StoredSignJob readStored(File file) {
+        try {
+            return objectMapper.readValue(file, StoredSignJob.class);
+        } catch (IOException ex) {
+            logger.error("Can not read stored sign job {}", file, ex);
+            return null;
+        }
+    }
+
+    private void store(StoredSignJob storedJob) {
+        Path jobFile = getJobFile(storedJob.getId());
+        Path tempFile = jobFile.resolveSibling(jobFile.getFileName() + ".tmp");
+        try {
+            // the job file is replaced atomically, so restart never finds a partially written job
+            objectMapper.writeValue(tempFile.toFile(), storedJob);
+            Files.move(tempFile, jobFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            logger.error("Exception occurred while storing sign job", ex);
+            throw new TotalGroupDocsException(ex.getMessage(), ex);
+        }
+    }
+
+    private void deleteStored(String jobId) {
+        if (!isPersistent()) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(getJobFile(jobId));
+        } catch (IOException ex) {
+            logger.warn("Can not delete stored sign job {}", jobId, ex);
+        }
+    }
+
+    private boolean isStored(StoredSignJob storedJob) {
+        return isPersistent() && StringUtils.isEmpty(storedJob.getRequest().getPassword());
+    }
+
+    private boolean isPersistent() {
+        return Boolean.TRUE.equals(signatureConfiguration.getPersistSignJobs());
+    }
+
+    private Path getJobFile(String jobId) {
+        return getJobsPath().resolve(jobId + JOB_FILE_EXTENSION);
+    }
+
+    private Path getJobsPath() {
+        return getFullDataPath(signatureConfiguration.getDataDirectory(), JOBS_DATA_DIRECTORY.getPath()).toAbsolutePath();
+    }
+
+    /**
+     * Get number of jobs waiting for a sign thread
+     *
+     * @return number of queued jobs
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Get number of jobs which are signed now
+     *
+     * @return number of running jobs
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+}
@@ -1,9 +1,11 @@
 package com.groupdocs.ui.signature.service;
 
+import com.groupdocs.ui.signature.model.request.SignBatchRequest;
 import com.groupdocs.ui.signature.model.request.SignDocumentRequest;
+import com.groupdocs.ui.signature.model.web.SignBatchEntity;
 import com.groupdocs.ui.signature.model.web.SignedDocumentEntity;
 
-import java.io.InputStream;
+import java.io.File;
 
 public interface SignService {
     /**
@@ -15,10 +17,26 @@ public interface SignService {
     SignedDocumentEntity sign(SignDocumentRequest signDocumentRequest);
 
     /**
-     * Sign document by stream
+     * Sign every document of the batch with the same signatures,
+     * documents are signed in parallel and the type of each document is defined by its extension
+     *
+     * @param signBatchRequest
+     * @return results of every document and throughput of the batch
+     */
+    SignBatchEntity signBatch(SignBatchRequest signBatchRequest);
+
+    /**
+     * Sign document into a temporary file, used for downloading signed document without saving it
      *
      * @param signDocumentRequest
-     * @return
+     * @return signed document, must be removed by deleteTempFile method after use
+     */
+    File signToTempFile(SignDocumentRequest signDocumentRequest);
+
+    /**
+     * Delete temporary signed document
+     *
+     * @param signedFile file created by signToTempFile method
      */
-    InputStream signByStream(SignDocumentRequest signDocumentRequest);
+    void deleteTempFile(File signedFile);
 }
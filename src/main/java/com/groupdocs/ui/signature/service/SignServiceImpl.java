@@ -1,36 +1,57 @@
 package com.groupdocs.ui.signature.service;
 
-import com.google.common.collect.Lists;
 import com.groupdocs.signature.handler.SignatureHandler;
 import com.groupdocs.signature.options.OutputType;
 import com.groupdocs.signature.options.SignatureOptionsCollection;
 import com.groupdocs.signature.options.loadoptions.LoadOptions;
 import com.groupdocs.signature.options.saveoptions.SaveOptions;
+import com.groupdocs.ui.config.DefaultDirectories;
 import com.groupdocs.ui.exception.TotalGroupDocsException;
 import com.groupdocs.ui.signature.SignatureConfiguration;
-import com.groupdocs.ui.signature.XMLReaderWriter;
+import com.groupdocs.ui.signature.cache.DocumentSessionCache;
+import com.groupdocs.ui.signature.cache.PageImageCache;
+import com.groupdocs.ui.signature.cache.PageThumbnailCache;
+import com.groupdocs.ui.signature.cache.SignatureTemplateCache;
+import com.groupdocs.ui.signature.metrics.SignatureMetrics;
+import com.groupdocs.ui.signature.model.request.SignBatchRequest;
 import com.groupdocs.ui.signature.model.request.SignDocumentRequest;
+import com.groupdocs.ui.signature.model.web.SignBatchDocumentEntity;
+import com.groupdocs.ui.signature.model.web.SignBatchEntity;
 import com.groupdocs.ui.signature.model.web.SignatureDataEntity;
 import com.groupdocs.ui.signature.model.web.SignedDocumentEntity;
 import com.groupdocs.ui.signature.model.xml.OpticalXmlEntity;
-import com.groupdocs.ui.signature.model.xml.StampXmlEntity;
-import com.groupdocs.ui.signature.model.xml.StampXmlEntityList;
-import com.groupdocs.ui.signature.model.xml.TextXmlEntity;
 import com.groupdocs.ui.signature.signer.*;
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 import javax.annotation.PostConstruct;
-import java.io.*;
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.groupdocs.ui.signature.SignatureType.QR_CODE;
-import static com.groupdocs.ui.signature.service.SignatureHandlerFactory.*;
+import static com.groupdocs.ui.signature.metrics.SignatureMetrics.*;
+import static com.groupdocs.ui.signature.service.SignatureHandlerFactory.getFullDataPath;
+import static com.groupdocs.ui.signature.service.SignatureHandlerFactory.getFullDataPathStr;
 import static com.groupdocs.ui.util.directory.SignatureDirectory.*;
 
 @Service
@@ -38,153 +59,367 @@ public class SignServiceImpl implements SignService {
     private static final Logger logger = LoggerFactory.getLogger(SignServiceImpl.class);
 
     private static final List<String> supportedImageFormats = Arrays.asList("bmp", "jpeg", "jpg", "tiff", "tif", "png");
+    private static final Map<String, String> documentTypes = new HashMap<>();
+    private static final int BATCH_QUEUE_SIZE_PER_THREAD = 4;
+
+    static {
+        documentTypes.put("pdf", "Portable Document Format");
+        for (String extension : Arrays.asList("doc", "docx", "docm", "dot", "dotx", "dotm", "rtf", "odt", "ott")) {
+            documentTypes.put(extension, "Microsoft Word");
+        }
+        for (String extension : Arrays.asList("xls", "xlsx", "xlsm", "xlsb", "xltx", "xltm", "ods", "csv")) {
+            documentTypes.put(extension, "Microsoft Excel");
+        }
+        for (String extension : Arrays.asList("ppt", "pptx", "pptm", "pps", "ppsx", "odp")) {
+            documentTypes.put(extension, "Microsoft PowerPoint");
+        }
+    }
 
-    private SignatureHandler signatureHandler;
     @Autowired
     private SignatureConfiguration signatureConfiguration;
+    @Autowired
+    private SignatureHandlerPool signatureHandlerPool;
+    @Autowired
+    private PageImageCache pageImageCache;
+    @Autowired
+    private PageThumbnailCache pageThumbnailCache;
+    @Autowired
+    private DocumentSessionCache documentSessionCache;
+    @Autowired
+    private SignatureTemplateCache signatureTemplateCache;
+    @Autowired
+    private ContentHashService contentHashService;
+
+    private ThreadPoolExecutor batchExecutor;
+    private int batchThreads;
 
     @PostConstruct
     public void init() {
-        signatureHandler = SignatureHandlerFactory.createHandler(signatureConfiguration.getFilesDirectory(), signatureConfiguration.getDataDirectory());
+        Integer signBatchThreads = signatureConfiguration.getSignBatchThreads();
+        batchThreads = signBatchThreads == null || signBatchThreads <= 0 ? 1 : signBatchThreads;
+        final AtomicInteger threadNumber = new AtomicInteger();
+        batchExecutor = new ThreadPoolExecutor(batchThreads, batchThreads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(batchThreads * BATCH_QUEUE_SIZE_PER_THREAD),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sign-batch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        batchExecutor.allowCoreThreadTimeOut(true);
+        // signed documents left by interrupted downloads
+        File tempDirectory = getTempPath().toFile();
+        if (tempDirectory.exists()) {
+            deleteDirectory(tempDirectory);
+        }
+        DefaultDirectories.makeDirs(getTempPath());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        batchExecutor.shutdownNow();
     }
 
     @Override
     public SignedDocumentEntity sign(SignDocumentRequest signDocumentRequest) {
         String documentGuid = signDocumentRequest.getGuid();
-        SignatureOptionsCollection signsCollection = buildSignOptions(signDocumentRequest);
-        return signDocument(documentGuid, signDocumentRequest.getPassword(), signsCollection);
+        return SignatureMetrics.time(SIGN, () -> {
+            SignatureOptionsCollection signsCollection = buildSignOptions(signDocumentRequest);
+            return signDocument(documentGuid, signDocumentRequest.getPassword(), signsCollection);
+        }, signTags(signDocumentRequest));
+    }
+
+    /**
+     * Get tags of the sign request: format of the document and types of the signatures
+     *
+     * @param signDocumentRequest sign request
+     * @return tag names and values
+     */
+    private static String[] signTags(SignDocumentRequest signDocumentRequest) {
+        List<SignatureDataEntity> signaturesData = signDocumentRequest.getSignaturesData();
+        SignatureMetrics.record(SIGN_SIGNATURES, signaturesData == null ? 0 : signaturesData.size());
+        return new String[]{FORMAT, SignatureMetrics.format(signDocumentRequest.getGuid()), TYPE, signatureTypes(signaturesData)};
+    }
+
+    private static String signatureTypes(List<SignatureDataEntity> signaturesData) {
+        if (signaturesData == null || signaturesData.isEmpty()) {
+            return SignatureMetrics.UNKNOWN;
+        }
+        // sorted set of types keeps the number of time series small
+        Set<String> types = new TreeSet<>();
+        for (SignatureDataEntity signatureData : signaturesData) {
+            types.add(SignatureMetrics.type(signatureData.getSignatureType()));
+        }
+        return String.join(",", types);
+    }
+
+    @Override
+    public SignBatchEntity signBatch(SignBatchRequest signBatchRequest) {
+        checkBatchDocuments(signBatchRequest.getGuids());
+        SignatureMetrics.record(SIGN_BATCH_DOCUMENTS, signBatchRequest.getGuids().size());
+        return SignatureMetrics.time(SIGN_BATCH, () -> signDocuments(signBatchRequest),
+                TYPE, signatureTypes(signBatchRequest.getSignaturesData()));
+    }
+
+    /**
+     * Check that the batch lists documents and none of them twice, documents are signed in place,
+     * so two workers signing the same file would overwrite each other's output
+     *
+     * @param guids paths to documents
+     */
+    private static void checkBatchDocuments(List<String> guids) {
+        if (guids == null || guids.isEmpty()) {
+            throw new TotalGroupDocsException("Documents list is empty");
+        }
+        Set<Path> documents = new HashSet<>();
+        for (String guid : guids) {
+            if (StringUtils.isEmpty(guid)) {
+                throw new TotalGroupDocsException("Documents list contains an empty path");
+            }
+            if (!documents.add(Paths.get(guid).toAbsolutePath().normalize())) {
+                throw new TotalGroupDocsException("Document " + guid + " is listed more than once");
+            }
+        }
+    }
+
+    private SignBatchEntity signDocuments(SignBatchRequest signBatchRequest) {
+        long start = System.currentTimeMillis();
+        List<String> guids = signBatchRequest.getGuids();
+        String password = signBatchRequest.getPassword();
+        // xml data of the signatures is read once for all documents
+        List<Signer> signers = resolveSigners(signBatchRequest.getSignaturesData(), password);
+        SignBatchDocumentEntity[] results = new SignBatchDocumentEntity[guids.size()];
+        AtomicInteger nextDocument = new AtomicInteger();
+        Runnable worker = () -> {
+            int index;
+            while ((index = nextDocument.getAndIncrement()) < guids.size()) {
+                results[index] = signBatchDocument(guids.get(index), password, signers);
+            }
+        };
+        // the calling thread signs documents too, so the batch completes even if all workers are busy
+        List<Future<?>> workers = new ArrayList<>();
+        List<AtomicBoolean> workersStarted = new ArrayList<>();
+        int additionalWorkers = Math.min(batchThreads, guids.size()) - 1;
+        for (int i = 0; i < additionalWorkers; i++) {
+            AtomicBoolean started = new AtomicBoolean();
+            try {
+                workers.add(batchExecutor.submit(() -> {
+                    if (started.compareAndSet(false, true)) {
+                        worker.run();
+                    }
+                }));
+                workersStarted.add(started);
+            } catch (RejectedExecutionException ex) {
+                break;
+            }
+        }
+        worker.run();
+        for (int i = 0; i < workers.size(); i++) {
+            Future<?> future = workers.get(i);
+            if (workersStarted.get(i).compareAndSet(false, true)) {
+                // worker has not started yet and is not needed anymore
+                future.cancel(false);
+                continue;
+            }
+            // running worker may still be signing its last document
+            try {
+                future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new TotalGroupDocsException(ex.getMessage(), ex);
+            } catch (ExecutionException ex) {
+                throw new TotalGroupDocsException(ex.getMessage(), ex.getCause());
+            }
+        }
+
+        SignBatchEntity signBatchEntity = new SignBatchEntity();
+        signBatchEntity.setDocuments(Arrays.asList(results));
+        int signedCount = 0;
+        for (SignBatchDocumentEntity result : results) {
+            if (result != null && result.getError() == null) {
+                signedCount++;
+            }
+        }
+        long totalTime = System.currentTimeMillis() - start;
+        signBatchEntity.setSignedCount(signedCount);
+        signBatchEntity.setFailedCount(results.length - signedCount);
+        signBatchEntity.setTotalTime(totalTime);
+        signBatchEntity.setDocumentsPerSecond(signedCount * 1000.0 / Math.max(totalTime, 1));
+        logger.info("Signed batch of {} documents in {} ms, failed: {}", results.length, totalTime, results.length - signedCount);
+        return signBatchEntity;
+    }
+
+    private SignBatchDocumentEntity signBatchDocument(String documentGuid, String password, List<Signer> signers) {
+        SignBatchDocumentEntity result = new SignBatchDocumentEntity();
+        result.setGuid(documentGuid);
+        long start = System.currentTimeMillis();
+        try {
+            String fileExtension = FilenameUtils.getExtension(documentGuid).toLowerCase();
+            String documentType = getDocumentType(documentTypes.get(fileExtension), documentGuid, fileExtension);
+            if (documentType == null) {
+                throw new IllegalStateException(String.format("File format %s is not supported.", fileExtension));
+            }
+            SignatureOptionsCollection signsCollection = buildSignOptions(documentType, signers);
+            result.setSignedGuid(signDocument(documentGuid, password, signsCollection).getGuid());
+        } catch (Exception ex) {
+            result.setError(ex.getMessage() != null ? ex.getMessage() : ex.getClass().getName());
+        }
+        result.setSignTime(System.currentTimeMillis() - start);
+        return result;
     }
 
     private SignatureOptionsCollection buildSignOptions(SignDocumentRequest signDocumentRequest) {
         String documentGuid = signDocumentRequest.getGuid();
         String documentType = getDocumentType(signDocumentRequest.getDocumentType(), documentGuid, FilenameUtils.getExtension(documentGuid));
-        List<SignatureDataEntity> signaturesData = signDocumentRequest.getSignaturesData();
+        List<Signer> signers = resolveSigners(signDocumentRequest.getSignaturesData(), signDocumentRequest.getPassword());
+        return buildSignOptions(documentType, signers);
+    }
+
+    /**
+     * Create signers of the signatures, reads xml data of the signatures
+     *
+     * @param signaturesData signatures to put on the document
+     * @param password       document password
+     * @return signers in the order signatures are put on the document
+     */
+    private List<Signer> resolveSigners(List<SignatureDataEntity> signaturesData, String password) {
         SortedSignaturesData sortedSignaturesData = new SortedSignaturesData(signaturesData).sort();
-        SignatureOptionsCollection signsCollection = new SignatureOptionsCollection();
+        List<Signer> signers = new ArrayList<>(signaturesData.size());
         if (!sortedSignaturesData.digital.isEmpty()) {
-            signDigital(signDocumentRequest.getPassword(), sortedSignaturesData.digital, documentType, signsCollection);
+            signDigital(password, sortedSignaturesData.digital, signers);
         }
         if (!sortedSignaturesData.images.isEmpty()) {
-            signImage(documentType, sortedSignaturesData.images, signsCollection);
+            signImage(sortedSignaturesData.images, signers);
         }
         if (!sortedSignaturesData.texts.isEmpty()) {
-            signText(documentType, sortedSignaturesData.texts, signsCollection);
+            signText(sortedSignaturesData.texts, signers);
         }
         if (!sortedSignaturesData.stamps.isEmpty()) {
-            signStamp(documentType, sortedSignaturesData.stamps, signsCollection);
+            signStamp(sortedSignaturesData.stamps, signers);
         }
         if (!sortedSignaturesData.codes.isEmpty()) {
-            signOptical(documentType, sortedSignaturesData.codes, signsCollection);
+            signOptical(sortedSignaturesData.codes, signers);
+        }
+        return signers;
+    }
+
+    /**
+     * Create sign options of the document type, options are created for every document
+     * because the signing engine may change them
+     *
+     * @param documentType
+     * @param signers
+     * @return signs collection
+     */
+    private SignatureOptionsCollection buildSignOptions(String documentType, List<Signer> signers) {
+        SignatureOptionsCollection signsCollection = new SignatureOptionsCollection();
+        try {
+            for (Signer signer : signers) {
+                addSignOptions(documentType, signsCollection, signer);
+            }
+        } catch (Exception ex) {
+            logger.error("Exception occurred while preparing sign options", ex);
+            throw new TotalGroupDocsException(ex.getMessage(), ex);
         }
         return signsCollection;
     }
 
     @Override
-    public InputStream signByStream(SignDocumentRequest signDocumentRequest) {
+    public File signToTempFile(SignDocumentRequest signDocumentRequest) {
         String documentGuid = signDocumentRequest.getGuid();
-        SignatureOptionsCollection signsCollection = buildSignOptions(signDocumentRequest);
-        return signDocumentByStream(documentGuid, signDocumentRequest.getPassword(), signsCollection);
+        return SignatureMetrics.time(SIGN, () -> signToTempDirectory(documentGuid, signDocumentRequest), signTags(signDocumentRequest));
     }
 
-    private InputStream signDocumentByStream(String documentGuid, String password, SignatureOptionsCollection signsCollection) {
-        // set save options
-        final SaveOptions saveOptions = new SaveOptions();
-        saveOptions.setOutputType(OutputType.Stream);
+    private File signToTempDirectory(String documentGuid, SignDocumentRequest signDocumentRequest) {
+        SignatureOptionsCollection signsCollection = buildSignOptions(signDocumentRequest);
+        Path tempDirectory;
+        try {
+            // each download gets own folder, so documents with the same name don't overwrite each other
+            tempDirectory = Files.createTempDirectory(getTempPath(), "signed");
+        } catch (IOException ex) {
+            logger.error("Exception occurred while creating temporary directory", ex);
+            throw new TotalGroupDocsException(ex.getMessage(), ex);
+        }
+        try {
+            String signedGuid = signDocument(documentGuid, signDocumentRequest.getPassword(), signsCollection, tempDirectory.toString());
+            return new File(signedGuid);
+        } catch (RuntimeException ex) {
+            deleteDirectory(tempDirectory.toFile());
+            throw ex;
+        }
+    }
 
-        // set password
-        LoadOptions loadOptions = new LoadOptions();
-        if (password != null && !password.isEmpty()) {
-            loadOptions.setPassword(password);
+    @Override
+    public void deleteTempFile(File signedFile) {
+        File tempDirectory = signedFile.getParentFile();
+        if (tempDirectory != null && tempDirectory.toPath().startsWith(getTempPath())) {
+            deleteDirectory(tempDirectory);
         }
+    }
 
-        SignatureHandler<OutputStream> streamSignatureHandler = createStreamHandler();
+    private Path getTempPath() {
+        return getFullDataPath(signatureConfiguration.getDataDirectory(), TEMP_DATA_DIRECTORY.getPath()).toAbsolutePath();
+    }
 
-        try {
-            ByteArrayOutputStream bos = (ByteArrayOutputStream) streamSignatureHandler.sign(new FileInputStream(documentGuid), signsCollection, loadOptions, saveOptions);
-            return new ByteArrayInputStream(bos.toByteArray());
-        } catch (Exception ex) {
-            logger.error("Exception occurred while signing document", ex);
-            throw new TotalGroupDocsException(ex.getMessage(), ex);
+    private void deleteDirectory(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else if (!file.delete()) {
+                    logger.warn("Can not delete temporary file {}", file);
+                }
+            }
+        }
+        if (!directory.delete()) {
+            logger.warn("Can not delete temporary directory {}", directory);
         }
     }
 
     /**
      * Sign document by digital signature
      *
+     * @param password
      * @param digital
-     * @param documentType
-     * @param signsCollection
+     * @param signers
      */
-    private void signDigital(String password, List<SignatureDataEntity> digital, String documentType, SignatureOptionsCollection signsCollection) {
-        try {
-            for (int i = 0; i < digital.size(); i++) {
-                SignatureDataEntity signatureDataEntity = digital.get(i);
-                // initiate digital signer
-                DigitalSigner signer = new DigitalSigner(signatureDataEntity, password);
-                switch (documentType) {
-                    case "Portable Document Format":
-                        signsCollection.add(signer.signPdf());
-                        break;
-                    case "Microsoft Word":
-                        signsCollection.add(signer.signWord());
-                        break;
-                    case "Microsoft Excel":
-                        signsCollection.add(signer.signCells());
-                        break;
-                    default:
-                        throw new IllegalStateException(String.format("File format %s is not supported.", documentType));
-                }
-            }
-        } catch (Exception ex) {
-            logger.error("Exception occurred while signing by digital signature", ex);
-            throw new TotalGroupDocsException(ex.getMessage(), ex);
+    private void signDigital(String password, List<SignatureDataEntity> digital, List<Signer> signers) {
+        for (int i = 0; i < digital.size(); i++) {
+            SignatureDataEntity signatureDataEntity = digital.get(i);
+            // initiate digital signer
+            signers.add(new DigitalSigner(signatureDataEntity, password));
         }
     }
 
     /**
      * Sign document with images
      *
-     * @param documentType
      * @param images
-     * @param signsCollection
-     * @return
+     * @param signers
      */
-    private void signImage(String documentType, List<SignatureDataEntity> images, SignatureOptionsCollection signsCollection) {
-        try {
-            for (int i = 0; i < images.size(); i++) {
-                SignatureDataEntity signatureDataEntity = images.get(i);
-                // initiate image signer object
-                ImageSigner signer = new ImageSigner(signatureDataEntity);
-                // prepare signing options and sign document
-                addSignOptions(documentType, signsCollection, signer);
-            }
-        } catch (Exception ex) {
-            logger.error("Exception occurred while signing by image signature", ex);
-            throw new TotalGroupDocsException(ex.getMessage(), ex);
+    private void signImage(List<SignatureDataEntity> images, List<Signer> signers) {
+        for (int i = 0; i < images.size(); i++) {
+            SignatureDataEntity signatureDataEntity = images.get(i);
+            // initiate image signer object
+            signers.add(new ImageSigner(signatureDataEntity));
         }
     }
 
     /**
      * Sign document with stamps
      *
-     * @param documentType
      * @param stamps
-     * @param signsCollection
-     * @return
+     * @param signers
      */
-    private void signStamp(String documentType, List<SignatureDataEntity> stamps, SignatureOptionsCollection signsCollection) {
+    private void signStamp(List<SignatureDataEntity> stamps, List<Signer> signers) {
         String xmlPath = getFullDataPathStr(signatureConfiguration.getDataDirectory(), STAMP_DATA_DIRECTORY.getXMLPath());
         try {
             for (int i = 0; i < stamps.size(); i++) {
                 SignatureDataEntity signatureDataEntity = stamps.get(i);
                 String fileName = getXMLFileName(xmlPath, signatureDataEntity.getSignatureGuid());
-                StampXmlEntityList stampData = new XMLReaderWriter<StampXmlEntityList>().read(fileName, StampXmlEntityList.class);
-                // since stamp ine are added stating from the most outer line we need to reverse the stamp data array
-                List<StampXmlEntity> reverse = Lists.reverse(stampData.getStampXmlEntityList());
+                StampTemplate stampTemplate = signatureTemplateCache.getStampTemplate(fileName);
                 // initiate stamp signer
-                StampSigner signer = new StampSigner(reverse, signatureDataEntity);
-                // prepare signing options and sign document
-                addSignOptions(documentType, signsCollection, signer);
+                signers.add(new StampSigner(stampTemplate, signatureDataEntity));
             }
         } catch (Exception ex) {
             logger.error("Exception occurred while signing by stamp", ex);
@@ -195,14 +430,11 @@ public class SignServiceImpl implements SignService {
     /**
      * Sign document with barcodes and/or qrcodes
      *
-     * @param documentType
      * @param codes
-     * @param signsCollection
-     * @return
+     * @param signers
      */
-    private void signOptical(String documentType, List<SignatureDataEntity> codes, SignatureOptionsCollection signsCollection) {
+    private void signOptical(List<SignatureDataEntity> codes, List<Signer> signers) {
         try {
-            // prepare signing options and sign document
             for (int i = 0; i < codes.size(); i++) {
                 SignatureDataEntity signatureDataEntity = codes.get(i);
                 // get xml files root path
@@ -212,11 +444,9 @@ public class SignServiceImpl implements SignService {
                         BARCODE_DATA_DIRECTORY.getXMLPath());
                 // get xml data of the QR-Code
                 String fileName = getXMLFileName(xmlPath, signatureDataEntity.getSignatureGuid());
-                OpticalXmlEntity opticalCodeData = new XMLReaderWriter<OpticalXmlEntity>().read(fileName, OpticalXmlEntity.class);
+                OpticalXmlEntity opticalCodeData = signatureTemplateCache.getOpticalTemplate(fileName);
                 // initiate QRCode signer object
-                Signer signer = (QR_CODE.equals(signatureType)) ? new QrCodeSigner(opticalCodeData, signatureDataEntity) : new BarCodeSigner(opticalCodeData, signatureDataEntity);
-                // prepare signing options and sign document
-                addSignOptions(documentType, signsCollection, signer);
+                signers.add((QR_CODE.equals(signatureType)) ? new QrCodeSigner(opticalCodeData, signatureDataEntity) : new BarCodeSigner(opticalCodeData, signatureDataEntity));
             }
         } catch (Exception ex) {
             logger.error("Exception occurred while signing by optical code", ex);
@@ -227,22 +457,17 @@ public class SignServiceImpl implements SignService {
     /**
      * Sign document with text signature
      *
-     * @param documentType
      * @param texts
-     * @param signsCollection
-     * @return
+     * @param signers
      */
-    private void signText(String documentType, List<SignatureDataEntity> texts, SignatureOptionsCollection signsCollection) {
+    private void signText(List<SignatureDataEntity> texts, List<Signer> signers) {
         try {
-            // prepare signing options and sign document
             for (int i = 0; i < texts.size(); i++) {
                 SignatureDataEntity signatureDataEntity = texts.get(i);
                 // get xml data of the signature
-                TextXmlEntity textData = new XMLReaderWriter<TextXmlEntity>().read(signatureDataEntity.getSignatureGuid(), TextXmlEntity.class);
-                // initiate QRCode signer object
-                TextSigner signer = new TextSigner(textData, signatureDataEntity);
-                // prepare signing options and sign document
-                addSignOptions(documentType, signsCollection, signer);
+                TextTemplate textData = signatureTemplateCache.getTextTemplate(signatureDataEntity.getSignatureGuid());
+                // initiate text signer object
+                signers.add(new TextSigner(textData, signatureDataEntity));
             }
         } catch (Exception ex) {
             logger.error("Exception occurred while signing by text signature", ex);
@@ -311,6 +536,35 @@ public class SignServiceImpl implements SignService {
      * @throws Exception
      */
     private SignedDocumentEntity signDocument(String documentGuid, String password, SignatureOptionsCollection signsCollection) {
+        try {
+            // the document is overwritten in place, documents with the same content must stay unchanged
+            contentHashService.detach(documentGuid);
+        } catch (IOException ex) {
+            logger.error("Exception occurred while detaching document from content storage", ex);
+            throw new TotalGroupDocsException(ex.getMessage(), ex);
+        }
+        SignedDocumentEntity signedDocument = new SignedDocumentEntity();
+        signedDocument.setGuid(signDocument(documentGuid, password, signsCollection, FilenameUtils.getFullPath(documentGuid)));
+        // signed document overwrites the original one, drop its rendered pages and opened sessions
+        pageImageCache.invalidate(documentGuid);
+        pageImageCache.invalidate(signedDocument.getGuid());
+        pageThumbnailCache.invalidate(documentGuid);
+        pageThumbnailCache.invalidate(signedDocument.getGuid());
+        documentSessionCache.invalidate(documentGuid);
+        documentSessionCache.invalidate(signedDocument.getGuid());
+        return signedDocument;
+    }
+
+    /**
+     * Sign document into the output directory
+     *
+     * @param documentGuid
+     * @param password
+     * @param signsCollection
+     * @param outputPath      directory for the signed document
+     * @return path to signed document
+     */
+    private String signDocument(String documentGuid, String password, SignatureOptionsCollection signsCollection, String outputPath) {
         // set save options
         final SaveOptions saveOptions = new SaveOptions();
         saveOptions.setOutputType(OutputType.String);
@@ -324,14 +578,17 @@ public class SignServiceImpl implements SignService {
         }
 
         // sign document
-        SignedDocumentEntity signedDocument = new SignedDocumentEntity();
+        SignatureHandler signatureHandler = signatureHandlerPool.borrow();
         try {
-            signatureHandler.getSignatureConfig().setOutputPath(FilenameUtils.getFullPath(documentGuid));
-            signedDocument.setGuid(signatureHandler.sign(documentGuid, signsCollection, loadOptions, saveOptions).toString());
+            signatureHandler.getSignatureConfig().setOutputPath(outputPath);
+            return SignatureMetrics.timeCall(ENGINE_SIGN,
+                    () -> signatureHandler.sign(documentGuid, signsCollection, loadOptions, saveOptions).toString(),
+                    FORMAT, SignatureMetrics.format(documentGuid));
         } catch (Exception ex) {
             logger.error("Exception occurred while signing document", ex);
             throw new TotalGroupDocsException(ex.getMessage(), ex);
+        } finally {
+            signatureHandlerPool.release(signatureHandler);
         }
-        return signedDocument;
     }
 }
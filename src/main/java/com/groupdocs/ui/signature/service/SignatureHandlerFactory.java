@@ -5,7 +5,6 @@ import com.groupdocs.signature.handler.SignatureHandler;
 import com.groupdocs.ui.config.DefaultDirectories;
 import org.springframework.util.StringUtils;
 
-import java.io.OutputStream;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -15,46 +14,28 @@ import static com.groupdocs.ui.util.directory.SignatureDirectory.*;
 
 public class SignatureHandlerFactory {
 
-    public static SignatureHandler instance;
-    public static SignatureHandler streamInstance;
-
     /**
-     * Create instance of SignatureHandler
+     * Create new instance of SignatureHandler
+     * Every handler has its own SignatureConfig, so handlers may be used from different threads
+     * as long as each of them is used by one thread at a time (see SignatureHandlerPool)
      *
      * @param filesDirectory
      * @param dataDirectory
      * @return
      */
-    public synchronized static SignatureHandler createHandler(String filesDirectory, String dataDirectory) {
-        if (instance == null) {
-            String directory = StringUtils.isEmpty(dataDirectory) ? filesDirectory + DATA_FOLDER : dataDirectory;
-            // create directories
-            createDirectories(directory);
-
-            // create signature application configuration
-            SignatureConfig config = new SignatureConfig();
-            config.setStoragePath(filesDirectory);
-            config.setCertificatesPath(getFullDataPathStr(directory, CERTIFICATE_DATA_DIRECTORY.getPath()));
-            config.setImagesPath(getFullDataPathStr(directory, IMAGE_DATA_DIRECTORY.getPath()));
-
-            instance = new SignatureHandler(config);
-        }
-        return instance;
-    }
-
-    /**
-     * Create instance of SignatureHandler for streams
-     *
-     * @return
-     */
-    public synchronized static SignatureHandler createStreamHandler() {
-        if (streamInstance == null) {
-            SignatureConfig config = new SignatureConfig();
-            config.setOutputPath(FileSystems.getDefault().getPath("").toAbsolutePath().toString());
-            SignatureHandler<OutputStream> streamSignatureHandler = new SignatureHandler<>(config);
-            streamInstance = streamSignatureHandler;
-        }
-        return streamInstance;
+    public static SignatureHandler createHandler(String filesDirectory, String dataDirectory) {
+        String directory = StringUtils.isEmpty(dataDirectory) ? filesDirectory + DATA_FOLDER : dataDirectory;
+        // create directories
+        createDirectories(directory);
+
+        // create signature application configuration
+        SignatureConfig config = new SignatureConfig();
+        config.setStoragePath(filesDirectory);
+        config.setCertificatesPath(getFullDataPathStr(directory, CERTIFICATE_DATA_DIRECTORY.getPath()));
+        config.setImagesPath(getFullDataPathStr(directory, IMAGE_DATA_DIRECTORY.getPath()));
+        config.setOutputPath(FileSystems.getDefault().getPath("").toAbsolutePath().toString());
+
+        return new SignatureHandler(config);
     }
 
     public static Path getFullDataPath(String dataDirectory, String partPath) {
@@ -0,0 +1,218 @@
+package com.groupdocs.ui.signature.service;
+
+import com.groupdocs.signature.handler.SignatureHandler;
+import com.groupdocs.ui.exception.TotalGroupDocsException;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import com.groupdocs.ui.signature.model.web.HandlerPoolStatsEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SignatureHandlerPool
+ * Bounded pool of independently configured signature handlers.
+ * A handler is checked out for one request and returned afterwards, so changes of its
+ * SignatureConfig (for example the output path) never affect other requests.
+ *
+ * Usage:
+ * <pre>
+ * SignatureHandler signatureHandler = signatureHandlerPool.borrow();
+ * try {
+ *     ...
+ * } finally {
+ *     signatureHandlerPool.release(signatureHandler);
+ * }
+ * </pre>
+ */
+@Component
+public class SignatureHandlerPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignatureHandlerPool.class);
+
+    @Autowired
+    private SignatureConfiguration signatureConfiguration;
+    // handlers are created only after the license is set
+    @Autowired
+    private SignatureLicense signatureLicense;
+
+    private BlockingQueue<SignatureHandler> idleHandlers;
+    private int poolSize;
+    private long timeout;
+
+    private final AtomicInteger createdCount = new AtomicInteger();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong waitTimeNanos = new AtomicLong();
+    private final AtomicLong maxWaitTimeNanos = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        Integer handlerPoolSize = signatureConfiguration.getHandlerPoolSize();
+        poolSize = handlerPoolSize == null || handlerPoolSize <= 0 ? Runtime.getRuntime().availableProcessors() : handlerPoolSize;
+        Long handlerPoolTimeout = signatureConfiguration.getHandlerPoolTimeout();
+        timeout = handlerPoolTimeout == null || handlerPoolTimeout < 0 ? 0 : handlerPoolTimeout;
+        idleHandlers = new ArrayBlockingQueue<>(poolSize);
+        logger.info("Signature handlers pool size: {}, timeout: {} ms", poolSize, timeout);
+    }
+
+    /**
+     * Check out a signature handler, waiting up to the configured timeout if all handlers are busy
+     *
+     * @return signature handler which must be returned by release method
+     */
+    public SignatureHandler borrow() {
+        long start = System.nanoTime();
+        SignatureHandler signatureHandler = idleHandlers.poll();
+        if (signatureHandler == null) {
+            signatureHandler = tryCreateHandler();
+        }
+        if (signatureHandler == null) {
+            waitingCount.incrementAndGet();
+            try {
+                signatureHandler = idleHandlers.poll(timeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new TotalGroupDocsException("Interrupted while waiting for a free signature handler", ex);
+            } finally {
+                waitingCount.decrementAndGet();
+            }
+        }
+        long waitTime = System.nanoTime() - start;
+        waitTimeNanos.addAndGet(waitTime);
+        updateMaxWaitTime(waitTime);
+        if (signatureHandler == null) {
+            timeoutCount.incrementAndGet();
+            throw new TotalGroupDocsException(String.format("Timed out after %d ms waiting for a free signature handler", timeout));
+        }
+        borrowCount.incrementAndGet();
+        activeCount.incrementAndGet();
+        return signatureHandler;
+    }
+
+    /**
+     * Check out a signature handler only if one is available right now
+     *
+     * @return signature handler which must be returned by release method or null if all handlers are busy
+     */
+    public SignatureHandler tryBorrow() {
+        SignatureHandler signatureHandler = idleHandlers.poll();
+        if (signatureHandler == null) {
+            signatureHandler = tryCreateHandler();
+        }
+        if (signatureHandler != null) {
+            borrowCount.incrementAndGet();
+            activeCount.incrementAndGet();
+        }
+        return signatureHandler;
+    }
+
+    /**
+     * Return signature handler into the pool
+     *
+     * @param signatureHandler handler obtained by borrow method
+     */
+    public void release(SignatureHandler signatureHandler) {
+        if (signatureHandler == null) {
+            return;
+        }
+        activeCount.decrementAndGet();
+        if (!idleHandlers.offer(signatureHandler)) {
+            // should never happen, the pool never creates more handlers than its capacity
+            createdCount.decrementAndGet();
+            logger.warn("Signature handler was not returned into the pool");
+        }
+    }
+
+    private SignatureHandler tryCreateHandler() {
+        while (true) {
+            int created = createdCount.get();
+            if (created >= poolSize) {
+                return null;
+            }
+            if (createdCount.compareAndSet(created, created + 1)) {
+                try {
+                    return SignatureHandlerFactory.createHandler(signatureConfiguration.getFilesDirectory(), signatureConfiguration.getDataDirectory());
+                } catch (RuntimeException ex) {
+                    createdCount.decrementAndGet();
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private void updateMaxWaitTime(long waitTime) {
+        long max = maxWaitTimeNanos.get();
+        while (waitTime > max && !maxWaitTimeNanos.compareAndSet(max, waitTime)) {
+            max = maxWaitTimeNanos.get();
+        }
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public int getCreatedCount() {
+        return createdCount.get();
+    }
+
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * Get number of requests waiting for a free signature handler right now
+     *
+     * @return number of waiting requests
+     */
+    public int getWaitingCount() {
+        return waitingCount.get();
+    }
+
+    public int getIdleCount() {
+        return idleHandlers.size();
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * Get current pool state and borrow metrics
+     *
+     * @return pool statistics
+     */
+    public HandlerPoolStatsEntity getStats() {
+        HandlerPoolStatsEntity stats = new HandlerPoolStatsEntity();
+        stats.setPoolSize(poolSize);
+        stats.setTimeout(timeout);
+        stats.setCreated(createdCount.get());
+        stats.setActive(activeCount.get());
+        stats.setIdle(idleHandlers.size());
+        long borrows = borrowCount.get();
+        long timeouts = timeoutCount.get();
+        stats.setBorrowCount(borrows);
+        stats.setTimeoutCount(timeouts);
+        long requests = borrows + timeouts;
+        stats.setAverageWaitTime(requests == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(waitTimeNanos.get() / requests));
+        stats.setMaxWaitTime(TimeUnit.NANOSECONDS.toMillis(maxWaitTimeNanos.get()));
+        return stats;
+    }
+}
@@ -0,0 +1,35 @@
+package com.groupdocs.ui.signature.service;
+
+import com.groupdocs.signature.licensing.License;
+import com.groupdocs.ui.config.GlobalConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * SignatureLicense
+ * Sets GroupDocs license on startup. Signature handlers are only created by SignatureHandlerPool,
+ * which depends on this bean, so services which sign or render documents on their own startup
+ * (for example resumed sign jobs) never run before the license is set.
+ */
+@Component
+public class SignatureLicense {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignatureLicense.class);
+
+    @Autowired
+    private GlobalConfiguration globalConfiguration;
+
+    @PostConstruct
+    public void init() {
+        try {
+            License license = new License();
+            license.setLicense(globalConfiguration.getApplication().getLicensePath());
+        } catch (Throwable exc) {
+            logger.error("Can not verify Signature license!");
+        }
+    }
+}
@@ -7,11 +7,15 @@ import com.groupdocs.ui.model.response.PageDescriptionEntity;
 import com.groupdocs.ui.signature.SignatureConfiguration;
 import com.groupdocs.ui.signature.model.request.DeleteSignatureFileRequest;
 import com.groupdocs.ui.signature.model.request.LoadSignatureImageRequest;
+import com.groupdocs.ui.signature.model.request.SignatureFileTreePageRequest;
 import com.groupdocs.ui.signature.model.request.SignatureFileTreeRequest;
+import com.groupdocs.ui.signature.model.web.PageThumbnailsEntity;
 import com.groupdocs.ui.signature.model.web.SignatureFileDescriptionEntity;
+import com.groupdocs.ui.signature.model.web.SignatureFileTreePageEntity;
 import com.groupdocs.ui.signature.model.web.SignaturePageEntity;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
 import java.util.List;
 
 /**
@@ -34,6 +38,14 @@ public interface SignatureService {
      */
     List<SignatureFileDescriptionEntity> getFileList(SignatureFileTreeRequest fileTreeRequest);
 
+    /**
+     * Get one page of the files in directory
+     *
+     * @param fileTreePageRequest model with path, offset, limit and continuation token
+     * @return page of the files list
+     */
+    SignatureFileTreePageEntity getFileListPage(SignatureFileTreePageRequest fileTreePageRequest);
+
     /**
      * Load document descriptions
      *
@@ -50,6 +62,61 @@ public interface SignatureService {
      */
     PageDescriptionEntity loadDocumentPage(LoadDocumentPageRequest loadDocumentPageRequest);
 
+    /**
+     * Get rendered image of the document page
+     *
+     * @param documentGuid path to document
+     * @param pageNumber   page number
+     * @param password     document password
+     * @return page image in PNG format
+     */
+    byte[] getPageImage(String documentGuid, int pageNumber, String password);
+
+    /**
+     * Load thumbnails of all document pages for the page navigation
+     *
+     * @param loadDocumentRequest document request data
+     * @return thumbnails with their urls and positions in sprite sheets
+     */
+    PageThumbnailsEntity loadPageThumbnails(LoadDocumentRequest loadDocumentRequest);
+
+    /**
+     * Get thumbnail of the document page
+     *
+     * @param documentGuid path to document
+     * @param pageNumber   page number
+     * @param password     document password
+     * @return thumbnail in PNG format
+     */
+    byte[] getPageThumbnail(String documentGuid, int pageNumber, String password);
+
+    /**
+     * Get sprite sheet with thumbnails of the document pages
+     *
+     * @param documentGuid path to document
+     * @param spriteNumber number of the sprite sheet starting from 0
+     * @param password     document password
+     * @return sprite sheet in PNG format
+     */
+    byte[] getPageThumbnailSprite(String documentGuid, int spriteNumber, String password);
+
+    /**
+     * Get signature image downscaled to the thumbnail size
+     *
+     * @param guid path to signature image inside the data directory
+     * @param size maximum width and height, null for the configured thumbnail size
+     * @return thumbnail image
+     */
+    byte[] getSignatureThumbnail(String guid, Integer size);
+
+    /**
+     * Get signature file, fails if the file doesn't exist or is outside the data directory
+     *
+     * @param guid path to signature image inside the data directory
+     * @return signature file
+     */
+    File getSignatureFile(String guid);
+
     /**
      * Upload document
      *
@@ -61,6 +128,23 @@ public interface SignatureService {
      */
     SignatureFileDescriptionEntity uploadDocument(MultipartFile content, String url, Boolean rewrite, String signatureType);
 
+    /**
+     * Get directory for uploaded files
+     *
+     * @param signatureType type of the signature, null for documents
+     * @return directory path
+     */
+    String getUploadDirectory(String signatureType);
+
+    /**
+     * Update caches and the signatures library for the uploaded file and describe it
+     *
+     * @param filePath      path to uploaded file
+     * @param signatureType type of the signature, null for documents
+     * @return uploaded document object
+     */
+    SignatureFileDescriptionEntity describeUploadedFile(String filePath, String signatureType);
+
     /**
      * Delete signature file from local storage
      *
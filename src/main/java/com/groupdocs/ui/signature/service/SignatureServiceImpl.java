@@ -4,7 +4,6 @@ import com.aspose.words.IncorrectPasswordException;
 import com.groupdocs.signature.domain.DocumentDescription;
 import com.groupdocs.signature.handler.SignatureHandler;
 import com.groupdocs.signature.internal.c.a.s.InvalidPasswordException;
-import com.groupdocs.signature.licensing.License;
 import com.groupdocs.ui.config.GlobalConfiguration;
 import com.groupdocs.ui.exception.TotalGroupDocsException;
 import com.groupdocs.ui.model.request.LoadDocumentPageRequest;
@@ -13,12 +12,30 @@ import com.groupdocs.ui.model.response.LoadDocumentEntity;
 import com.groupdocs.ui.model.response.PageDescriptionEntity;
 import com.groupdocs.ui.signature.SignatureConfiguration;
 import com.groupdocs.ui.signature.SignatureLoader;
+import com.groupdocs.ui.signature.cache.DocumentSessionCache;
+import com.groupdocs.ui.signature.cache.DocumentSessionCache.DocumentSession;
+import com.groupdocs.ui.signature.cache.PageImageCache;
+import com.groupdocs.ui.signature.cache.PageImageKey;
+import com.groupdocs.ui.signature.cache.PageThumbnailCache;
+import com.groupdocs.ui.signature.cache.SignatureTemplateCache;
+import com.groupdocs.ui.signature.cache.SignatureThumbnailCache;
+import com.groupdocs.ui.signature.cache.SignatureThumbnailKey;
+import com.groupdocs.ui.signature.library.SignatureLibraryEntry;
+import com.groupdocs.ui.signature.library.SignatureLibraryIndex;
+import com.groupdocs.ui.signature.metrics.SignatureMetrics;
 import com.groupdocs.ui.signature.model.request.DeleteSignatureFileRequest;
 import com.groupdocs.ui.signature.model.request.LoadSignatureImageRequest;
+import com.groupdocs.ui.signature.model.request.SignatureFileTreePageRequest;
 import com.groupdocs.ui.signature.model.request.SignatureFileTreeRequest;
+import com.groupdocs.ui.signature.model.web.PageThumbnailEntity;
+import com.groupdocs.ui.signature.model.web.PageThumbnailsEntity;
 import com.groupdocs.ui.signature.model.web.SignatureFileDescriptionEntity;
+import com.groupdocs.ui.signature.model.web.SignatureFileTreePageEntity;
 import com.groupdocs.ui.signature.model.web.SignaturePageEntity;
+import com.groupdocs.ui.signature.model.xml.DocumentMetadataXmlEntity;
+import com.groupdocs.ui.signature.model.xml.PageSizeXmlEntity;
 import com.groupdocs.ui.util.directory.SignatureDirectory;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,14 +48,18 @@ import java.awt.*;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.groupdocs.ui.signature.SignatureType.*;
+import static com.groupdocs.ui.signature.metrics.SignatureMetrics.*;
 import static com.groupdocs.ui.signature.service.SignatureHandlerFactory.getFullDataPathStr;
 import static com.groupdocs.ui.util.Utils.*;
-import static com.groupdocs.ui.util.directory.PathConstants.DATA_FOLDER;
 
 @Service
 public class SignatureServiceImpl implements SignatureService {
@@ -47,11 +68,58 @@ public class SignatureServiceImpl implements SignatureService {
 
     public static final String PNG = "png";
 
-    private SignatureHandler signatureHandler;
+    public static final int PAGE_RESOLUTION = 100;
+
+    private static final int DEFAULT_PAGE_LIMIT = 50;
+    private static final int MAX_PAGE_LIMIT = 1000;
+    private static final int MAX_THUMBNAIL_SIZE = 1000;
+
+    private static final String PAGE_URL = "%s/signature/page/%s/%d.png";
+    private static final String THUMBNAIL_URL = "%s/signature/thumbnail/%s/%d.png";
+    private static final String SPRITE_URL = "%s/signature/thumbnail/%s/sprite/%d.png";
+
+    @Autowired
+    private SignatureHandlerPool signatureHandlerPool;
+
+    @Autowired
+    private PageImageCache pageImageCache;
+
+    @Autowired
+    private DocumentSessionCache documentSessionCache;
+
+    @Autowired
+    private DocumentMetadataStore documentMetadataStore;
+
+    @Autowired
+    private DocumentPrerenderer documentPrerenderer;
+
+    @Autowired
+    private PageRenderExecutor pageRenderExecutor;
+
+    @Autowired
+    private PagePrefetcher pagePrefetcher;
+
+    @Autowired
+    private SignatureThumbnailCache signatureThumbnailCache;
+
+    @Autowired
+    private PageThumbnailCache pageThumbnailCache;
+
+    @Autowired
+    private PageThumbnailRenderer pageThumbnailRenderer;
+
+    @Autowired
+    private SignatureTemplateCache signatureTemplateCache;
 
     @Autowired
     private SignatureLoader signatureLoader;
 
+    @Autowired
+    private ContentHashService contentHashService;
+
+    @Autowired
+    private SignatureLibraryIndex signatureLibraryIndex;
+
     @Autowired
     private GlobalConfiguration globalConfiguration;
 
@@ -63,20 +131,8 @@ public class SignatureServiceImpl implements SignatureService {
      */
     @PostConstruct
     public void init() {
-        // set GroupDocs license
-        try {
-            License license = new License();
-            license.setLicense(globalConfiguration.getApplication().getLicensePath());
-        } catch (Throwable exc) {
-            logger.error("Can not verify Signature license!");
-        }
-
-        // check if the data directory is set, if not set a new directory
-        String filesDirectory = signatureConfiguration.getFilesDirectory();
-        if (StringUtils.isEmpty(signatureConfiguration.getDataDirectory())) {
-            signatureConfiguration.setDataDirectory(filesDirectory + DATA_FOLDER);
-        }
-        signatureHandler = SignatureHandlerFactory.createHandler(filesDirectory, signatureConfiguration.getDataDirectory());
+        // create data directories
+        SignatureHandlerFactory.createDirectories(signatureConfiguration.getDataDirectory());
     }
 
     /**
@@ -95,16 +151,10 @@ public class SignatureServiceImpl implements SignatureService {
         // get file list from storage path
         try {
             String signatureType = fileTreeRequest.getSignatureType() == null ? "" : fileTreeRequest.getSignatureType();
-            String signatureTypePath = SignatureDirectory.getPathFromSignatureType(signatureType);
-            String rootDirectory = StringUtils.isEmpty(signatureTypePath) ?
-                    signatureConfiguration.getFilesDirectory() :
-                    getFullDataPathStr(signatureConfiguration.getDataDirectory(), signatureTypePath);
-            // get all the files from a directory
-            String relDirPath = fileTreeRequest.getPath();
-            if (StringUtils.isEmpty(relDirPath)) {
-                relDirPath = rootDirectory;
-            } else {
-                relDirPath = String.format("%s%s%s", rootDirectory, File.separator, relDirPath);
+            String relDirPath = getListedDirectory(fileTreeRequest);
+            if (signatureLibraryIndex.isIndexed(signatureType, relDirPath)) {
+                // signatures are listed from memory
+                return signatureLibraryIndex.getFiles(signatureType);
             }
             return getFilesList(signatureType, relDirPath);
         } catch (Exception ex) {
@@ -113,7 +163,76 @@ public class SignatureServiceImpl implements SignatureService {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SignatureFileTreePageEntity getFileListPage(SignatureFileTreePageRequest fileTreePageRequest) {
+        int limit = fileTreePageRequest.getLimit() == null || fileTreePageRequest.getLimit() <= 0 ?
+                DEFAULT_PAGE_LIMIT : Math.min(fileTreePageRequest.getLimit(), MAX_PAGE_LIMIT);
+        int offset = fileTreePageRequest.getOffset() == null ? 0 : Math.max(fileTreePageRequest.getOffset(), 0);
+        String signatureType = fileTreePageRequest.getSignatureType() == null ? "" : fileTreePageRequest.getSignatureType();
+        String relDirPath = getListedDirectory(fileTreePageRequest);
+        SignatureFileTreePageEntity page = new SignatureFileTreePageEntity();
+        try {
+            if (signatureLibraryIndex.isIndexed(signatureType, relDirPath)) {
+                // only the files of the page are described, so the page cost doesn't depend on the library size
+                List<SignatureLibraryEntry> entries = signatureLibraryIndex.getEntries(signatureType);
+                if (!StringUtils.isEmpty(fileTreePageRequest.getContinuationToken())) {
+                    offset = SignatureLibraryIndex.indexAfter(entries, fileTreePageRequest.getContinuationToken());
+                }
+                int end = Math.min(entries.size(), offset + limit);
+                List<SignatureFileDescriptionEntity> files = new ArrayList<>(Math.max(end - offset, 0));
+                for (int i = offset; i < end; i++) {
+                    files.add(signatureLibraryIndex.describe(entries.get(i)));
+                }
+                page.setFiles(files);
+                page.setTotal(entries.size());
+                if (end < entries.size()) {
+                    page.setContinuationToken(entries.get(end - 1).getContinuationToken());
+                }
+            } else {
+                List<SignatureFileDescriptionEntity> fileList = getFilesList(signatureType, relDirPath);
+                int end = Math.min(fileList.size(), offset + limit);
+                page.setFiles(offset < end ? new ArrayList<>(fileList.subList(offset, end)) : new ArrayList<>());
+                page.setTotal(fileList.size());
+            }
+        } catch (TotalGroupDocsException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Exception occurred while getting file list page", ex);
+            throw new TotalGroupDocsException(ex.getMessage(), ex);
+        }
+        page.setOffset(offset);
+        int nextOffset = offset + page.getFiles().size();
+        if (nextOffset < page.getTotal()) {
+            page.setNextOffset(nextOffset);
+        }
+        return page;
+    }
+
+    private String getListedDirectory(SignatureFileTreeRequest fileTreeRequest) {
+        String signatureType = fileTreeRequest.getSignatureType() == null ? "" : fileTreeRequest.getSignatureType();
+        String signatureTypePath = SignatureDirectory.getPathFromSignatureType(signatureType);
+        String rootDirectory = StringUtils.isEmpty(signatureTypePath) ?
+                signatureConfiguration.getFilesDirectory() :
+                getFullDataPathStr(signatureConfiguration.getDataDirectory(), signatureTypePath);
+        // get all the files from a directory
+        String relDirPath = fileTreeRequest.getPath();
+        if (StringUtils.isEmpty(relDirPath)) {
+            return rootDirectory;
+        }
+        return String.format("%s%s%s", rootDirectory, File.separator, relDirPath);
+    }
+
     private List<SignatureFileDescriptionEntity> getFilesList(String signatureType, String relDirPath) {
+        List<SignatureFileDescriptionEntity> fileList = SignatureMetrics.time(FILES_LIST,
+                () -> loadFilesList(signatureType, relDirPath), TYPE, SignatureMetrics.type(signatureType));
+        SignatureMetrics.record(FILES_COUNT, fileList.size(), TYPE, SignatureMetrics.type(signatureType));
+        return fileList;
+    }
+
+    private List<SignatureFileDescriptionEntity> loadFilesList(String signatureType, String relDirPath) {
         List<SignatureFileDescriptionEntity> fileList;
         switch (signatureType) {
             case DIGITAL:
@@ -133,6 +252,11 @@ public class SignatureServiceImpl implements SignatureService {
                 break;
             default:
                 fileList = signatureLoader.loadFiles(relDirPath, signatureConfiguration.getDataDirectory());
+                for (SignatureFileDescriptionEntity file : fileList) {
+                    if (!Boolean.TRUE.equals(file.isDirectory())) {
+                        file.setContentHash(contentHashService.getContentHash(new File(file.getGuid())));
+                    }
+                }
                 break;
         }
         return fileList;
@@ -145,27 +269,46 @@ public class SignatureServiceImpl implements SignatureService {
     public LoadDocumentEntity getDocumentDescription(LoadDocumentRequest loadDocumentRequest) {
         String documentGuid = loadDocumentRequest.getGuid();
         String password = loadDocumentRequest.getPassword();
+        Timer.Sample sample = SignatureMetrics.start();
+        boolean success = false;
+        String pages = SignatureMetrics.UNKNOWN;
+        SignatureHandler signatureHandler = signatureHandlerPool.borrow();
         try {
-            // get document info container
-            DocumentDescription documentDescription = signatureHandler.getDocumentDescription(documentGuid,
-                    password);
-            List<PageDescriptionEntity> pagesDescription = new ArrayList<>();
-            // get info about each document page
-            boolean loadData = signatureConfiguration.getPreloadPageCount() == 0;
-            for (int i = 1; i <= documentDescription.getPageCount(); i++) {
-                PageDescriptionEntity description = getPageDescriptionEntity(documentGuid, password, i, loadData);
+            // get page count from the opened document or open it
+            int pageCount = documentSessionCache.getSession(documentGuid, password,
+                    () -> openDocument(signatureHandler, documentGuid, password)).getPageCount();
+            pages = SignatureMetrics.pageCountBucket(pageCount);
+            // get size and image of the preloaded pages, pages are processed concurrently
+            int preloadedPages = getPreloadedPageCount(pageCount);
+            Map<Integer, Dimension> loadedPageSizes = new ConcurrentHashMap<>();
+            List<PageDescriptionEntity> pagesDescription = pageRenderExecutor.processPages(signatureHandler, preloadedPages,
+                    (handler, pageNumber) -> getPageDescriptionEntity(handler, documentGuid, password, pageNumber, true, loadedPageSizes));
+            if (StringUtils.isEmpty(password)) {
+                documentMetadataStore.save(documentGuid, pageCount, loadedPageSizes);
+            }
+            // remaining pages are loaded on page scrolling
+            for (int pageNumber = preloadedPages + 1; pageNumber <= pageCount; pageNumber++) {
+                PageDescriptionEntity description = new PageDescriptionEntity();
+                description.setNumber(pageNumber);
                 pagesDescription.add(description);
             }
+            pagePrefetcher.prefetch(documentGuid, password, preloadedPages + 1, pageCount);
             LoadDocumentEntity loadDocumentEntity = new LoadDocumentEntity();
             loadDocumentEntity.setGuid(loadDocumentRequest.getGuid());
             loadDocumentEntity.setPages(pagesDescription);
+            success = true;
             // return document description
             return loadDocumentEntity;
         } catch (IncorrectPasswordException | InvalidPasswordException | com.groupdocs.signature.internal.c.a.pd.exceptions.InvalidPasswordException ex) {
             throw new TotalGroupDocsException(getExceptionMessage(password), ex);
+        } catch (TotalGroupDocsException ex) {
+            throw ex;
         } catch (Exception ex) {
             logger.error("Exception occurred while loading document description", ex);
             throw new TotalGroupDocsException(ex.getMessage(), ex);
+        } finally {
+            signatureHandlerPool.release(signatureHandler);
+            SignatureMetrics.stop(sample, DOCUMENT_LOAD, success, FORMAT, SignatureMetrics.format(documentGuid), PAGES, pages);
         }
     }
 
@@ -174,37 +317,285 @@ public class SignatureServiceImpl implements SignatureService {
      */
     @Override
     public PageDescriptionEntity loadDocumentPage(LoadDocumentPageRequest loadDocumentPageRequest) {
+        String documentGuid = loadDocumentPageRequest.getGuid();
+        Timer.Sample sample = SignatureMetrics.start();
+        boolean success = false;
+        SignatureHandler signatureHandler = signatureHandlerPool.borrow();
         try {
-            String documentGuid = loadDocumentPageRequest.getGuid();
             int pageNumber = loadDocumentPageRequest.getPage();
             String password = loadDocumentPageRequest.getPassword();
             // get page data
-            PageDescriptionEntity pageDescriptionEntity = getPageDescriptionEntity(documentGuid, password, pageNumber, true);
+            Map<Integer, Dimension> loadedPageSizes = new HashMap<>();
+            PageDescriptionEntity pageDescriptionEntity = getPageDescriptionEntity(signatureHandler, documentGuid, password, pageNumber, true, loadedPageSizes);
+            if (StringUtils.isEmpty(password) && !loadedPageSizes.isEmpty()) {
+                DocumentMetadataXmlEntity metadata = documentMetadataStore.get(documentGuid);
+                if (metadata != null && metadata.getPageCount() > 0) {
+                    documentMetadataStore.save(documentGuid, metadata.getPageCount(), loadedPageSizes);
+                }
+            }
+            pagePrefetcher.prefetchAfter(documentGuid, password, pageNumber);
+            success = true;
             // return loaded page object
             return pageDescriptionEntity;
         } catch (Exception ex) {
             logger.error("Exception occurred while loading document page", ex);
             throw new TotalGroupDocsException(ex.getMessage(), ex);
+        } finally {
+            signatureHandlerPool.release(signatureHandler);
+            SignatureMetrics.stop(sample, DOCUMENT_PAGE, success, FORMAT, SignatureMetrics.format(documentGuid));
+        }
+    }
+
+    /**
+     * Get number of pages loaded with the document description
+     *
+     * @param pageCount number of pages in the document
+     * @return number of preloaded pages, all pages if preloading is disabled
+     */
+    private int getPreloadedPageCount(int pageCount) {
+        Integer preloadPageCount = signatureConfiguration.getPreloadPageCount();
+        if (preloadPageCount == null || preloadPageCount <= 0) {
+            return pageCount;
+        }
+        return Math.min(preloadPageCount, pageCount);
+    }
+
+    /**
+     * Open the document: take page count and page sizes from stored metadata of the document
+     * or get the page count from the engine, documents known to require a password are not opened without it
+     *
+     * @param signatureHandler signature handler
+     * @param documentGuid     path to document
+     * @param password         document password
+     * @return document session
+     * @throws Exception
+     */
+    private DocumentSession openDocument(SignatureHandler signatureHandler, String documentGuid, String password) throws Exception {
+        DocumentMetadataXmlEntity metadata = documentMetadataStore.get(documentGuid);
+        if (metadata != null && metadata.isPasswordRequired() && StringUtils.isEmpty(password)) {
+            throw new TotalGroupDocsException(getExceptionMessage(password));
+        }
+        // password of protected documents is always checked by the engine
+        if (metadata != null && !metadata.isPasswordRequired() && metadata.getPageCount() > 0) {
+            Map<Integer, Dimension> pageSizes = new HashMap<>();
+            for (PageSizeXmlEntity page : metadata.getPages()) {
+                pageSizes.put(page.getNumber(), new Dimension(page.getWidth(), page.getHeight()));
+            }
+            return new DocumentSession(metadata.getPageCount(), pageSizes);
+        }
+        try {
+            DocumentDescription documentDescription = SignatureMetrics.timeCall(ENGINE_DESCRIPTION,
+                    () -> signatureHandler.getDocumentDescription(documentGuid, password), FORMAT, SignatureMetrics.format(documentGuid));
+            return new DocumentSession(documentDescription.getPageCount());
+        } catch (IncorrectPasswordException | InvalidPasswordException | com.groupdocs.signature.internal.c.a.pd.exceptions.InvalidPasswordException ex) {
+            if (StringUtils.isEmpty(password)) {
+                documentMetadataStore.savePasswordRequired(documentGuid);
+            }
+            throw ex;
         }
     }
 
-    private PageDescriptionEntity getPageDescriptionEntity(String documentGuid, String password, int i, boolean withImage) throws Exception {
+    private PageDescriptionEntity getPageDescriptionEntity(SignatureHandler signatureHandler, String documentGuid, String password, int i, boolean withImage,
+                                                           Map<Integer, Dimension> loadedPageSizes) throws Exception {
         PageDescriptionEntity description = new PageDescriptionEntity();
-        // get current page size
-        Dimension pageSize = signatureHandler.getDocumentPageSize(documentGuid, i, password, (double)0, (double)0, null);
+        // get current page size, sizes are kept while the document is opened, loaded ones are collected to be stored
+        Dimension pageSize = documentSessionCache.getPageSize(documentGuid, password, i, () -> {
+            Dimension loadedPageSize = SignatureMetrics.timeCall(ENGINE_PAGE_SIZE,
+                    () -> signatureHandler.getDocumentPageSize(documentGuid, i, password, (double) 0, (double) 0, null), FORMAT, SignatureMetrics.format(documentGuid));
+            loadedPageSizes.put(i, loadedPageSize);
+            return loadedPageSize;
+        });
         // set current page info for result
         description.setHeight(pageSize.getHeight());
         description.setWidth(pageSize.getWidth());
         description.setNumber(i);
         if (withImage) {
-            loadImage(documentGuid, password, i, description);
+            if (isInlineImage(password)) {
+                loadImage(signatureHandler, documentGuid, password, i, description);
+            } else {
+                description.setUrl(String.format(PAGE_URL, globalConfiguration.getServer().getApplicationContextPath(), encodeDocumentId(documentGuid), i));
+            }
         }
         return description;
     }
 
-    private void loadImage(String documentGuid, String password, int i, PageDescriptionEntity description) throws Exception {
-        byte[] pageImage = signatureHandler.getPageImage(documentGuid, i, password, null, 100);
-        description.setData(new String(Base64.getEncoder().encode(pageImage)));
+    /**
+     * Check if page image should be sent inside JSON response,
+     * images of password protected documents are always inlined to keep the password out of urls
+     *
+     * @param password document password
+     * @return true if image data is inlined
+     */
+    private boolean isInlineImage(String password) {
+        return !Boolean.FALSE.equals(signatureConfiguration.getInlineImages()) || !StringUtils.isEmpty(password);
+    }
+
+    private void loadImage(SignatureHandler signatureHandler, String documentGuid, String password, int i, PageDescriptionEntity description) throws Exception {
+        byte[] pageImage = pageImageCache.getPageImage(documentGuid, i, PAGE_RESOLUTION, password,
+                () -> renderPageImage(signatureHandler, documentGuid, i, password));
+        description.setData(Base64.getEncoder().encodeToString(pageImage));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getPageImage(String documentGuid, int pageNumber, String password) {
+        try {
+            // signature handler is needed only if the image is not cached yet
+            byte[] pageImage = pageImageCache.getImage(PageImageKey.of(documentGuid, pageNumber, PAGE_RESOLUTION, password), signatureHandlerPool,
+                    signatureHandler -> renderPageImage(signatureHandler, documentGuid, pageNumber, password));
+            pagePrefetcher.prefetchAfter(documentGuid, password, pageNumber);
+            return pageImage;
+        } catch (IncorrectPasswordException | InvalidPasswordException | com.groupdocs.signature.internal.c.a.pd.exceptions.InvalidPasswordException ex) {
+            throw new TotalGroupDocsException(getExceptionMessage(password), ex);
+        } catch (Exception ex) {
+            logger.error("Exception occurred while loading page image", ex);
+            throw new TotalGroupDocsException(ex.getMessage(), ex);
+        }
+    }
+
+    private byte[] renderPageImage(SignatureHandler signatureHandler, String documentGuid, int pageNumber, String password) throws Exception {
+        String format = SignatureMetrics.format(documentGuid);
+        byte[] pageImage = SignatureMetrics.timeCall(ENGINE_PAGE_IMAGE,
+                () -> signatureHandler.getPageImage(documentGuid, pageNumber, password, null, PAGE_RESOLUTION), FORMAT, format);
+        SignatureMetrics.record(PAGE_IMAGE_BYTES, pageImage.length, FORMAT, format);
+        return pageImage;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PageThumbnailsEntity loadPageThumbnails(LoadDocumentRequest loadDocumentRequest) {
+        String documentGuid = loadDocumentRequest.getGuid();
+        String password = loadDocumentRequest.getPassword();
+        SignatureHandler signatureHandler = signatureHandlerPool.borrow();
+        try {
+            int pageCount = documentSessionCache.getSession(documentGuid, password,
+                    () -> openDocument(signatureHandler, documentGuid, password)).getPageCount();
+            int size = pageThumbnailRenderer.getSize();
+            String applicationContextPath = globalConfiguration.getServer().getApplicationContextPath();
+            String documentId = encodeDocumentId(documentGuid);
+            boolean inlineImages = !StringUtils.isEmpty(password);
+            List<PageThumbnailEntity> thumbnails = new ArrayList<>(pageCount);
+            for (int pageNumber = 1; pageNumber <= pageCount; pageNumber++) {
+                // position of the page in the sprite sheets, see PageThumbnailRenderer
+                int index = (pageNumber - 1) % PageThumbnailRenderer.SPRITE_PAGES;
+                PageThumbnailEntity thumbnail = new PageThumbnailEntity();
+                thumbnail.setNumber(pageNumber);
+                thumbnail.setSprite((pageNumber - 1) / PageThumbnailRenderer.SPRITE_PAGES);
+                thumbnail.setLeft(index % PageThumbnailRenderer.SPRITE_COLUMNS * size);
+                thumbnail.setTop(index / PageThumbnailRenderer.SPRITE_COLUMNS * size);
+                if (!inlineImages) {
+                    thumbnail.setUrl(String.format(THUMBNAIL_URL, applicationContextPath, documentId, pageNumber));
+                }
+                thumbnails.add(thumbnail);
+            }
+            List<String> sprites = new ArrayList<>();
+            for (int spriteNumber = 0; spriteNumber < PageThumbnailRenderer.getSpriteCount(pageCount); spriteNumber++) {
+                // images of password protected documents are inlined to keep the password out of urls
+                sprites.add(inlineImages ?
+                        Base64.getEncoder().encodeToString(pageThumbnailRenderer.getSprite(signatureHandler, documentGuid, spriteNumber, pageCount, password)) :
+                        String.format(SPRITE_URL, applicationContextPath, documentId, spriteNumber));
+            }
+            PageThumbnailsEntity pageThumbnailsEntity = new PageThumbnailsEntity();
+            pageThumbnailsEntity.setGuid(documentGuid);
+            pageThumbnailsEntity.setSize(size);
+            pageThumbnailsEntity.setThumbnails(thumbnails);
+            if (inlineImages) {
+                pageThumbnailsEntity.setSpriteData(sprites);
+            } else {
+                pageThumbnailsEntity.setSpriteUrls(sprites);
+            }
+            return pageThumbnailsEntity;
+        } catch (IncorrectPasswordException | InvalidPasswordException | com.groupdocs.signature.internal.c.a.pd.exceptions.InvalidPasswordException ex) {
+            throw new TotalGroupDocsException(getExceptionMessage(password), ex);
+        } catch (TotalGroupDocsException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Exception occurred while loading page thumbnails", ex);
+            throw new TotalGroupDocsException(ex.getMessage(), ex);
+        } finally {
+            signatureHandlerPool.release(signatureHandler);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getPageThumbnail(String documentGuid, int pageNumber, String password) {
+        try {
+            // signature handler is needed only if the thumbnail is not cached yet
+            return pageThumbnailRenderer.getThumbnail(documentGuid, pageNumber, password);
+        } catch (IncorrectPasswordException | InvalidPasswordException | com.groupdocs.signature.internal.c.a.pd.exceptions.InvalidPasswordException ex) {
+            throw new TotalGroupDocsException(getExceptionMessage(password), ex);
+        } catch (Exception ex) {
+            logger.error("Exception occurred while loading page thumbnail", ex);
+            throw new TotalGroupDocsException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getPageThumbnailSprite(String documentGuid, int spriteNumber, String password) {
+        SignatureHandler signatureHandler = signatureHandlerPool.borrow();
+        try {
+            int pageCount = documentSessionCache.getSession(documentGuid, password,
+                    () -> openDocument(signatureHandler, documentGuid, password)).getPageCount();
+            if (spriteNumber < 0 || spriteNumber >= PageThumbnailRenderer.getSpriteCount(pageCount)) {
+                throw new TotalGroupDocsException("Sprite not found");
+            }
+            return pageThumbnailRenderer.getSprite(signatureHandler, documentGuid, spriteNumber, pageCount, password);
+        } catch (IncorrectPasswordException | InvalidPasswordException | com.groupdocs.signature.internal.c.a.pd.exceptions.InvalidPasswordException ex) {
+            throw new TotalGroupDocsException(getExceptionMessage(password), ex);
+        } catch (TotalGroupDocsException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Exception occurred while loading page thumbnails sprite", ex);
+            throw new TotalGroupDocsException(ex.getMessage(), ex);
+        } finally {
+            signatureHandlerPool.release(signatureHandler);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getSignatureThumbnail(String guid, Integer size) {
+        try {
+            File file = getSignatureFile(guid);
+            int thumbnailSize = size == null || size <= 0 ? signatureConfiguration.getThumbnailSize() : Math.min(size, MAX_THUMBNAIL_SIZE);
+            return signatureThumbnailCache.getImage(SignatureThumbnailKey.of(guid, thumbnailSize),
+                    () -> downscaleImage(Files.readAllBytes(file.toPath()), thumbnailSize));
+        } catch (TotalGroupDocsException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            logger.error("Exception occurred while loading signature thumbnail", ex);
+            throw new TotalGroupDocsException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public File getSignatureFile(String guid) {
+        File file = new File(guid);
+        try {
+            // only signatures can be requested, not arbitrary files of the server
+            String dataDirectory = new File(signatureConfiguration.getDataDirectory()).getCanonicalPath() + File.separator;
+            if (!file.isFile() || !file.getCanonicalPath().startsWith(dataDirectory)) {
+                throw new TotalGroupDocsException("Signature not found");
+            }
+        } catch (IOException ex) {
+            throw new TotalGroupDocsException("Signature not found", ex);
+        }
+        return file;
     }
 
     /**
@@ -212,16 +603,47 @@ public class SignatureServiceImpl implements SignatureService {
      */
     @Override
     public SignatureFileDescriptionEntity uploadDocument(MultipartFile content, String url, Boolean rewrite, String signatureType) {
+        // save the file
+        String directory = getUploadDirectory(signatureType);
+        String filePath = contentHashService.isContentAddressed(directory) ?
+                uploadFile(directory, content, url, rewrite, contentHashService::store) :
+                uploadFile(directory, content, url, rewrite);
+        return describeUploadedFile(filePath, signatureType);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getUploadDirectory(String signatureType) {
         // get signatures storage path
         String pathFromSignatureType = signatureType == null ? "" : SignatureDirectory.getPathFromSignatureType(signatureType);
-        String documentStoragePath = StringUtils.isEmpty(pathFromSignatureType) ?
+        return StringUtils.isEmpty(pathFromSignatureType) ?
                 signatureConfiguration.getFilesDirectory() :
                 getFullDataPathStr(signatureConfiguration.getDataDirectory(), pathFromSignatureType);
-        // save the file
-        String filePath = uploadFile(documentStoragePath, content, url, rewrite);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SignatureFileDescriptionEntity describeUploadedFile(String filePath, String signatureType) {
+        // uploaded file may replace existing one
+        pageImageCache.invalidate(filePath);
+        pageThumbnailCache.invalidate(filePath);
+        documentSessionCache.invalidate(filePath);
+        if (signatureType == null) {
+            // metadata and first pages of the uploaded document are ready before the document is opened
+            documentMetadataStore.fill(filePath);
+            documentPrerenderer.prerender(filePath);
+        }
+        if (signatureType != null && !StringUtils.isEmpty(SignatureDirectory.getPathFromSignatureType(signatureType))) {
+            signatureLibraryIndex.refresh(signatureType);
+        }
         // create response data
         SignatureFileDescriptionEntity uploadedDocument = new SignatureFileDescriptionEntity();
         uploadedDocument.setGuid(filePath);
+        uploadedDocument.setContentHash(contentHashService.getContentHash(new File(filePath)));
         if (IMAGE.equals(signatureType)) {
             // get page image
             try {
@@ -240,6 +662,9 @@ public class SignatureServiceImpl implements SignatureService {
     @Override
     public void deleteSignatureFile(DeleteSignatureFileRequest deleteSignatureFileRequest) {
         signatureLoader.deleteSignatureFile(deleteSignatureFileRequest);
+        // xml file of the signature is derived by the loader, drop all templates since deleting is rare
+        signatureTemplateCache.invalidateAll();
+        signatureLibraryIndex.refresh(deleteSignatureFileRequest.getSignatureType());
     }
 
     @Override
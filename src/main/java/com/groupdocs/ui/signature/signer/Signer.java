@@ -30,7 +30,7 @@ public abstract class Signer {
      * @param rgbColor
      * @return Color
      */
-    protected Color getColor(String rgbColor) {
+    protected static Color getColor(String rgbColor) {
         String[] colors = rgbColor.split(",");
         int redColor = Integer.parseInt(colors[0].replaceAll("\\D+", ""));
         int greenColor = Integer.parseInt(colors[1].replaceAll("\\D+", ""));
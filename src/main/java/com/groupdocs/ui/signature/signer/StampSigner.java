@@ -5,7 +5,6 @@ import com.groupdocs.signature.domain.stamps.StampLine;
 import com.groupdocs.signature.domain.stamps.StampTextRepeatType;
 import com.groupdocs.signature.options.stampsignature.*;
 import com.groupdocs.ui.signature.model.web.SignatureDataEntity;
-import com.groupdocs.ui.signature.model.xml.StampXmlEntity;
 
 import java.util.List;
 
@@ -16,17 +15,17 @@ import java.util.List;
  * @author Aspose Pty Ltd
  */
 public class StampSigner extends Signer {
-    private List<StampXmlEntity> stampData;
+    private List<StampTemplate.Line> stampData;
 
     /**
      * Constructor
      *
-     * @param stampData
+     * @param stampTemplate
      * @param signatureData
      */
-    public StampSigner(List<StampXmlEntity> stampData, SignatureDataEntity signatureData) {
+    public StampSigner(StampTemplate stampTemplate, SignatureDataEntity signatureData) {
         super(signatureData);
-        this.stampData = stampData;
+        this.stampData = stampTemplate.getLines();
     }
 
     /**
@@ -49,7 +48,7 @@ public class StampSigner extends Signer {
         signOptions.setLeft(signatureData.getLeft());
         signOptions.setDocumentPageNumber(signatureData.getPageNumber());
         signOptions.setRotationAngle(signatureData.getAngle());
-        signOptions.setBackgroundColor(getColor(stampData.get(stampData.size() - 1).getBackgroundColor()));
+        signOptions.setBackgroundColor(stampData.get(stampData.size() - 1).getBackgroundColor());
         signOptions.setBackgroundColorCropType(StampBackgroundCropType.OuterArea);
         fillStamp(signOptions.getInnerLines(), signOptions.getOuterLines());
     }
@@ -108,41 +107,38 @@ public class StampSigner extends Signer {
 
     private void fillStamp(List<StampLine> innerLines, List<StampLine> outerLines) {
         for (int i = 0; i < stampData.size(); i++) {
-            StampXmlEntity stampXmlEntity = stampData.get(i);
-            String text = "";
-            for (int j = 0; j < stampXmlEntity.getTextRepeat(); j++) {
-                text = text + stampXmlEntity.getText();
-            }
+            StampTemplate.Line stampLine = stampData.get(i);
+            String text = stampLine.getText();
             // set reduction size - required to recalculate each stamp line height and font size after stamp resizing in the UI
             int reductionSize = 0;
             // check if reduction size is between 1 and 2. for example: 1.25
-            int stampXmlEntityHeight = stampXmlEntity.getHeight();
+            int stampLineHeight = stampLine.getHeight();
             int imageHeight = signatureData.getImageHeight();
-            if ((double) stampXmlEntityHeight / imageHeight > 1 && (double) stampXmlEntityHeight / imageHeight < 2) {
+            if ((double) stampLineHeight / imageHeight > 1 && (double) stampLineHeight / imageHeight < 2) {
                 reductionSize = 2;
-            } else if (stampXmlEntityHeight / imageHeight == 0) {
+            } else if (stampLineHeight / imageHeight == 0) {
                 reductionSize = 1;
             } else {
-                reductionSize = stampXmlEntityHeight / imageHeight;
+                reductionSize = stampLineHeight / imageHeight;
             }
             if ((i + 1) == stampData.size()) {
                 // draw inner horizontal line
                 StampLine squareLine = new StampLine();
-                fillTextAndFont(stampXmlEntity, text, reductionSize, squareLine);
+                fillTextAndFont(stampLine, text, reductionSize, squareLine);
                 innerLines.add(squareLine);
                 if (stampData.size() == 1) {
                     StampLine line = initStampLine(i);
-                    line.getInnerBorder().setColor(getColor(stampXmlEntity.getBackgroundColor()));
+                    line.getInnerBorder().setColor(stampLine.getBackgroundColor());
                     line.setHeight(1);
                     outerLines.add(line);
                 }
             } else {
                 // draw outer rounded lines
                 StampLine line = initStampLine(i);
-                line.getInnerBorder().setColor(getColor(stampData.get(i + 1).getStrokeColor()));
-                int height = (stampXmlEntity.getRadius() - stampData.get(i + 1).getRadius()) / reductionSize;
+                line.getInnerBorder().setColor(stampData.get(i + 1).getStrokeColor());
+                int height = (stampLine.getRadius() - stampData.get(i + 1).getRadius()) / reductionSize;
                 line.setHeight(height);
-                fillTextAndFont(stampXmlEntity, text, reductionSize, line);
+                fillTextAndFont(stampLine, text, reductionSize, line);
                 line.setTextBottomIntent((height / 2));
                 line.setTextRepeatType(StampTextRepeatType.None);
                 outerLines.add(line);
@@ -150,19 +146,19 @@ public class StampSigner extends Signer {
         }
     }
 
-    private void fillTextAndFont(StampXmlEntity stampXmlEntity, String text, int reductionSize, StampLine squareLine) {
+    private void fillTextAndFont(StampTemplate.Line stampLine, String text, int reductionSize, StampLine squareLine) {
         squareLine.setText(text);
-        squareLine.getFont().setFontSize(stampXmlEntity.getFontSize() / reductionSize);
-        squareLine.getFont().setBold(stampXmlEntity.getBold());
-        squareLine.getFont().setItalic(stampXmlEntity.getItalic());
-        squareLine.getFont().setUnderline(stampXmlEntity.getUnderline());
-        squareLine.setTextColor(getColor(stampXmlEntity.getTextColor()));
+        squareLine.getFont().setFontSize(stampLine.getFontSize() / reductionSize);
+        squareLine.getFont().setBold(stampLine.getBold());
+        squareLine.getFont().setItalic(stampLine.getItalic());
+        squareLine.getFont().setUnderline(stampLine.getUnderline());
+        squareLine.setTextColor(stampLine.getTextColor());
     }
 
     private StampLine initStampLine(int n) {
         StampLine line = new StampLine();
-        line.setBackgroundColor(getColor(stampData.get(n).getBackgroundColor()));
-        line.getOuterBorder().setColor(getColor(stampData.get(n).getStrokeColor()));
+        line.setBackgroundColor(stampData.get(n).getBackgroundColor());
+        line.getOuterBorder().setColor(stampData.get(n).getStrokeColor());
         line.getOuterBorder().setWeight(0.5);
         line.getInnerBorder().setWeight(0.5);
         return line;
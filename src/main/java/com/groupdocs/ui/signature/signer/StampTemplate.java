@@ -0,0 +1,111 @@
+package com.groupdocs.ui.signature.signer;
+
+import com.groupdocs.ui.signature.model.xml.StampXmlEntity;
+import com.groupdocs.ui.signature.model.xml.StampXmlEntityList;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * StampTemplate
+ * Stamp signature with parsed colors and repeated line texts, immutable so it can be shared by concurrent sign requests
+ */
+public class StampTemplate {
+    private final List<Line> lines;
+
+    /**
+     * Line of the stamp
+     */
+    public static class Line {
+        private final String text;
+        private final int fontSize;
+        private final boolean bold;
+        private final boolean italic;
+        private final boolean underline;
+        private final int height;
+        private final int radius;
+        private final Color textColor;
+        private final Color strokeColor;
+        private final Color backgroundColor;
+
+        Line(StampXmlEntity stampXmlEntity) {
+            String lineText = stampXmlEntity.getText();
+            int textRepeat = stampXmlEntity.getTextRepeat();
+            StringBuilder repeatedText = new StringBuilder(lineText == null ? 0 : lineText.length() * Math.max(textRepeat, 0));
+            for (int i = 0; i < textRepeat; i++) {
+                repeatedText.append(lineText);
+            }
+            this.text = repeatedText.toString();
+            this.fontSize = stampXmlEntity.getFontSize();
+            this.bold = stampXmlEntity.getBold();
+            this.italic = stampXmlEntity.getItalic();
+            this.underline = stampXmlEntity.getUnderline();
+            this.height = stampXmlEntity.getHeight();
+            this.radius = stampXmlEntity.getRadius();
+            this.textColor = Signer.getColor(stampXmlEntity.getTextColor());
+            this.strokeColor = Signer.getColor(stampXmlEntity.getStrokeColor());
+            this.backgroundColor = Signer.getColor(stampXmlEntity.getBackgroundColor());
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public int getFontSize() {
+            return fontSize;
+        }
+
+        public boolean getBold() {
+            return bold;
+        }
+
+        public boolean getItalic() {
+            return italic;
+        }
+
+        public boolean getUnderline() {
+            return underline;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public int getRadius() {
+            return radius;
+        }
+
+        public Color getTextColor() {
+            return textColor;
+        }
+
+        public Color getStrokeColor() {
+            return strokeColor;
+        }
+
+        public Color getBackgroundColor() {
+            return backgroundColor;
+        }
+    }
+
+    public StampTemplate(StampXmlEntityList stampData) {
+        List<StampXmlEntity> stampXmlEntities = stampData.getStampXmlEntityList();
+        List<Line> stampLines = new ArrayList<>(stampXmlEntities.size());
+        // since stamp lines are added starting from the most outer line we need to reverse the stamp data array
+        for (int i = stampXmlEntities.size() - 1; i >= 0; i--) {
+            stampLines.add(new Line(stampXmlEntities.get(i)));
+        }
+        this.lines = Collections.unmodifiableList(stampLines);
+    }
+
+    /**
+     * Get lines of the stamp starting from the most outer one
+     *
+     * @return stamp lines
+     */
+    public List<Line> getLines() {
+        return lines;
+    }
+}
@@ -10,7 +10,6 @@ import com.groupdocs.signature.domain.enums.SlidesTextSignatureImplementation;
 import com.groupdocs.signature.options.appearances.PdfTextAnnotationAppearance;
 import com.groupdocs.signature.options.textsignature.*;
 import com.groupdocs.ui.signature.model.web.SignatureDataEntity;
-import com.groupdocs.ui.signature.model.xml.TextXmlEntity;
 
 /**
  * TextSigner
@@ -19,7 +18,7 @@ import com.groupdocs.ui.signature.model.xml.TextXmlEntity;
  * @author Aspose Pty Ltd
  */
 public class TextSigner extends Signer {
-    private TextXmlEntity textData;
+    private TextTemplate textData;
 
     /**
      * Constructor
@@ -27,7 +26,7 @@ public class TextSigner extends Signer {
      * @param textData
      * @param signatureData
      */
-    public TextSigner(TextXmlEntity textData, SignatureDataEntity signatureData) {
+    public TextSigner(TextTemplate textData, SignatureDataEntity signatureData) {
         super(signatureData);
         this.textData = textData;
     }
@@ -86,9 +85,9 @@ public class TextSigner extends Signer {
         signOptions.setVerticalAlignment(VerticalAlignment.None);
         signOptions.setHorizontalAlignment(HorizontalAlignment.None);
         // setup colors settings
-        signOptions.setBackgroundColor(getColor(textData.getBackgroundColor()));
+        signOptions.setBackgroundColor(textData.getBackgroundColor());
         // setup text color
-        signOptions.setForeColor(getColor(textData.getFontColor()));
+        signOptions.setForeColor(textData.getFontColor());
         // setup Font options
         if (signOptions.getFont() != null) {
             signOptions.getFont().setBold(textData.getBold());
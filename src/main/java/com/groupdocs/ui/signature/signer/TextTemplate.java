@@ -0,0 +1,69 @@
+package com.groupdocs.ui.signature.signer;
+
+import com.groupdocs.ui.signature.model.xml.TextXmlEntity;
+
+import java.awt.*;
+
+/**
+ * TextTemplate
+ * Text signature with parsed colors, immutable so it can be shared by concurrent sign requests
+ */
+public class TextTemplate {
+    private final String text;
+    private final String font;
+    private final int fontSize;
+    private final boolean bold;
+    private final boolean italic;
+    private final boolean underline;
+    private final int height;
+    private final Color backgroundColor;
+    private final Color fontColor;
+
+    public TextTemplate(TextXmlEntity textData) {
+        this.text = textData.getText();
+        this.font = textData.getFont();
+        this.fontSize = textData.getFontSize();
+        this.bold = textData.getBold();
+        this.italic = textData.getItalic();
+        this.underline = textData.getUnderline();
+        this.height = textData.getHeight();
+        this.backgroundColor = Signer.getColor(textData.getBackgroundColor());
+        this.fontColor = Signer.getColor(textData.getFontColor());
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getFont() {
+        return font;
+    }
+
+    public int getFontSize() {
+        return fontSize;
+    }
+
+    public boolean getBold() {
+        return bold;
+    }
+
+    public boolean getItalic() {
+        return italic;
+    }
+
+    public boolean getUnderline() {
+        return underline;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public Color getBackgroundColor() {
+        return backgroundColor;
+    }
+
+    public Color getFontColor() {
+        return fontColor;
+    }
+}
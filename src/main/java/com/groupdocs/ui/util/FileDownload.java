@@ -0,0 +1,253 @@
+package com.groupdocs.ui.util;
+
+import org.springframework.http.HttpHeaders;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM_VALUE;
+
+/**
+ * FileDownload
+ * Sends files with conditional and range requests support, so downloads can be validated by ETag and resumed.
+ * The file is transferred from the file channel, its content never goes through the heap as a whole.
+ */
+public class FileDownload {
+
+    /**
+     * More ranges than this are answered with the whole file
+     */
+    static final int MAX_RANGES = 16;
+
+    private static final String BYTES_UNIT = "bytes";
+    private static final String CRLF = "\r\n";
+
+    /**
+     * Range of bytes, both ends are inclusive
+     */
+    static final class Range {
+        final long start;
+        final long end;
+
+        Range(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        long length() {
+            return end - start + 1;
+        }
+
+        String contentRange(long fileLength) {
+            return BYTES_UNIT + " " + start + "-" + end + "/" + fileLength;
+        }
+    }
+
+    /**
+     * Send the file as attachment, answers 304 for the current ETag, 206 for satisfiable ranges and 416 for others
+     *
+     * @param request  http request
+     * @param response http response
+     * @param file     file to send
+     * @param fileName name of the attachment
+     * @throws IOException
+     */
+    public static void send(HttpServletRequest request, HttpServletResponse response, File file, String fileName) throws IOException {
+        long fileLength = file.length();
+        long lastModified = file.lastModified();
+        String eTag = String.format("\"%x-%x\"", lastModified, fileLength);
+
+        Utils.addFileDownloadHeaders(response, fileName, null);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT);
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        if (isNotModified(request, eTag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        List<Range> ranges = null;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && isIfRangeCurrent(request, eTag, lastModified)) {
+            ranges = parseRanges(rangeHeader, fileLength);
+        }
+        if (ranges != null && ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " */" + fileLength);
+            return;
+        }
+
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+             OutputStream outputStream = response.getOutputStream()) {
+            WritableByteChannel outputChannel = Channels.newChannel(outputStream);
+            if (ranges == null) {
+                Utils.addFileDownloadLengthHeader(response, fileLength);
+                transfer(fileChannel, 0, fileLength, outputChannel);
+            } else if (ranges.size() == 1) {
+                Range range = ranges.get(0);
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(fileLength));
+                Utils.addFileDownloadLengthHeader(response, range.length());
+                transfer(fileChannel, range.start, range.length(), outputChannel);
+            } else {
+                String boundary = UUID.randomUUID().toString();
+                List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+                long contentLength = 0;
+                for (Range range : ranges) {
+                    byte[] partHeader = (CRLF + "--" + boundary + CRLF +
+                            HttpHeaders.CONTENT_TYPE + ": " + APPLICATION_OCTET_STREAM_VALUE + CRLF +
+                            HttpHeaders.CONTENT_RANGE + ": " + range.contentRange(fileLength) + CRLF + CRLF)
+                            .getBytes(StandardCharsets.US_ASCII);
+                    partHeaders.add(partHeader);
+                    contentLength += partHeader.length + range.length();
+                }
+                byte[] closingBoundary = (CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+                contentLength += closingBoundary.length;
+
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setContentType("multipart/byteranges; boundary=" + boundary);
+                Utils.addFileDownloadLengthHeader(response, contentLength);
+                for (int i = 0; i < ranges.size(); i++) {
+                    Range range = ranges.get(i);
+                    outputStream.write(partHeaders.get(i));
+                    transfer(fileChannel, range.start, range.length(), outputChannel);
+                }
+                outputStream.write(closingBoundary);
+            }
+        }
+    }
+
+    /**
+     * Parse value of the Range header. Overlapping and adjacent ranges are merged (RFC 7233, section 4.1),
+     * so repeated ranges can't make the response bigger than the file
+     *
+     * @param rangeHeader value of the Range header
+     * @param fileLength  length of the file
+     * @return satisfiable ranges in ascending order, empty list if no range can be satisfied, null if the header must be ignored
+     */
+    static List<Range> parseRanges(String rangeHeader, long fileLength) {
+        String prefix = BYTES_UNIT + "=";
+        if (!rangeHeader.startsWith(prefix)) {
+            return null;
+        }
+        String[] rangeSpecs = rangeHeader.substring(prefix.length()).split(",");
+        if (rangeSpecs.length > MAX_RANGES) {
+            return null;
+        }
+        List<Range> ranges = new ArrayList<>(rangeSpecs.length);
+        for (String rangeSpec : rangeSpecs) {
+            String spec = rangeSpec.trim();
+            int dash = spec.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            try {
+                String first = spec.substring(0, dash).trim();
+                String last = spec.substring(dash + 1).trim();
+                if (first.isEmpty()) {
+                    // suffix range: last bytes of the file
+                    long suffixLength = Long.parseLong(last);
+                    if (suffixLength < 0) {
+                        return null;
+                    }
+                    if (suffixLength > 0 && fileLength > 0) {
+                        ranges.add(new Range(Math.max(0, fileLength - suffixLength), fileLength - 1));
+                    }
+                    continue;
+                }
+                long start = Long.parseLong(first);
+                long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+                if (start < 0 || end < start) {
+                    return null;
+                }
+                if (start < fileLength) {
+                    ranges.add(new Range(start, Math.min(end, fileLength - 1)));
+                }
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+        return ranges.isEmpty() ? Collections.<Range>emptyList() : merge(ranges);
+    }
+
+    private static List<Range> merge(List<Range> ranges) {
+        if (ranges.size() == 1) {
+            return ranges;
+        }
+        List<Range> sortedRanges = new ArrayList<>(ranges);
+        sortedRanges.sort(Comparator.comparingLong(range -> range.start));
+        List<Range> mergedRanges = new ArrayList<>(sortedRanges.size());
+        Range current = sortedRanges.get(0);
+        for (Range range : sortedRanges.subList(1, sortedRanges.size())) {
+            if (range.start <= current.end + 1) {
+                current = new Range(current.start, Math.max(current.end, range.end));
+            } else {
+                mergedRanges.add(current);
+                current = range;
+            }
+        }
+        mergedRanges.add(current);
+        return mergedRanges;
+    }
+
+    private static boolean isNotModified(HttpServletRequest request, String eTag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                String trimmedTag = tag.trim();
+                if ("*".equals(trimmedTag) || eTag.equals(trimmedTag) || ("W/" + eTag).equals(trimmedTag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = getDateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        // http dates have seconds precision
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private static boolean isIfRangeCurrent(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.trim().startsWith("\"")) {
+            return eTag.equals(ifRange.trim());
+        }
+        long ifRangeDate = getDateHeader(request, HttpHeaders.IF_RANGE);
+        return ifRangeDate >= 0 && lastModified / 1000 == ifRangeDate / 1000;
+    }
+
+    private static long getDateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException ex) {
+            // not a date, the header is ignored
+            return -1;
+        }
+    }
+
+    private static void transfer(FileChannel fileChannel, long position, long count, WritableByteChannel outputChannel) throws IOException {
+        long transferred = 0;
+        while (transferred < count) {
+            long bytes = fileChannel.transferTo(position + transferred, count - transferred, outputChannel);
+            if (bytes <= 0) {
+                throw new IOException("File was truncated while sending");
+            }
+            transferred += bytes;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.groupdocs.ui.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SingleFlight
+ * Coalesces concurrent calls for the same key: the first caller runs the work on its own thread,
+ * callers coming while it runs wait and get the same result or exception. Nothing is kept after the call
+ * completes, results are cached elsewhere. Counts executed and coalesced calls.
+ *
+ * @param <K> key of the work
+ * @param <V> result of the work
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, FutureTask<V>> calls = new ConcurrentHashMap<>();
+    private final AtomicLong executedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    /**
+     * Run the work or join the same work which is running already
+     *
+     * @param key      key of the work
+     * @param callable the work
+     * @return result of the work
+     * @throws Exception exception of the work
+     */
+    public V execute(K key, Callable<V> callable) throws Exception {
+        FutureTask<V> task = new FutureTask<>(callable);
+        FutureTask<V> running = calls.putIfAbsent(key, task);
+        if (running != null) {
+            coalescedCount.incrementAndGet();
+            return getResult(running);
+        }
+        executedCount.incrementAndGet();
+        try {
+            task.run();
+        } finally {
+            calls.remove(key, task);
+        }
+        return getResult(task);
+    }
+
+    private static <V> V getResult(FutureTask<V> task) throws Exception {
+        try {
+            return task.get();
+        } catch (ExecutionException ex) {
+            // exceptions of the work are thrown as they are
+            Throwable cause = ex.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Get number of calls which ran the work
+     *
+     * @return number of executed calls
+     */
+    public long getExecutedCount() {
+        return executedCount.get();
+    }
+
+    /**
+     * Get number of calls which got the result of work run by another call
+     *
+     * @return number of coalesced calls
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Get number of running works
+     *
+     * @return number of keys in flight
+     */
+    public int getInFlightCount() {
+        return calls.size();
+    }
+}
@@ -0,0 +1,147 @@
+package com.groupdocs.ui.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.io.FilenameUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * UniqueFileAllocator
+ * Allocates new file names and writes the files, so concurrent requests and other processes
+ * sharing the directory never get the same name. The name is reserved by a hidden temporary file,
+ * the content is written into it and the file is renamed to the name in one step,
+ * so nobody watching the directory sees an empty or partially written file.
+ * A directory is listed once for the last used number, next names are taken from the counter in constant time.
+ * Numbers of removed files are not reused.
+ */
+public class UniqueFileAllocator {
+
+    private static final int COUNTERS_SIZE = 10000;
+    private static final String NUMBERED_FILE_FORMAT = "%03d.%s";
+    private static final String COPY_SUFFIX_FORMAT = "-Copy(%d)";
+    private static final String TEMP_FILE_FORMAT = ".%s.tmp";
+
+    // last used numbers by directory and name pattern
+    private static final Cache<String, AtomicLong> counters = CacheBuilder.newBuilder().maximumSize(COUNTERS_SIZE).build();
+
+    /**
+     * Writes content of a new file
+     */
+    public interface ContentWriter {
+        /**
+         * Write the content, the file exists and is empty
+         *
+         * @param file file to write
+         * @throws IOException
+         */
+        void write(File file) throws IOException;
+    }
+
+    /**
+     * Create file with the next number as its name, for example 001.png, 002.png
+     *
+     * @param directory     directory of the file
+     * @param ext           extension of the file
+     * @param contentWriter writer of the file content
+     * @return created file
+     * @throws IOException
+     */
+    public static File createNumberedFile(String directory, String ext, ContentWriter contentWriter) throws IOException {
+        Pattern pattern = Pattern.compile("(\\d+)\\." + Pattern.quote(ext));
+        AtomicLong counter = getCounter(directory, pattern);
+        while (true) {
+            File file = new File(directory, String.format(NUMBERED_FILE_FORMAT, counter.incrementAndGet(), ext));
+            if (tryCreate(file, contentWriter)) {
+                return file;
+            }
+        }
+    }
+
+    /**
+     * Create file with the name or, if the name is taken, with a copy name, for example file-Copy(1).pdf
+     *
+     * @param directory     directory of the file
+     * @param fileName      name of the file
+     * @param contentWriter writer of the file content
+     * @return created file
+     * @throws IOException
+     */
+    public static File createFreeFile(String directory, String fileName, ContentWriter contentWriter) throws IOException {
+        File file = new File(directory, fileName);
+        if (tryCreate(file, contentWriter)) {
+            return file;
+        }
+        String baseName = FilenameUtils.removeExtension(fileName);
+        String extension = FilenameUtils.getExtension(fileName);
+        String ext = extension.isEmpty() ? "" : "." + extension;
+        Pattern pattern = Pattern.compile(Pattern.quote(baseName) + "-Copy\\((\\d+)\\)" + Pattern.quote(ext));
+        AtomicLong counter = getCounter(directory, pattern);
+        while (true) {
+            file = new File(directory, baseName + String.format(COPY_SUFFIX_FORMAT, counter.incrementAndGet()) + ext);
+            if (tryCreate(file, contentWriter)) {
+                return file;
+            }
+        }
+    }
+
+    private static boolean tryCreate(File file, ContentWriter contentWriter) throws IOException {
+        if (file.exists()) {
+            return false;
+        }
+        File tempFile = new File(file.getParentFile(), String.format(TEMP_FILE_FORMAT, file.getName()));
+        try {
+            Files.createFile(tempFile.toPath());
+        } catch (FileAlreadyExistsException ex) {
+            // reserved by another request, the caller goes on with the next number
+            return false;
+        }
+        try {
+            // the name could be taken by another process after the first check
+            if (file.exists()) {
+                return false;
+            }
+            contentWriter.write(tempFile);
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    private static AtomicLong getCounter(String directory, Pattern pattern) throws IOException {
+        String key = new File(directory).getAbsolutePath() + File.pathSeparator + pattern.pattern();
+        try {
+            return counters.get(key, () -> new AtomicLong(findLastNumber(directory, pattern)));
+        } catch (ExecutionException ex) {
+            throw new IOException("Can not list directory " + directory, ex.getCause());
+        }
+    }
+
+    private static long findLastNumber(String directory, Pattern pattern) {
+        String[] fileNames = new File(directory).list();
+        long last = 0;
+        if (fileNames == null) {
+            return last;
+        }
+        for (String fileName : fileNames) {
+            Matcher matcher = pattern.matcher(fileName);
+            if (matcher.matches()) {
+                try {
+                    last = Math.max(last, Long.parseLong(matcher.group(1)));
+                } catch (NumberFormatException ex) {
+                    // too long to be one of the allocated numbers
+                }
+            }
+        }
+        return last;
+    }
+}
@@ -11,16 +11,19 @@ import org.springframework.http.MediaType;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.ImageIO;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Base64;
@@ -39,6 +42,13 @@ public class Utils {
     public static final FileTypeComparator FILE_TYPE_COMPARATOR = new FileTypeComparator();
     public static final FileDateComparator FILE_DATE_COMPARATOR = new FileDateComparator();
 
+    /**
+     * Writes uploaded content into the storage
+     */
+    public interface UploadWriter {
+        String write(InputStream uploadedInputStream, String documentStoragePath, String fileName, boolean rewrite) throws IOException;
+    }
+
     /**
      * Set local port from request to config
      *
@@ -64,6 +74,30 @@ public class Utils {
         return Base64.getEncoder().encodeToString(bytes);
     }
 
+    /**
+     * Encode path to document into identifier which can be used inside urls
+     *
+     * @param documentGuid path to document
+     * @return url safe identifier of the document
+     */
+    public static String encodeDocumentId(String documentGuid) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(documentGuid.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode path to document from identifier created by encodeDocumentId
+     *
+     * @param documentId url safe identifier of the document
+     * @return path to document
+     */
+    public static String decodeDocumentId(String documentId) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(documentId), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new TotalGroupDocsException("Wrong document identifier " + documentId, ex);
+        }
+    }
+
     /**
      * Parse extension of the file's name
      *
@@ -109,6 +143,20 @@ public class Utils {
      * @return path to uploaded file
      */
     public static String uploadFile(String documentStoragePath, MultipartFile content, String url, Boolean rewrite) {
+        return uploadFile(documentStoragePath, content, url, rewrite, Utils::uploadFileInternal);
+    }
+
+    /**
+     * Upload the file with the writer
+     *
+     * @param documentStoragePath path for uploading the file
+     * @param content             file data
+     * @param url                 url of file
+     * @param rewrite             flag of rewriting the file
+     * @param writer              writes the content into the storage
+     * @return path to uploaded file
+     */
+    public static String uploadFile(String documentStoragePath, MultipartFile content, String url, Boolean rewrite, UploadWriter writer) {
         String filePath;
         try {
             String fileName;
@@ -116,7 +164,7 @@ public class Utils {
             if (StringUtils.isEmpty(url)) {
                 fileName = content.getOriginalFilename();
                 try (InputStream inputStream = content.getInputStream()) {
-                    filePath = uploadFileInternal(inputStream, documentStoragePath, fileName, rewrite);
+                    filePath = writer.write(inputStream, documentStoragePath, fileName, rewrite);
                 } catch (Exception ex) {
                     logger.error("Exception occurred while uploading document", ex);
                     throw new TotalGroupDocsException(ex.getMessage(), ex);
@@ -125,7 +173,7 @@ public class Utils {
                 URL fileUrl = new URL(url);
                 try (InputStream inputStream = fileUrl.openStream()) {
                     fileName = FilenameUtils.getName(fileUrl.getPath());
-                    filePath = uploadFileInternal(inputStream, documentStoragePath, fileName, rewrite);
+                    filePath = writer.write(inputStream, documentStoragePath, fileName, rewrite);
                 } catch (Exception ex) {
                     logger.error("Exception occurred while uploading document", ex);
                     throw new TotalGroupDocsException(ex.getMessage(), ex);
@@ -157,14 +205,9 @@ public class Utils {
             Files.copy(uploadedInputStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
             return filePath;
         } else {
-            if (file.exists()) {
-                // get file with new name
-                file = getFreeFileName(documentStoragePath, fileName);
-            }
-            // save file without rewriting
-            Path path = file.toPath();
-            Files.copy(uploadedInputStream, path);
-            return path.toString();
+            // save file without rewriting, the file gets new name if the name is taken
+            return UniqueFileAllocator.createFreeFile(documentStoragePath, fileName,
+                    tempFile -> Files.copy(uploadedInputStream, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING)).getPath();
         }
     }
 
@@ -196,34 +239,6 @@ public class Utils {
         return StringUtils.isEmpty(password) ? PASSWORD_REQUIRED : INCORRECT_PASSWORD;
     }
 
-    /**
-     * Rename file if exist
-     *
-     * @param directory directory where files are located
-     * @param fileName  file name
-     * @return new file with new file name
-     */
-    public static File getFreeFileName(String directory, String fileName) {
-        File file = null;
-        try {
-            File folder = new File(directory);
-            File[] listOfFiles = folder.listFiles();
-            for (int i = 0; i < listOfFiles.length; i++) {
-                int number = i + 1;
-                String newFileName = FilenameUtils.removeExtension(fileName) + "-Copy(" + number + ")." + FilenameUtils.getExtension(fileName);
-                file = new File(directory + File.separator + newFileName);
-                if (file.exists()) {
-                    continue;
-                } else {
-                    break;
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return file;
-    }
-
     /**
      * FileNameComparator
      * Compare and sort file names alphabetically
@@ -293,36 +308,23 @@ public class Utils {
     }
 
     /**
-     * Create file in previewPath and name imageGuid
-     * if the file is already exist, create new file with next number in name
+     * Write file imageGuid if it exists, otherwise create file in previewPath with next number in name
      * examples, 001, 002, 003, etc
      *
-     * @param previewPath path to file folder
-     * @param imageGuid   path to file
-     * @return created file
+     * @param previewPath   path to file folder
+     * @param imageGuid     path to file
+     * @param contentWriter writer of the file content
+     * @return existing or created file
+     * @throws IOException
      */
-    public static File getFileWithUniqueName(String previewPath, String imageGuid, String ext) {
+    public static File getFileWithUniqueName(String previewPath, String imageGuid, String ext, UniqueFileAllocator.ContentWriter contentWriter) throws IOException {
         if (!StringUtils.isEmpty(imageGuid) && new File(imageGuid).exists()) {
-            return new File(imageGuid);
+            File file = new File(imageGuid);
+            contentWriter.write(file);
+            return file;
         } else {
-            File[] listOfFiles = new File(previewPath).listFiles();
-            return createUniqueFile(previewPath, listOfFiles, ext);
-        }
-    }
-
-    private static File createUniqueFile(String previewPath, File[] listOfFiles, String ext) {
-        for (int i = 0; i <= listOfFiles.length; i++) {
-            // set file name, for example 001
-            String fileName = String.format("%03d", i + 1);
-            File file = new File(String.format("%s%s%s.%s", previewPath, File.separator, fileName, ext));
-            // check if file with such name already exists
-            if (file.exists()) {
-                continue;
-            } else {
-                return file;
-            }
+            return UniqueFileAllocator.createNumberedFile(previewPath, ext, contentWriter);
         }
-        return new File(String.format("%s%s001.png", previewPath, File.separator));
     }
 
     /**
@@ -352,4 +354,34 @@ public class Utils {
             }
         }
     }
+
+    /**
+     * Downscale image to fit into a square keeping its proportions
+     *
+     * @param image image file content
+     * @param size  maximum width and height
+     * @return downscaled image in PNG format or the original content if the image already fits
+     * @throws IOException
+     */
+    public static byte[] downscaleImage(byte[] image, int size) throws IOException {
+        BufferedImage original = ImageIO.read(new ByteArrayInputStream(image));
+        if (original == null || (original.getWidth() <= size && original.getHeight() <= size)) {
+            return image;
+        }
+        double scale = Math.min((double) size / original.getWidth(), (double) size / original.getHeight());
+        int width = Math.max(1, (int) Math.round(original.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(original.getHeight() * scale));
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = thumbnail.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.drawImage(original, 0, 0, width, height, null);
+        } finally {
+            g2d.dispose();
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(thumbnail, "png", outputStream);
+        return outputStream.toByteArray();
+    }
 }
@@ -12,7 +12,13 @@ public enum SignatureDirectory {
     IMAGE_UPLOADED_DATA_DIRECTORY("/Image/Uploaded"),
     QRCODE_DATA_DIRECTORY("/ArCodes"),
     STAMP_DATA_DIRECTORY("/Stamps"),
-    TEXT_DATA_DIRECTORY("/Text");
+    TEXT_DATA_DIRECTORY("/Text"),
+    PAGE_CACHE_DATA_DIRECTORY("/Cache/Pages"),
+    PAGE_THUMBNAIL_CACHE_DATA_DIRECTORY("/Cache/Thumbnails"),
+    TEMP_DATA_DIRECTORY("/Temp"),
+    JOBS_DATA_DIRECTORY("/Jobs"),
+    BLOBS_DATA_DIRECTORY("/Blobs"),
+    METADATA_DATA_DIRECTORY("/Metadata");
 
 
     private String path;
@@ -1,16 +1,33 @@
 package com.groupdocs.ui.signature;
 
+import com.groupdocs.ui.exception.GroupDocsExceptionHandler;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.servlet.view.InternalResourceViewResolver;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
@@ -18,6 +35,11 @@ import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standal
 @RunWith(SpringRunner.class)
 @SpringBootTest
 public class SignatureControllerTest {
+    private static final String DOCUMENT_CONTENT = "0123456789abcdefghij";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     MockMvc mvc;
 
     @Autowired
@@ -26,13 +48,17 @@ public class SignatureControllerTest {
     @Autowired
     SignatureController controller;
 
+    @Autowired
+    SignatureConfiguration signatureConfiguration;
+
     @Before
     public void setUp() throws Exception {
         InternalResourceViewResolver viewResolver = new InternalResourceViewResolver();
         viewResolver.setPrefix("/templates/");
         viewResolver.setSuffix(".html");
 
-        this.mvc = standaloneSetup(this.controller).setViewResolvers(viewResolver).build();
+        this.mvc = standaloneSetup(this.controller).setViewResolvers(viewResolver)
+                .setControllerAdvice(new GroupDocsExceptionHandler()).build();
     }
 
     @Test
@@ -40,6 +66,13 @@ public class SignatureControllerTest {
         mvc.perform(get("/signature")).andExpect(status().isOk()).andExpect(view().name("signature"));
     }
 
+    @Test
+    public void imagesAreNotServedWithPassword() throws Exception {
+        mvc.perform(get("/signature/page/document/1.png").param("password", "secret")).andExpect(status().isBadRequest());
+        mvc.perform(get("/signature/thumbnail/document/1.png").param("password", "secret")).andExpect(status().isBadRequest());
+        mvc.perform(get("/signature/thumbnail/document/sprite/0.png").param("password", "secret")).andExpect(status().isBadRequest());
+    }
+
     public void loadFileTree() {
     }
 
@@ -49,12 +82,97 @@ public class SignatureControllerTest {
     public void loadDocumentPage() {
     }
 
-    public void downloadDocument() {
+    @Test
+    public void downloadDocument() throws Exception {
+        File document = folder.newFile("contract.pdf");
+        Files.write(document.toPath(), DOCUMENT_CONTENT.getBytes(StandardCharsets.US_ASCII));
+        String path = document.getAbsolutePath();
+
+        String eTag = mvc.perform(get("/signature/downloadDocument").param("path", path))
+                .andExpect(status().isOk())
+                .andExpect(content().string(DOCUMENT_CONTENT))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(get("/signature/downloadDocument").param("path", path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        mvc.perform(get("/signature/downloadDocument").param("path", path).header(HttpHeaders.RANGE, "bytes=10-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/20"))
+                .andExpect(content().string("abcdefghij"));
+        // overlapping ranges are sent once
+        mvc.perform(get("/signature/downloadDocument").param("path", path).header(HttpHeaders.RANGE, "bytes=0-4, 2-9, 0-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-9/20"))
+                .andExpect(content().string("0123456789"));
+        mvc.perform(get("/signature/downloadDocument").param("path", path).header(HttpHeaders.RANGE, "bytes=20-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
     }
 
     public void uploadDocument() {
     }
 
+    private String startUpload(String fileName, int size) throws Exception {
+        String response = mvc.perform(post("/signature/upload").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"fileName\":\"" + fileName + "\",\"size\":" + size + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(0))
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.uploadId");
+    }
+
+    @Test
+    public void uploadInChunks() throws Exception {
+        String filesDirectory = signatureConfiguration.getFilesDirectory();
+        File uploadDirectory = folder.newFolder("files");
+        signatureConfiguration.setFilesDirectory(uploadDirectory.getAbsolutePath());
+        try {
+            String uploadId = startUpload("notes.txt", DOCUMENT_CONTENT.length());
+
+            mvc.perform(put("/signature/upload/" + uploadId).param("offset", "0")
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM).content(DOCUMENT_CONTENT.substring(0, 8)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.received").value(8))
+                    .andExpect(jsonPath("$.completed").value(false));
+            // the client asks where to continue, e.g. after a lost connection
+            mvc.perform(get("/signature/upload/" + uploadId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.received").value(8));
+            mvc.perform(put("/signature/upload/" + uploadId).param("offset", "8")
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM).content(DOCUMENT_CONTENT.substring(8)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.received").value(DOCUMENT_CONTENT.length()))
+                    .andExpect(jsonPath("$.completed").value(true));
+
+            File uploaded = new File(uploadDirectory, "notes.txt");
+            assertEquals(DOCUMENT_CONTENT, new String(Files.readAllBytes(uploaded.toPath()), StandardCharsets.US_ASCII));
+        } finally {
+            signatureConfiguration.setFilesDirectory(filesDirectory);
+        }
+    }
+
+    @Test
+    public void cancelledUploadIsGone() throws Exception {
+        String filesDirectory = signatureConfiguration.getFilesDirectory();
+        File uploadDirectory = folder.newFolder("files");
+        signatureConfiguration.setFilesDirectory(uploadDirectory.getAbsolutePath());
+        try {
+            String uploadId = startUpload("draft.txt", DOCUMENT_CONTENT.length());
+            mvc.perform(put("/signature/upload/" + uploadId).param("offset", "0")
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM).content(DOCUMENT_CONTENT.substring(0, 8)))
+                    .andExpect(status().isOk());
+
+            mvc.perform(delete("/signature/upload/" + uploadId)).andExpect(status().isOk());
+
+            mvc.perform(get("/signature/upload/" + uploadId)).andExpect(status().isInternalServerError());
+            mvc.perform(put("/signature/upload/" + uploadId).param("offset", "8")
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM).content(DOCUMENT_CONTENT.substring(8)))
+                    .andExpect(status().isInternalServerError());
+            assertEquals(0, uploadDirectory.list().length);
+        } finally {
+            signatureConfiguration.setFilesDirectory(filesDirectory);
+        }
+    }
+
     public void loadSignatureImage() {
     }
 
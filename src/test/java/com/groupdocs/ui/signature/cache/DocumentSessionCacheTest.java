@@ -0,0 +1,83 @@
+package com.groupdocs.ui.signature.cache;
+
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.awt.Dimension;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class DocumentSessionCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private DocumentSessionCache documentSessionCache;
+    private File document;
+
+    @Before
+    public void setUp() throws Exception {
+        SignatureConfiguration signatureConfiguration = new SignatureConfiguration();
+        signatureConfiguration.setDocumentSessionCacheSize(64);
+        signatureConfiguration.setDocumentSessionExpiration(10);
+        documentSessionCache = new DocumentSessionCache();
+        ReflectionTestUtils.setField(documentSessionCache, "signatureConfiguration", signatureConfiguration);
+        documentSessionCache.init();
+        document = folder.newFile("document.pdf");
+        Files.write(document.toPath(), new byte[]{1, 2, 3});
+    }
+
+    @Test
+    public void opensDocumentOncePerPassword() throws Exception {
+        AtomicInteger openCount = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(5, documentSessionCache.getSession(document.getPath(), null, () -> {
+                openCount.incrementAndGet();
+                return new DocumentSessionCache.DocumentSession(5);
+            }).getPageCount());
+        }
+        documentSessionCache.getSession(document.getPath(), "password", () -> new DocumentSessionCache.DocumentSession(openCount.incrementAndGet()));
+        assertEquals(2, openCount.get());
+    }
+
+    @Test
+    public void pageSizesAreKeptWhileDocumentIsOpened() throws Exception {
+        AtomicInteger loadCount = new AtomicInteger();
+        // not opened yet, the size is not kept
+        documentSessionCache.getPageSize(document.getPath(), null, 1, () -> new Dimension(loadCount.incrementAndGet(), 1));
+        documentSessionCache.getSession(document.getPath(), null, () -> new DocumentSessionCache.DocumentSession(2));
+        documentSessionCache.getPageSize(document.getPath(), null, 1, () -> new Dimension(loadCount.incrementAndGet(), 1));
+        Dimension pageSize = documentSessionCache.getPageSize(document.getPath(), null, 1, () -> new Dimension(loadCount.incrementAndGet(), 1));
+        assertEquals(2, loadCount.get());
+        assertEquals(2, pageSize.width);
+    }
+
+    @Test
+    public void sessionWithKnownPageSizesDoesntLoadThem() throws Exception {
+        documentSessionCache.getSession(document.getPath(), null,
+                () -> new DocumentSessionCache.DocumentSession(1, Collections.singletonMap(1, new Dimension(10, 20))));
+        Dimension pageSize = documentSessionCache.getPageSize(document.getPath(), null, 1, () -> {
+            throw new IllegalStateException("page size is known");
+        });
+        assertEquals(20, pageSize.height);
+    }
+
+    @Test
+    public void changedOrInvalidatedDocumentIsOpenedAgain() throws Exception {
+        AtomicInteger openCount = new AtomicInteger();
+        documentSessionCache.getSession(document.getPath(), null, () -> new DocumentSessionCache.DocumentSession(openCount.incrementAndGet()));
+        Files.write(document.toPath(), new byte[]{1, 2, 3, 4});
+        documentSessionCache.getSession(document.getPath(), null, () -> new DocumentSessionCache.DocumentSession(openCount.incrementAndGet()));
+        documentSessionCache.invalidate(document.getPath());
+        documentSessionCache.getSession(document.getPath(), null, () -> new DocumentSessionCache.DocumentSession(openCount.incrementAndGet()));
+        assertEquals(3, openCount.get());
+    }
+}
@@ -0,0 +1,205 @@
+package com.groupdocs.ui.signature.cache;
+
+import com.groupdocs.signature.handler.SignatureHandler;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import com.groupdocs.ui.signature.service.SignatureHandlerPool;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+
+import static org.junit.Assert.*;
+
+public class PageImageCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SignatureConfiguration signatureConfiguration;
+    private File document;
+
+    @Before
+    public void setUp() throws Exception {
+        signatureConfiguration = new SignatureConfiguration();
+        signatureConfiguration.setDataDirectory(folder.newFolder("SignatureData").getAbsolutePath());
+        signatureConfiguration.setPageCacheSize(1);
+        signatureConfiguration.setPageCacheOnDisk(false);
+        document = folder.newFile("document.pdf");
+        Files.write(document.toPath(), new byte[]{1, 2, 3});
+    }
+
+    private PageImageCache createCache() {
+        PageImageCache pageImageCache = new PageImageCache();
+        ReflectionTestUtils.setField(pageImageCache, "signatureConfiguration", signatureConfiguration);
+        pageImageCache.init();
+        return pageImageCache;
+    }
+
+    @Test
+    public void rendersPageOnlyOnce() throws Exception {
+        PageImageCache pageImageCache = createCache();
+        AtomicInteger renderCount = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            byte[] image = pageImageCache.getPageImage(document.getPath(), 1, 100, () -> {
+                renderCount.incrementAndGet();
+                return new byte[]{42};
+            });
+            assertArrayEquals(new byte[]{42}, image);
+        }
+        assertEquals(1, renderCount.get());
+    }
+
+    @Test
+    public void invalidateDropsDocumentPages() throws Exception {
+        PageImageCache pageImageCache = createCache();
+        AtomicInteger renderCount = new AtomicInteger();
+        pageImageCache.getPageImage(document.getPath(), 1, 100, () -> new byte[renderCount.incrementAndGet()]);
+        pageImageCache.invalidate(document.getPath());
+        pageImageCache.getPageImage(document.getPath(), 1, 100, () -> new byte[renderCount.incrementAndGet()]);
+        assertEquals(2, renderCount.get());
+    }
+
+    @Test
+    public void changedDocumentIsRenderedAgain() throws Exception {
+        PageImageCache pageImageCache = createCache();
+        AtomicInteger renderCount = new AtomicInteger();
+        pageImageCache.getPageImage(document.getPath(), 1, 100, () -> new byte[renderCount.incrementAndGet()]);
+        Files.write(document.toPath(), new byte[]{1, 2, 3, 4});
+        pageImageCache.getPageImage(document.getPath(), 1, 100, () -> new byte[renderCount.incrementAndGet()]);
+        assertEquals(2, renderCount.get());
+    }
+
+    @Test
+    public void protectedPageIsNotServedWithoutPassword() throws Exception {
+        PageImageCache pageImageCache = createCache();
+        AtomicInteger renderCount = new AtomicInteger();
+        pageImageCache.getPageImage(document.getPath(), 1, 100, "secret", () -> new byte[renderCount.incrementAndGet()]);
+        pageImageCache.getPageImage(document.getPath(), 1, 100, () -> new byte[renderCount.incrementAndGet()]);
+        pageImageCache.getPageImage(document.getPath(), 1, 100, "wrong", () -> new byte[renderCount.incrementAndGet()]);
+        pageImageCache.getPageImage(document.getPath(), 1, 100, "secret", () -> new byte[renderCount.incrementAndGet()]);
+        assertEquals(3, renderCount.get());
+    }
+
+    @Test
+    public void renderWithPasswordIsNotJoinedWithoutIt() throws Exception {
+        PageImageCache pageImageCache = createCache();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<byte[]> protectedImage = executor.submit(() -> pageImageCache.getPageImage(document.getPath(), 1, 100, "secret", () -> {
+                started.countDown();
+                release.await();
+                return new byte[]{1};
+            }));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            // the render with the password is still running, this request renders on its own
+            assertArrayEquals(new byte[]{2}, pageImageCache.getPageImage(document.getPath(), 1, 100, () -> new byte[]{2}));
+            release.countDown();
+            assertArrayEquals(new byte[]{1}, protectedImage.get());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, pageImageCache.getCoalescedRenderCount());
+    }
+
+    @Test
+    public void diskTierSurvivesRestart() throws Exception {
+        signatureConfiguration.setPageCacheOnDisk(true);
+        PageImageCache pageImageCache = createCache();
+        pageImageCache.getPageImage(document.getPath(), 2, 100, () -> new byte[]{7, 7});
+
+        PageImageCache restarted = createCache();
+        PageImageKey key = PageImageKey.of(document.getPath(), 2, 100);
+        assertTrue(restarted.contains(key));
+        assertArrayEquals(new byte[]{7, 7}, restarted.get(key));
+    }
+
+    @Test
+    public void protectedPagesAreNotWrittenToDisk() throws Exception {
+        signatureConfiguration.setPageCacheOnDisk(true);
+        PageImageCache pageImageCache = createCache();
+        pageImageCache.getPageImage(document.getPath(), 1, 100, "secret", () -> new byte[]{7});
+        assertTrue(pageImageCache.contains(PageImageKey.of(document.getPath(), 1, 100, "secret")));
+
+        PageImageCache restarted = createCache();
+        assertFalse(restarted.contains(PageImageKey.of(document.getPath(), 1, 100, "secret")));
+    }
+
+    @Test
+    public void newVersionDeletesOlderImagesFromDisk() throws Exception {
+        signatureConfiguration.setPageCacheOnDisk(true);
+        PageImageCache pageImageCache = createCache();
+        pageImageCache.getPageImage(document.getPath(), 1, 100, () -> new byte[]{7});
+        PageImageKey oldKey = PageImageKey.of(document.getPath(), 1, 100);
+        Files.write(document.toPath(), new byte[]{1, 2, 3, 4});
+        document.setLastModified(oldKey.getLastModified() + 2000);
+        pageImageCache.getPageImage(document.getPath(), 1, 100, () -> new byte[]{8});
+
+        PageImageCache restarted = createCache();
+        assertFalse(restarted.contains(oldKey));
+        assertTrue(restarted.contains(PageImageKey.of(document.getPath(), 1, 100)));
+    }
+
+    @Test
+    public void thumbnailsAndSpritesHaveOwnKeys() throws Exception {
+        signatureConfiguration.setPageThumbnailCacheSize(1);
+        PageThumbnailCache pageThumbnailCache = new PageThumbnailCache();
+        ReflectionTestUtils.setField(pageThumbnailCache, "signatureConfiguration", signatureConfiguration);
+        pageThumbnailCache.init();
+        pageThumbnailCache.getImage(PageThumbnailKey.of(document.getPath(), 1, 120, null), () -> new byte[]{1});
+        pageThumbnailCache.getImage(PageSpriteKey.of(document.getPath(), 0, 120, null), () -> new byte[]{2});
+
+        assertArrayEquals(new byte[]{1}, pageThumbnailCache.get(PageThumbnailKey.of(document.getPath(), 1, 120, null)));
+        assertArrayEquals(new byte[]{2}, pageThumbnailCache.get(PageSpriteKey.of(document.getPath(), 0, 120, null)));
+        assertNotEquals(PageThumbnailKey.of(document.getPath(), 1, 120, null).getFileName(),
+                PageSpriteKey.of(document.getPath(), 0, 120, null).getFileName());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void renderOwnerNeverWaitsForHandlerOfItsWaiter() throws Exception {
+        signatureConfiguration.setHandlerPoolSize(1);
+        signatureConfiguration.setHandlerPoolTimeout(5000L);
+        SignatureHandlerPool signatureHandlerPool = new SignatureHandlerPool();
+        ReflectionTestUtils.setField(signatureHandlerPool, "signatureConfiguration", signatureConfiguration);
+        signatureHandlerPool.init();
+        // the only handler of the pool, created without the engine
+        ((AtomicInteger) ReflectionTestUtils.getField(signatureHandlerPool, "createdCount")).set(1);
+        ((BlockingQueue<SignatureHandler>) ReflectionTestUtils.getField(signatureHandlerPool, "idleHandlers")).add(mock(SignatureHandler.class));
+        PageImageCache pageImageCache = createCache();
+        PageImageKey key = PageImageKey.of(document.getPath(), 1, 100);
+
+        // a description request holds the only handler while it loads the page
+        SignatureHandler signatureHandler = signatureHandlerPool.borrow();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<byte[]> pageRequest = executor.submit(() -> pageImageCache.getImage(key, signatureHandlerPool, handler -> new byte[]{2}));
+            while (signatureHandlerPool.getWaitingCount() == 0) {
+                Thread.sleep(10);
+            }
+            long start = System.currentTimeMillis();
+            assertArrayEquals(new byte[]{1}, pageImageCache.getImage(key, () -> new byte[]{1}));
+            assertTrue(System.currentTimeMillis() - start < 5000);
+            signatureHandlerPool.release(signatureHandler);
+            // the page request gets the handler and finds the page rendered
+            assertArrayEquals(new byte[]{1}, pageRequest.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, signatureHandlerPool.getTimeoutCount());
+    }
+}
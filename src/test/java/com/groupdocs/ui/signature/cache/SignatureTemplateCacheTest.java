@@ -0,0 +1,80 @@
+package com.groupdocs.ui.signature.cache;
+
+import com.groupdocs.ui.signature.XMLReaderWriter;
+import com.groupdocs.ui.signature.model.xml.StampXmlEntity;
+import com.groupdocs.ui.signature.model.xml.StampXmlEntityList;
+import com.groupdocs.ui.signature.model.xml.TextXmlEntity;
+import com.groupdocs.ui.signature.signer.StampTemplate;
+import com.groupdocs.ui.signature.signer.TextTemplate;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.awt.*;
+import java.io.File;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class SignatureTemplateCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final SignatureTemplateCache signatureTemplateCache = new SignatureTemplateCache();
+
+    private String writeText(String text, String fontColor) throws Exception {
+        TextXmlEntity textXmlEntity = new TextXmlEntity();
+        textXmlEntity.setText(text);
+        textXmlEntity.setFontColor(fontColor);
+        String fileName = new File(folder.getRoot(), "text.xml").getAbsolutePath();
+        new XMLReaderWriter<TextXmlEntity>().write(fileName, textXmlEntity);
+        return fileName;
+    }
+
+    @Test
+    public void reusesTemplateOfUnchangedFile() throws Exception {
+        String fileName = writeText("Approved", "rgb(255,0,0)");
+        TextTemplate template = signatureTemplateCache.getTextTemplate(fileName);
+        assertEquals("Approved", template.getText());
+        assertEquals(new Color(255, 0, 0), template.getFontColor());
+        assertSame(template, signatureTemplateCache.getTextTemplate(fileName));
+    }
+
+    @Test
+    public void invalidateReadsSavedFile() throws Exception {
+        String fileName = writeText("Approved", "rgb(255,0,0)");
+        TextTemplate template = signatureTemplateCache.getTextTemplate(fileName);
+        File file = new File(fileName);
+        long lastModified = file.lastModified();
+        writeText("Rejected", "rgb(0,0,255)");
+        // same modification time and size, only invalidation tells that the file was saved
+        assertTrue(file.setLastModified(lastModified));
+        signatureTemplateCache.invalidate(fileName);
+        TextTemplate savedTemplate = signatureTemplateCache.getTextTemplate(fileName);
+        assertNotSame(template, savedTemplate);
+        assertEquals("Rejected", savedTemplate.getText());
+        assertEquals(new Color(0, 0, 255), savedTemplate.getFontColor());
+    }
+
+    @Test
+    public void stampLinesAreReversedAndRepeated() throws Exception {
+        StampXmlEntity inner = new StampXmlEntity();
+        inner.setText("IN");
+        inner.setTextRepeat(1);
+        StampXmlEntity outer = new StampXmlEntity();
+        outer.setText("OUT ");
+        outer.setTextRepeat(3);
+        outer.setStrokeColor("rgb(1,2,3)");
+        StampXmlEntityList stampXmlEntityList = new StampXmlEntityList();
+        stampXmlEntityList.setStampXmlEntityList(Arrays.asList(inner, outer));
+        String fileName = new File(folder.getRoot(), "stamp.xml").getAbsolutePath();
+        new XMLReaderWriter<StampXmlEntityList>().write(fileName, stampXmlEntityList);
+
+        StampTemplate template = signatureTemplateCache.getStampTemplate(fileName);
+        assertEquals(2, template.getLines().size());
+        assertEquals("OUT OUT OUT ", template.getLines().get(0).getText());
+        assertEquals(new Color(1, 2, 3), template.getLines().get(0).getStrokeColor());
+        assertEquals("IN", template.getLines().get(1).getText());
+    }
+}
@@ -0,0 +1,118 @@
+package com.groupdocs.ui.signature.library;
+
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import com.groupdocs.ui.signature.XMLReaderWriter;
+import com.groupdocs.ui.signature.model.web.SignatureFileDescriptionEntity;
+import com.groupdocs.ui.signature.model.xml.OpticalXmlEntity;
+import com.groupdocs.ui.signature.model.xml.TextXmlEntity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import static com.groupdocs.ui.signature.SignatureType.QR_CODE;
+import static com.groupdocs.ui.signature.SignatureType.TEXT;
+import static com.groupdocs.ui.util.directory.SignatureDirectory.QRCODE_DATA_DIRECTORY;
+import static com.groupdocs.ui.util.directory.SignatureDirectory.TEXT_DATA_DIRECTORY;
+import static org.junit.Assert.*;
+
+public class SignatureLibraryIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String dataDirectory;
+    private SignatureLibraryIndex signatureLibraryIndex;
+
+    @Before
+    public void setUp() throws Exception {
+        dataDirectory = folder.newFolder("SignatureData").getAbsolutePath();
+        SignatureConfiguration signatureConfiguration = new SignatureConfiguration();
+        signatureConfiguration.setDataDirectory(dataDirectory);
+        signatureLibraryIndex = new SignatureLibraryIndex();
+        ReflectionTestUtils.setField(signatureLibraryIndex, "signatureConfiguration", signatureConfiguration);
+        signatureLibraryIndex.init();
+    }
+
+    @After
+    public void tearDown() {
+        signatureLibraryIndex.destroy();
+    }
+
+    @Test
+    public void listsTextSignaturesWithProperties() throws Exception {
+        writeText("001", "first");
+        writeText("002", "second");
+        signatureLibraryIndex.refresh(TEXT);
+
+        List<SignatureFileDescriptionEntity> files = signatureLibraryIndex.getFiles(TEXT);
+        assertEquals(2, files.size());
+        assertEquals("001.xml", files.get(0).getName());
+        assertEquals("first", files.get(0).getText());
+        assertEquals("rgb(0,0,0)", files.get(0).getFontColor());
+        assertEquals("second", files.get(1).getText());
+    }
+
+    @Test
+    public void listsOnlySignaturesWithPreviewAndXml() throws Exception {
+        OpticalXmlEntity opticalXmlEntity = new OpticalXmlEntity();
+        opticalXmlEntity.setText("code");
+        new XMLReaderWriter<OpticalXmlEntity>().write(dataDirectory + QRCODE_DATA_DIRECTORY.getXMLPath() + File.separator + "001.xml", opticalXmlEntity);
+        Files.write(new File(dataDirectory + QRCODE_DATA_DIRECTORY.getPreviewPath(), "001.png").toPath(), new byte[]{1, 2});
+        Files.write(new File(dataDirectory + QRCODE_DATA_DIRECTORY.getPreviewPath(), "002.png").toPath(), new byte[]{3});
+        signatureLibraryIndex.refresh(QR_CODE);
+
+        List<SignatureFileDescriptionEntity> files = signatureLibraryIndex.getFiles(QR_CODE);
+        assertEquals(1, files.size());
+        assertEquals("001.png", files.get(0).getName());
+        assertEquals("code", files.get(0).getText());
+        assertEquals("AQI=", files.get(0).getImage());
+    }
+
+    @Test
+    public void keepsUnchangedEntries() throws Exception {
+        writeText("001", "first");
+        SignatureLibraryEntry entry = signatureLibraryIndex.refresh(TEXT).get(0);
+        writeText("002", "second");
+
+        List<SignatureLibraryEntry> entries = signatureLibraryIndex.refresh(TEXT);
+        assertEquals(2, entries.size());
+        assertSame(entry, entries.get(0));
+    }
+
+    @Test
+    public void continuationTokenPointsAfterEntry() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            writeText("00" + i, "text " + i);
+        }
+        List<SignatureLibraryEntry> entries = signatureLibraryIndex.refresh(TEXT);
+        String continuationToken = entries.get(1).getContinuationToken();
+        assertEquals(2, SignatureLibraryIndex.indexAfter(entries, continuationToken));
+
+        // entry of the token is removed, next page still starts at the following entry
+        assertTrue(entries.get(1).getFile().delete());
+        List<SignatureLibraryEntry> refreshed = signatureLibraryIndex.refresh(TEXT);
+        int position = SignatureLibraryIndex.indexAfter(refreshed, continuationToken);
+        assertSame(entries.get(2), refreshed.get(position));
+    }
+
+    @Test
+    public void indexesOnlySignatureRootDirectories() {
+        assertTrue(signatureLibraryIndex.isIndexed(TEXT, dataDirectory + TEXT_DATA_DIRECTORY.getPath()));
+        assertFalse(signatureLibraryIndex.isIndexed(TEXT, dataDirectory));
+        assertFalse(signatureLibraryIndex.isIndexed("", dataDirectory + TEXT_DATA_DIRECTORY.getPath()));
+    }
+
+    private void writeText(String name, String text) throws Exception {
+        TextXmlEntity textXmlEntity = new TextXmlEntity();
+        textXmlEntity.setText(text);
+        textXmlEntity.setFontColor("rgb(0,0,0)");
+        new XMLReaderWriter<TextXmlEntity>().write(dataDirectory + TEXT_DATA_DIRECTORY.getXMLPath() + File.separator + name + ".xml", textXmlEntity);
+    }
+}
@@ -0,0 +1,53 @@
+package com.groupdocs.ui.signature.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SignatureMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Before
+    public void setUp() {
+        Metrics.addRegistry(registry);
+    }
+
+    @After
+    public void tearDown() {
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    public void timerIsTaggedWithOutcome() {
+        assertEquals("ok", SignatureMetrics.time("test.call", () -> "ok", SignatureMetrics.FORMAT, "pdf"));
+        try {
+            SignatureMetrics.time("test.call", () -> {
+                throw new IllegalStateException("engine failed");
+            }, SignatureMetrics.FORMAT, "pdf");
+            fail();
+        } catch (IllegalStateException ex) {
+            assertEquals("engine failed", ex.getMessage());
+        }
+
+        assertEquals(1, registry.get("test.call").tags(SignatureMetrics.FORMAT, "pdf", SignatureMetrics.OUTCOME, SignatureMetrics.SUCCESS).timer().count());
+        assertEquals(1, registry.get("test.call").tags(SignatureMetrics.FORMAT, "pdf", SignatureMetrics.OUTCOME, SignatureMetrics.ERROR).timer().count());
+    }
+
+    @Test
+    public void tagsHaveFewValues() {
+        assertEquals("pdf", SignatureMetrics.format("/files/Contract.PDF"));
+        assertEquals(SignatureMetrics.UNKNOWN, SignatureMetrics.format("/files/README"));
+        assertEquals(SignatureMetrics.UNKNOWN, SignatureMetrics.format("/files/upload.x1f9a3"));
+        assertEquals("qrCode", SignatureMetrics.type("qrCode"));
+        assertEquals(SignatureMetrics.UNKNOWN, SignatureMetrics.type("anything"));
+        assertEquals("1", SignatureMetrics.pageCountBucket(1));
+        assertEquals("2-10", SignatureMetrics.pageCountBucket(7));
+        assertEquals("51-200", SignatureMetrics.pageCountBucket(200));
+        assertEquals("201+", SignatureMetrics.pageCountBucket(5000));
+    }
+}
@@ -0,0 +1,127 @@
+package com.groupdocs.ui.signature.service;
+
+import com.groupdocs.ui.exception.TotalGroupDocsException;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import com.groupdocs.ui.signature.model.request.UploadSessionRequest;
+import com.groupdocs.ui.signature.model.web.SignatureFileDescriptionEntity;
+import com.groupdocs.ui.signature.model.web.UploadSessionEntity;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChunkedUploadServiceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SignatureConfiguration signatureConfiguration;
+    private ChunkedUploadService chunkedUploadService;
+    private File filesDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        filesDirectory = folder.newFolder("files");
+        SignatureService signatureService = mock(SignatureService.class);
+        when(signatureService.getUploadDirectory(any())).thenReturn(filesDirectory.getAbsolutePath());
+        when(signatureService.describeUploadedFile(anyString(), any())).thenAnswer(invocation -> {
+            SignatureFileDescriptionEntity document = new SignatureFileDescriptionEntity();
+            document.setGuid(invocation.getArgument(0));
+            return document;
+        });
+        signatureConfiguration = new SignatureConfiguration();
+        ContentHashService contentHashService = new ContentHashService();
+        ReflectionTestUtils.setField(contentHashService, "signatureConfiguration", signatureConfiguration);
+        chunkedUploadService = new ChunkedUploadService();
+        ReflectionTestUtils.setField(chunkedUploadService, "signatureConfiguration", signatureConfiguration);
+        ReflectionTestUtils.setField(chunkedUploadService, "signatureService", signatureService);
+        ReflectionTestUtils.setField(chunkedUploadService, "contentHashService", contentHashService);
+        chunkedUploadService.init();
+    }
+
+    private UploadSessionEntity start(String fileName, long size) {
+        UploadSessionRequest uploadSessionRequest = new UploadSessionRequest();
+        uploadSessionRequest.setFileName(fileName);
+        uploadSessionRequest.setSize(size);
+        return chunkedUploadService.start(uploadSessionRequest);
+    }
+
+    @Test
+    public void resumesFromReceivedOffset() throws Exception {
+        byte[] content = new byte[200 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        String uploadId = start("scan.pdf", content.length).getUploadId();
+
+        UploadSessionEntity state = chunkedUploadService.writeChunk(uploadId, 0, new ByteArrayInputStream(Arrays.copyOfRange(content, 0, 70000)));
+        assertEquals(70000, state.getReceived());
+        assertFalse(state.isCompleted());
+        // the client resends the chunk which overlaps received data
+        state = chunkedUploadService.writeChunk(uploadId, 50000, new ByteArrayInputStream(Arrays.copyOfRange(content, 50000, content.length)));
+
+        assertTrue(state.isCompleted());
+        File uploaded = new File(filesDirectory, "scan.pdf");
+        assertEquals(uploaded.getAbsolutePath(), state.getDocument().getGuid());
+        assertArrayEquals(content, Files.readAllBytes(uploaded.toPath()));
+        assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(content), hexToBytes(state.getSha256()));
+        // only the completed file is left
+        assertArrayEquals(new String[]{"scan.pdf"}, filesDirectory.list());
+    }
+
+    @Test(expected = TotalGroupDocsException.class)
+    public void rejectsChunkAfterGap() {
+        String uploadId = start("scan.pdf", 100).getUploadId();
+        chunkedUploadService.writeChunk(uploadId, 10, new ByteArrayInputStream(new byte[10]));
+    }
+
+    @Test
+    public void cancelRemovesPartialFile() {
+        String uploadId = start("scan.pdf", 100).getUploadId();
+        chunkedUploadService.writeChunk(uploadId, 0, new ByteArrayInputStream(new byte[10]));
+        assertEquals(1, filesDirectory.list().length);
+        chunkedUploadService.cancel(uploadId);
+        assertEquals(0, filesDirectory.list().length);
+    }
+
+    @Test
+    public void refusesUploadsOverLimit() {
+        signatureConfiguration.setUploadSessionLimit(2);
+        chunkedUploadService.init();
+        String uploadId = start("first.pdf", 100).getUploadId();
+        start("second.pdf", 100);
+        try {
+            start("third.pdf", 100);
+            fail("upload over the limit is started");
+        } catch (TotalGroupDocsException ex) {
+            assertEquals(2, chunkedUploadService.getOpenSessionCount());
+        }
+        // completed upload keeps its result but no longer counts
+        chunkedUploadService.writeChunk(uploadId, 0, new ByteArrayInputStream(new byte[100]));
+        assertEquals(1, chunkedUploadService.getOpenSessionCount());
+        start("third.pdf", 100);
+        assertEquals(2, chunkedUploadService.getOpenSessionCount());
+        assertEquals(3, chunkedUploadService.getSessionCount());
+    }
+
+    private static byte[] hexToBytes(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+}
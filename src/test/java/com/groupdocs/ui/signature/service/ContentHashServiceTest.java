@@ -0,0 +1,78 @@
+package com.groupdocs.ui.signature.service;
+
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class ContentHashServiceTest {
+
+    private static final byte[] CONTENT = "signed contract".getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ContentHashService contentHashService;
+    private File filesDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        filesDirectory = folder.newFolder("files");
+        SignatureConfiguration signatureConfiguration = new SignatureConfiguration();
+        signatureConfiguration.setFilesDirectory(filesDirectory.getAbsolutePath());
+        signatureConfiguration.setDataDirectory(folder.newFolder("data").getAbsolutePath());
+        signatureConfiguration.setContentAddressedStorage(true);
+        contentHashService = new ContentHashService();
+        ReflectionTestUtils.setField(contentHashService, "signatureConfiguration", signatureConfiguration);
+        contentHashService.init();
+    }
+
+    private String upload(String fileName, byte[] content, boolean rewrite) throws Exception {
+        return contentHashService.store(new ByteArrayInputStream(content), filesDirectory.getPath(), fileName, rewrite);
+    }
+
+    @Test
+    public void repeatedUploadReturnsExistingDocument() throws Exception {
+        String first = upload("contract.pdf", CONTENT, false);
+        String second = upload("contract.pdf", CONTENT, false);
+
+        assertEquals(first, second);
+        assertArrayEquals(new String[]{"contract.pdf"}, filesDirectory.list());
+        String sha256 = contentHashService.getContentHash(new File(first));
+        assertEquals(64, sha256.length());
+        assertEquals(sha256, contentHashService.hash(new File(first)));
+    }
+
+    @Test
+    public void documentsWithSameContentShareBlob() throws Exception {
+        Path first = new File(upload("contract.pdf", CONTENT, false)).toPath();
+        Path second = new File(upload("copy.pdf", CONTENT, false)).toPath();
+
+        assertEquals(Files.readAttributes(first, "unix:ino").get("ino"), Files.readAttributes(second, "unix:ino").get("ino"));
+        // two names and the blob
+        assertEquals(3, Files.getAttribute(first, "unix:nlink"));
+    }
+
+    @Test
+    public void detachedDocumentCanBeChangedAlone() throws Exception {
+        Path first = new File(upload("contract.pdf", CONTENT, false)).toPath();
+        Path second = new File(upload("copy.pdf", CONTENT, false)).toPath();
+
+        contentHashService.detach(first.toString());
+        Files.write(first, "changed".getBytes(StandardCharsets.UTF_8));
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(second));
+        assertEquals(2, Files.getAttribute(second, "unix:nlink"));
+        assertNull(contentHashService.getContentHash(first.toFile()));
+    }
+}
@@ -0,0 +1,124 @@
+package com.groupdocs.ui.signature.service;
+
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import com.groupdocs.ui.signature.model.xml.DocumentMetadataXmlEntity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.awt.Dimension;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+public class DocumentMetadataStoreTest {
+
+    private static final byte[] CONTENT = "signed contract".getBytes(StandardCharsets.UTF_8);
+    private static final long WAIT_MS = 5000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private DocumentMetadataStore documentMetadataStore;
+    // threads which read whole documents to hash them
+    private final List<Thread> hashingThreads = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        SignatureConfiguration signatureConfiguration = new SignatureConfiguration();
+        signatureConfiguration.setDataDirectory(folder.newFolder("data").getAbsolutePath());
+        signatureConfiguration.setDocumentMetadataStore(true);
+        ContentHashService contentHashService = spy(new ContentHashService());
+        ReflectionTestUtils.setField(contentHashService, "signatureConfiguration", signatureConfiguration);
+        doAnswer(invocation -> {
+            hashingThreads.add(Thread.currentThread());
+            return invocation.callRealMethod();
+        }).when(contentHashService).hash(any(File.class));
+        documentMetadataStore = new DocumentMetadataStore();
+        ReflectionTestUtils.setField(documentMetadataStore, "signatureConfiguration", signatureConfiguration);
+        ReflectionTestUtils.setField(documentMetadataStore, "contentHashService", contentHashService);
+        documentMetadataStore.init();
+    }
+
+    @After
+    public void tearDown() {
+        documentMetadataStore.destroy();
+    }
+
+    private String createDocument(String fileName) throws Exception {
+        File file = folder.newFile(fileName);
+        Files.write(file.toPath(), CONTENT);
+        return file.getAbsolutePath();
+    }
+
+    private DocumentMetadataXmlEntity awaitMetadata(String documentGuid) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        DocumentMetadataXmlEntity metadata;
+        while ((metadata = documentMetadataStore.get(documentGuid)) == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return metadata;
+    }
+
+    @Test
+    public void documentIsHashedOnMetadataThread() throws Exception {
+        String documentGuid = createDocument("contract.pdf");
+
+        documentMetadataStore.save(documentGuid, 3, Collections.singletonMap(1, new Dimension(595, 842)));
+
+        DocumentMetadataXmlEntity metadata = awaitMetadata(documentGuid);
+        assertNotNull(metadata);
+        assertEquals(3, metadata.getPageCount());
+        assertEquals(1, metadata.getPages().size());
+        assertEquals(595, metadata.getPages().get(0).getWidth());
+        assertFalse(hashingThreads.isEmpty());
+        assertFalse(hashingThreads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void metadataIsFoundByContentUnderAnotherName() throws Exception {
+        String documentGuid = createDocument("contract.pdf");
+        documentMetadataStore.save(documentGuid, 2, Collections.emptyMap());
+        assertNotNull(awaitMetadata(documentGuid));
+
+        DocumentMetadataXmlEntity metadata = awaitMetadata(createDocument("copy.pdf"));
+
+        assertNotNull(metadata);
+        assertEquals(2, metadata.getPageCount());
+        assertFalse(hashingThreads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void passwordRequiredIsSaved() throws Exception {
+        String documentGuid = createDocument("protected.pdf");
+
+        documentMetadataStore.savePasswordRequired(documentGuid);
+
+        DocumentMetadataXmlEntity metadata = awaitMetadata(documentGuid);
+        assertNotNull(metadata);
+        assertTrue(metadata.isPasswordRequired());
+    }
+
+    @Test
+    public void disabledStoreKeepsNothing() throws Exception {
+        SignatureConfiguration signatureConfiguration = (SignatureConfiguration) ReflectionTestUtils.getField(documentMetadataStore, "signatureConfiguration");
+        signatureConfiguration.setDocumentMetadataStore(false);
+        String documentGuid = createDocument("contract.pdf");
+
+        documentMetadataStore.save(documentGuid, 3, Collections.emptyMap());
+
+        assertNull(documentMetadataStore.get(documentGuid));
+        assertTrue(hashingThreads.isEmpty());
+    }
+}
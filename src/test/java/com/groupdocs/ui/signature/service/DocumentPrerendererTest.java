@@ -0,0 +1,127 @@
+package com.groupdocs.ui.signature.service;
+
+import com.groupdocs.signature.handler.SignatureHandler;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import com.groupdocs.ui.signature.cache.PageImageCache;
+import com.groupdocs.ui.signature.cache.PageThumbnailCache;
+import com.groupdocs.ui.signature.model.xml.DocumentMetadataXmlEntity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.Callable;
+
+import static com.groupdocs.ui.signature.service.SignatureServiceImpl.PAGE_RESOLUTION;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class DocumentPrerendererTest {
+
+    private static final long WAIT_MS = 5000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SignatureConfiguration signatureConfiguration;
+    private SignatureHandlerPool signatureHandlerPool;
+    private PageImageCache pageImageCache;
+    private PageThumbnailRenderer pageThumbnailRenderer;
+    private DocumentMetadataXmlEntity metadata;
+    private DocumentPrerenderer documentPrerenderer;
+    private String documentGuid;
+
+    @Before
+    public void setUp() throws Exception {
+        File document = folder.newFile("contract.pdf");
+        Files.write(document.toPath(), new byte[]{1, 2, 3});
+        // the document is complete, it is not waited for
+        document.setLastModified(System.currentTimeMillis() - 10000);
+        documentGuid = document.getAbsolutePath();
+
+        signatureConfiguration = new SignatureConfiguration();
+        signatureConfiguration.setPrerenderPageCount(2);
+        signatureHandlerPool = mock(SignatureHandlerPool.class);
+        when(signatureHandlerPool.tryBorrow()).thenReturn(mock(SignatureHandler.class));
+        pageImageCache = mock(PageImageCache.class);
+        when(pageImageCache.getPageImage(anyString(), anyInt(), anyInt(), any())).thenAnswer(invocation ->
+                ((Callable<?>) invocation.getArgument(3)).call());
+        pageThumbnailRenderer = mock(PageThumbnailRenderer.class);
+        when(pageThumbnailRenderer.getSize()).thenReturn(16);
+        metadata = new DocumentMetadataXmlEntity();
+        metadata.setPageCount(5);
+        DocumentMetadataStore documentMetadataStore = mock(DocumentMetadataStore.class);
+        when(documentMetadataStore.get(documentGuid)).thenReturn(metadata);
+
+        documentPrerenderer = new DocumentPrerenderer();
+        ReflectionTestUtils.setField(documentPrerenderer, "signatureConfiguration", signatureConfiguration);
+        ReflectionTestUtils.setField(documentPrerenderer, "signatureHandlerPool", signatureHandlerPool);
+        ReflectionTestUtils.setField(documentPrerenderer, "pageRenderExecutor", mock(PageRenderExecutor.class));
+        ReflectionTestUtils.setField(documentPrerenderer, "pageImageCache", pageImageCache);
+        ReflectionTestUtils.setField(documentPrerenderer, "pageThumbnailCache", mock(PageThumbnailCache.class));
+        ReflectionTestUtils.setField(documentPrerenderer, "pageThumbnailRenderer", pageThumbnailRenderer);
+        ReflectionTestUtils.setField(documentPrerenderer, "documentMetadataStore", documentMetadataStore);
+    }
+
+    @After
+    public void tearDown() {
+        documentPrerenderer.destroy();
+    }
+
+    @Test
+    public void firstPagesAndThumbnailsAreRendered() throws Exception {
+        documentPrerenderer.init();
+
+        documentPrerenderer.prerender(documentGuid);
+
+        verify(pageThumbnailRenderer, timeout(WAIT_MS)).getThumbnail(any(), eq(documentGuid), eq(2), isNull());
+        verify(pageImageCache).getPageImage(eq(documentGuid), eq(1), eq(PAGE_RESOLUTION), any());
+        verify(pageImageCache).getPageImage(eq(documentGuid), eq(2), eq(PAGE_RESOLUTION), any());
+        verify(pageImageCache, never()).getPageImage(eq(documentGuid), eq(3), anyInt(), any());
+        verify(pageThumbnailRenderer).getThumbnail(any(), eq(documentGuid), eq(1), isNull());
+        // a handler is taken for each image and returned right after it
+        verify(signatureHandlerPool, timeout(WAIT_MS).times(4)).release(any());
+        verify(signatureHandlerPool, times(4)).tryBorrow();
+    }
+
+    @Test
+    public void renderWaitsWhileUsersWaitForHandlers() throws Exception {
+        when(signatureHandlerPool.getWaitingCount()).thenReturn(1);
+        documentPrerenderer.init();
+
+        documentPrerenderer.prerender(documentGuid);
+
+        verify(signatureHandlerPool, after(500).never()).tryBorrow();
+        when(signatureHandlerPool.getWaitingCount()).thenReturn(0);
+        verify(pageImageCache, timeout(WAIT_MS)).getPageImage(eq(documentGuid), eq(1), eq(PAGE_RESOLUTION), any());
+    }
+
+    @Test
+    public void protectedDocumentIsNotRendered() throws Exception {
+        metadata.setPasswordRequired(true);
+        documentPrerenderer.init();
+
+        documentPrerenderer.prerender(documentGuid);
+
+        verify(signatureHandlerPool, after(500).never()).tryBorrow();
+        assertEquals(0, documentPrerenderer.getQueueSize());
+    }
+
+    @Test
+    public void disabledPrerendererDoesNothing() {
+        signatureConfiguration.setPrerenderPageCount(0);
+        documentPrerenderer.init();
+
+        documentPrerenderer.prerender(documentGuid);
+
+        assertFalse(documentPrerenderer.isEnabled());
+        verifyZeroInteractions(signatureHandlerPool, pageImageCache);
+    }
+}
@@ -0,0 +1,77 @@
+package com.groupdocs.ui.signature.service;
+
+import com.groupdocs.signature.handler.SignatureHandler;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PageRenderExecutorTest {
+
+    private PageRenderExecutor pageRenderExecutor;
+    private SignatureHandler callerHandler;
+
+    @Before
+    public void setUp() {
+        SignatureConfiguration signatureConfiguration = new SignatureConfiguration();
+        signatureConfiguration.setRenderThreads(4);
+        signatureConfiguration.setDocumentParallelism(3);
+        SignatureHandlerPool signatureHandlerPool = mock(SignatureHandlerPool.class);
+        when(signatureHandlerPool.tryBorrow()).thenReturn(mock(SignatureHandler.class));
+        callerHandler = mock(SignatureHandler.class);
+
+        pageRenderExecutor = new PageRenderExecutor();
+        ReflectionTestUtils.setField(pageRenderExecutor, "signatureConfiguration", signatureConfiguration);
+        ReflectionTestUtils.setField(pageRenderExecutor, "signatureHandlerPool", signatureHandlerPool);
+        pageRenderExecutor.init();
+    }
+
+    @After
+    public void tearDown() {
+        pageRenderExecutor.destroy();
+    }
+
+    @Test
+    public void returnsResultsInPageOrder() throws Exception {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Integer> pages = pageRenderExecutor.processPages(callerHandler, 50, (handler, pageNumber) -> {
+            threads.add(Thread.currentThread().getName());
+            Thread.sleep(2);
+            return pageNumber;
+        });
+        assertEquals(50, pages.size());
+        for (int i = 0; i < pages.size(); i++) {
+            assertEquals(Integer.valueOf(i + 1), pages.get(i));
+        }
+        assertTrue(threads.size() <= 3);
+    }
+
+    @Test
+    public void rethrowsPageException() throws Exception {
+        try {
+            pageRenderExecutor.processPages(callerHandler, 20, (handler, pageNumber) -> {
+                if (pageNumber == 7) {
+                    throw new IllegalStateException("page 7");
+                }
+                return pageNumber;
+            });
+            fail("Exception expected");
+        } catch (IllegalStateException ex) {
+            assertEquals("page 7", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void emptyDocument() throws Exception {
+        assertTrue(pageRenderExecutor.processPages(callerHandler, 0, (handler, pageNumber) -> pageNumber).isEmpty());
+    }
+}
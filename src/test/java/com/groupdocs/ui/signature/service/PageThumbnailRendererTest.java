@@ -0,0 +1,55 @@
+package com.groupdocs.ui.signature.service;
+
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PageThumbnailRendererTest {
+
+    @Test
+    public void rendersAtLowestResolutionCoveringThumbnail() {
+        assertEquals(11, PageThumbnailRenderer.getResolution(new Dimension(827, 1169), 120));
+        // landscape pages are limited by the width
+        assertEquals(16, PageThumbnailRenderer.getResolution(new Dimension(792, 612), 120));
+        // thumbnail larger than the page is not rendered above the page resolution
+        assertEquals(SignatureServiceImpl.PAGE_RESOLUTION, PageThumbnailRenderer.getResolution(new Dimension(100, 50), 500));
+        assertEquals(SignatureServiceImpl.PAGE_RESOLUTION, PageThumbnailRenderer.getResolution(new Dimension(0, 0), 120));
+    }
+
+    @Test
+    public void centersThumbnailsInSpriteCells() throws Exception {
+        List<byte[]> thumbnails = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            thumbnails.add(createImage(20, 40));
+        }
+        BufferedImage sprite = ImageIO.read(new ByteArrayInputStream(PageThumbnailRenderer.composeSprite(thumbnails, 40)));
+        assertEquals(PageThumbnailRenderer.SPRITE_COLUMNS * 40, sprite.getWidth());
+        assertEquals(2 * 40, sprite.getHeight());
+        // 11th thumbnail starts the second row and is centered horizontally in its cell
+        assertEquals(0, sprite.getRGB(9, 40) >>> 24);
+        assertEquals(Color.RED.getRGB(), sprite.getRGB(10, 40));
+        assertEquals(Color.RED.getRGB(), sprite.getRGB(29, 79));
+        assertEquals(0, sprite.getRGB(30, 79) >>> 24);
+    }
+
+    private static byte[] createImage(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, Color.RED.getRGB());
+            }
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,175 @@
+package com.groupdocs.ui.signature.service;
+
+import com.groupdocs.ui.exception.TotalGroupDocsException;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import com.groupdocs.ui.signature.model.request.SignDocumentRequest;
+import com.groupdocs.ui.signature.model.web.SignJobEntity;
+import com.groupdocs.ui.signature.model.web.SignedDocumentEntity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SignJobServiceTest {
+
+    private static final long WAIT_MS = 5000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SignatureConfiguration signatureConfiguration;
+    private SignService signService;
+    private final CountDownLatch signingAllowed = new CountDownLatch(1);
+    private final List<SignJobService> services = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        signatureConfiguration = new SignatureConfiguration();
+        signatureConfiguration.setDataDirectory(folder.newFolder("data").getAbsolutePath());
+        signatureConfiguration.setSignJobThreads(1);
+        signatureConfiguration.setSignJobQueueSize(1);
+        signatureConfiguration.setPersistSignJobs(true);
+        signService = mock(SignService.class);
+        when(signService.sign(any())).thenAnswer(invocation -> {
+            // a job blocked here is not stopped by shutdown, like a document in the middle of signing
+            boolean interrupted = false;
+            while (signingAllowed.getCount() > 0) {
+                try {
+                    signingAllowed.await();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            SignDocumentRequest request = invocation.getArgument(0);
+            SignedDocumentEntity signedDocument = new SignedDocumentEntity();
+            signedDocument.setGuid(request.getGuid());
+            return signedDocument;
+        });
+    }
+
+    @After
+    public void tearDown() {
+        signingAllowed.countDown();
+        for (SignJobService signJobService : services) {
+            signJobService.destroy();
+        }
+    }
+
+    private SignJobService startService() {
+        SignJobService signJobService = new SignJobService();
+        ReflectionTestUtils.setField(signJobService, "signatureConfiguration", signatureConfiguration);
+        ReflectionTestUtils.setField(signJobService, "signService", signService);
+        signJobService.init();
+        services.add(signJobService);
+        return signJobService;
+    }
+
+    private static SignDocumentRequest request(String guid, String password) {
+        SignDocumentRequest signDocumentRequest = new SignDocumentRequest();
+        signDocumentRequest.setGuid(guid);
+        signDocumentRequest.setPassword(password);
+        return signDocumentRequest;
+    }
+
+    private static SignJobEntity awaitFinished(SignJobService signJobService, String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        SignJobEntity job;
+        while (!isFinished(job = signJobService.getJob(jobId)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return job;
+    }
+
+    private static boolean isFinished(SignJobEntity job) {
+        return SignJobEntity.DONE.equals(job.getStatus()) || SignJobEntity.FAILED.equals(job.getStatus());
+    }
+
+    private String[] storedJobs() {
+        String[] storedJobs = new File(signatureConfiguration.getDataDirectory(), "Jobs").list((dir, name) -> name.endsWith(".json"));
+        return storedJobs == null ? new String[0] : storedJobs;
+    }
+
+    @Test
+    public void finishedJobKeepsResult() throws Exception {
+        SignJobService signJobService = startService();
+        signingAllowed.countDown();
+
+        String jobId = signJobService.submit(request("contract.pdf", null)).getId();
+
+        assertEquals(SignJobEntity.DONE, awaitFinished(signJobService, jobId).getStatus());
+        assertEquals("contract.pdf", signJobService.getResult(jobId).getGuid());
+        assertEquals(0, storedJobs().length);
+    }
+
+    @Test
+    public void fullQueueRejectsJobs() throws Exception {
+        SignJobService signJobService = startService();
+        SignJobEntity running = signJobService.submit(request("first.pdf", null));
+        SignJobEntity queued = signJobService.submit(request("second.pdf", null));
+
+        try {
+            signJobService.submit(request("third.pdf", null));
+            fail("job over the queue size is accepted");
+        } catch (TotalGroupDocsException ex) {
+            // the rejected job is not left in the data directory
+            assertEquals(2, storedJobs().length);
+        }
+        assertEquals(SignJobEntity.QUEUED, queued.getStatus());
+        try {
+            signJobService.getResult(queued.getId());
+            fail("result of a waiting job is returned");
+        } catch (TotalGroupDocsException ex) {
+            // not finished yet
+        }
+
+        signingAllowed.countDown();
+        assertEquals(SignJobEntity.DONE, awaitFinished(signJobService, running.getId()).getStatus());
+        assertEquals(SignJobEntity.DONE, awaitFinished(signJobService, queued.getId()).getStatus());
+    }
+
+    @Test
+    public void jobsOfProtectedDocumentsAreNotStored() throws Exception {
+        SignJobService signJobService = startService();
+
+        signJobService.submit(request("protected.pdf", "secret"));
+
+        assertEquals(0, storedJobs().length);
+    }
+
+    @Test
+    public void restartResumesWaitingJobsAndFailsRunningOnes() throws Exception {
+        SignJobService stopped = startService();
+        String runningId = stopped.submit(request("first.pdf", null)).getId();
+        String queuedId = stopped.submit(request("second.pdf", null)).getId();
+        // the running job is marked as started in its stored file before signing
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (!SignJobEntity.RUNNING.equals(stopped.getJob(runningId).getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        stopped.destroy();
+
+        SignJobService restarted = startService();
+        signingAllowed.countDown();
+
+        SignJobEntity interrupted = restarted.getJob(runningId);
+        assertEquals(SignJobEntity.FAILED, interrupted.getStatus());
+        assertNotNull(interrupted.getError());
+        assertEquals(SignJobEntity.DONE, awaitFinished(restarted, queuedId).getStatus());
+        assertEquals("second.pdf", restarted.getResult(queuedId).getGuid());
+    }
+}
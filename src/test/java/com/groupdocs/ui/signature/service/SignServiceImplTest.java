@@ -0,0 +1,130 @@
+package com.groupdocs.ui.signature.service;
+
+import com.groupdocs.signature.config.SignatureConfig;
+import com.groupdocs.signature.handler.SignatureHandler;
+import com.groupdocs.signature.options.loadoptions.LoadOptions;
+import com.groupdocs.signature.options.saveoptions.SaveOptions;
+import com.groupdocs.ui.exception.TotalGroupDocsException;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import com.groupdocs.ui.signature.cache.DocumentSessionCache;
+import com.groupdocs.ui.signature.cache.PageImageCache;
+import com.groupdocs.ui.signature.cache.PageThumbnailCache;
+import com.groupdocs.ui.signature.cache.SignatureTemplateCache;
+import com.groupdocs.ui.signature.model.request.SignBatchRequest;
+import com.groupdocs.ui.signature.model.web.SignBatchDocumentEntity;
+import com.groupdocs.ui.signature.model.web.SignBatchEntity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class SignServiceImplTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SignServiceImpl signService;
+    private SignatureHandler signatureHandler;
+    private String filesDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        filesDirectory = folder.newFolder("files").getAbsolutePath();
+        SignatureConfiguration signatureConfiguration = new SignatureConfiguration();
+        signatureConfiguration.setDataDirectory(folder.newFolder("data").getAbsolutePath());
+        signatureConfiguration.setSignBatchThreads(2);
+        signatureHandler = mock(SignatureHandler.class);
+        when(signatureHandler.getSignatureConfig()).thenReturn(new SignatureConfig());
+        when(signatureHandler.sign(anyString(), any(), any(LoadOptions.class), any(SaveOptions.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        SignatureHandlerPool signatureHandlerPool = mock(SignatureHandlerPool.class);
+        when(signatureHandlerPool.borrow()).thenReturn(signatureHandler);
+        signService = new SignServiceImpl();
+        ReflectionTestUtils.setField(signService, "signatureConfiguration", signatureConfiguration);
+        ReflectionTestUtils.setField(signService, "signatureHandlerPool", signatureHandlerPool);
+        ReflectionTestUtils.setField(signService, "pageImageCache", mock(PageImageCache.class));
+        ReflectionTestUtils.setField(signService, "pageThumbnailCache", mock(PageThumbnailCache.class));
+        ReflectionTestUtils.setField(signService, "documentSessionCache", mock(DocumentSessionCache.class));
+        ReflectionTestUtils.setField(signService, "signatureTemplateCache", mock(SignatureTemplateCache.class));
+        ReflectionTestUtils.setField(signService, "contentHashService", mock(ContentHashService.class));
+        signService.init();
+    }
+
+    @After
+    public void tearDown() {
+        signService.destroy();
+    }
+
+    private String document(String fileName) {
+        return filesDirectory + File.separator + fileName;
+    }
+
+    private SignBatchEntity signBatch(String... guids) {
+        SignBatchRequest signBatchRequest = new SignBatchRequest();
+        signBatchRequest.setGuids(Arrays.asList(guids));
+        signBatchRequest.setSignaturesData(Collections.emptyList());
+        return signService.signBatch(signBatchRequest);
+    }
+
+    @Test
+    public void failedDocumentDoesNotStopBatch() throws Exception {
+        String broken = document("broken.pdf");
+        when(signatureHandler.sign(eq(broken), any(), any(LoadOptions.class), any(SaveOptions.class)))
+                .thenThrow(new IllegalStateException("damaged document"));
+
+        SignBatchEntity signBatchEntity = signBatch(document("first.pdf"), broken, document("second.docx"), document("notes.txt"));
+
+        assertEquals(2, signBatchEntity.getSignedCount());
+        assertEquals(2, signBatchEntity.getFailedCount());
+        // results are in the order of the request
+        List<SignBatchDocumentEntity> results = signBatchEntity.getDocuments();
+        assertEquals(document("first.pdf"), results.get(0).getSignedGuid());
+        assertNull(results.get(0).getError());
+        assertEquals("damaged document", results.get(1).getError());
+        assertEquals(document("second.docx"), results.get(2).getSignedGuid());
+        assertNotNull(results.get(3).getError());
+        verify(signatureHandler, never()).sign(eq(document("notes.txt")), any(), any(LoadOptions.class), any(SaveOptions.class));
+    }
+
+    @Test
+    public void eachDocumentIsSignedOnce() throws Exception {
+        String[] guids = new String[20];
+        for (int i = 0; i < guids.length; i++) {
+            guids[i] = document(i + ".pdf");
+        }
+
+        assertEquals(guids.length, signBatch(guids).getSignedCount());
+
+        for (String guid : guids) {
+            verify(signatureHandler).sign(eq(guid), any(), any(LoadOptions.class), any(SaveOptions.class));
+        }
+    }
+
+    @Test
+    public void documentListedTwiceIsRejected() throws Exception {
+        try {
+            signBatch(document("contract.pdf"), filesDirectory + File.separator + "." + File.separator + "contract.pdf");
+            fail("batch with the same document twice is signed");
+        } catch (TotalGroupDocsException ex) {
+            verify(signatureHandler, never()).sign(anyString(), any(), any(LoadOptions.class), any(SaveOptions.class));
+        }
+    }
+
+    @Test(expected = TotalGroupDocsException.class)
+    public void emptyPathIsRejected() {
+        signBatch(document("contract.pdf"), null);
+    }
+}
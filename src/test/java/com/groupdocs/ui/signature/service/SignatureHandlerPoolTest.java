@@ -0,0 +1,91 @@
+package com.groupdocs.ui.signature.service;
+
+import com.groupdocs.signature.handler.SignatureHandler;
+import com.groupdocs.ui.exception.TotalGroupDocsException;
+import com.groupdocs.ui.signature.SignatureConfiguration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class SignatureHandlerPoolTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SignatureHandlerPool createPool(int poolSize, long timeout) throws Exception {
+        SignatureConfiguration signatureConfiguration = new SignatureConfiguration();
+        signatureConfiguration.setFilesDirectory(folder.newFolder().getAbsolutePath());
+        signatureConfiguration.setDataDirectory(folder.newFolder().getAbsolutePath());
+        signatureConfiguration.setHandlerPoolSize(poolSize);
+        signatureConfiguration.setHandlerPoolTimeout(timeout);
+        SignatureHandlerPool signatureHandlerPool = new SignatureHandlerPool();
+        ReflectionTestUtils.setField(signatureHandlerPool, "signatureConfiguration", signatureConfiguration);
+        signatureHandlerPool.init();
+        return signatureHandlerPool;
+    }
+
+    @Test
+    public void releasedHandlersAreReused() throws Exception {
+        SignatureHandlerPool signatureHandlerPool = createPool(2, 0);
+
+        SignatureHandler first = signatureHandlerPool.borrow();
+        SignatureHandler second = signatureHandlerPool.borrow();
+        assertNotSame(first, second);
+        assertEquals(2, signatureHandlerPool.getActiveCount());
+        signatureHandlerPool.release(first);
+
+        assertSame(first, signatureHandlerPool.borrow());
+        assertEquals(2, signatureHandlerPool.getCreatedCount());
+        assertEquals(3, signatureHandlerPool.getBorrowCount());
+    }
+
+    @Test
+    public void borrowTimesOutWhenAllHandlersAreBusy() throws Exception {
+        SignatureHandlerPool signatureHandlerPool = createPool(1, 50);
+        signatureHandlerPool.borrow();
+
+        long start = System.nanoTime();
+        try {
+            signatureHandlerPool.borrow();
+            fail("busy pool gave out a handler");
+        } catch (TotalGroupDocsException ex) {
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+        }
+        assertEquals(1, signatureHandlerPool.getTimeoutCount());
+        assertEquals(1, signatureHandlerPool.getCreatedCount());
+        assertEquals(0, signatureHandlerPool.getWaitingCount());
+    }
+
+    @Test(timeout = 5000)
+    public void waitingBorrowGetsReleasedHandler() throws Exception {
+        SignatureHandlerPool signatureHandlerPool = createPool(1, 5000);
+        SignatureHandler signatureHandler = signatureHandlerPool.borrow();
+
+        CompletableFuture<SignatureHandler> waiting = CompletableFuture.supplyAsync(signatureHandlerPool::borrow);
+        while (signatureHandlerPool.getWaitingCount() == 0) {
+            Thread.sleep(5);
+        }
+        signatureHandlerPool.release(signatureHandler);
+
+        assertSame(signatureHandler, waiting.get());
+        assertEquals(0, signatureHandlerPool.getTimeoutCount());
+    }
+
+    @Test
+    public void tryBorrowNeverWaits() throws Exception {
+        SignatureHandlerPool signatureHandlerPool = createPool(1, 5000);
+        SignatureHandler signatureHandler = signatureHandlerPool.tryBorrow();
+        assertNotNull(signatureHandler);
+
+        assertNull(signatureHandlerPool.tryBorrow());
+        signatureHandlerPool.release(signatureHandler);
+        assertSame(signatureHandler, signatureHandlerPool.tryBorrow());
+        assertEquals(0, signatureHandlerPool.getTimeoutCount());
+    }
+}
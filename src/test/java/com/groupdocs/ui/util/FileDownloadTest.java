@@ -0,0 +1,75 @@
+package com.groupdocs.ui.util;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FileDownloadTest {
+
+    private static final long FILE_LENGTH = 1000;
+
+    @Test
+    public void parsesSingleRanges() {
+        assertRange(FileDownload.parseRanges("bytes=0-499", FILE_LENGTH), 0, 499);
+        assertRange(FileDownload.parseRanges("bytes=500-", FILE_LENGTH), 500, 999);
+        assertRange(FileDownload.parseRanges("bytes=-200", FILE_LENGTH), 800, 999);
+        // end is cut to the file length
+        assertRange(FileDownload.parseRanges("bytes=900-5000", FILE_LENGTH), 900, 999);
+        assertRange(FileDownload.parseRanges("bytes=-5000", FILE_LENGTH), 0, 999);
+    }
+
+    @Test
+    public void parsesMultipleRanges() {
+        List<FileDownload.Range> ranges = FileDownload.parseRanges("bytes=0-9, 100-199,-10", FILE_LENGTH);
+        assertEquals(3, ranges.size());
+        assertEquals(0, ranges.get(0).start);
+        assertEquals(9, ranges.get(0).end);
+        assertEquals(100, ranges.get(1).start);
+        assertEquals(100, ranges.get(1).length());
+        assertEquals(990, ranges.get(2).start);
+        assertEquals("bytes 100-199/1000", ranges.get(1).contentRange(FILE_LENGTH));
+    }
+
+    @Test
+    public void mergesOverlappingRanges() {
+        assertRange(FileDownload.parseRanges("bytes=0-499, 0-499, 0-499", FILE_LENGTH), 0, 499);
+        assertRange(FileDownload.parseRanges("bytes=500-, 0-99, 50-549, 100-199", FILE_LENGTH), 0, 999);
+        // adjacent ranges are one range
+        assertRange(FileDownload.parseRanges("bytes=10-19, 20-29", FILE_LENGTH), 10, 29);
+        List<FileDownload.Range> ranges = FileDownload.parseRanges("bytes=-10, 100-199, 150-249, 0-9", FILE_LENGTH);
+        assertEquals(3, ranges.size());
+        assertEquals(0, ranges.get(0).start);
+        assertEquals(100, ranges.get(1).start);
+        assertEquals(249, ranges.get(1).end);
+        assertEquals(990, ranges.get(2).start);
+    }
+
+    @Test
+    public void skipsUnsatisfiableRanges() {
+        assertTrue(FileDownload.parseRanges("bytes=1000-1100", FILE_LENGTH).isEmpty());
+        assertTrue(FileDownload.parseRanges("bytes=-0", FILE_LENGTH).isEmpty());
+        assertTrue(FileDownload.parseRanges("bytes=0-10", 0).isEmpty());
+        assertRange(FileDownload.parseRanges("bytes=2000-, 10-19", FILE_LENGTH), 10, 19);
+    }
+
+    @Test
+    public void ignoresMalformedHeaders() {
+        assertNull(FileDownload.parseRanges("items=0-10", FILE_LENGTH));
+        assertNull(FileDownload.parseRanges("bytes=10", FILE_LENGTH));
+        assertNull(FileDownload.parseRanges("bytes=20-10", FILE_LENGTH));
+        assertNull(FileDownload.parseRanges("bytes=a-b", FILE_LENGTH));
+        StringBuilder tooManyRanges = new StringBuilder("bytes=0-0");
+        for (int i = 1; i <= FileDownload.MAX_RANGES; i++) {
+            tooManyRanges.append(',').append(i).append('-').append(i);
+        }
+        assertNull(FileDownload.parseRanges(tooManyRanges.toString(), FILE_LENGTH));
+    }
+
+    private static void assertRange(List<FileDownload.Range> ranges, long start, long end) {
+        assertEquals(1, ranges.size());
+        assertEquals(start, ranges.get(0).start);
+        assertEquals(end, ranges.get(0).end);
+    }
+}
@@ -0,0 +1,70 @@
+package com.groupdocs.ui.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SingleFlightTest {
+
+    @Test
+    public void concurrentCallsShareOneExecution() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<Integer> first = executor.submit(() -> singleFlight.execute("page", () -> {
+                started.countDown();
+                release.await();
+                return executions.incrementAndGet();
+            }));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            List<Future<Integer>> joined = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                joined.add(executor.submit(() -> singleFlight.execute("page", executions::incrementAndGet)));
+            }
+            // joined calls are counted before they wait
+            while (singleFlight.getCoalescedCount() < 3) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            assertEquals(1, (int) first.get());
+            for (Future<Integer> future : joined) {
+                assertEquals(1, (int) future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1, singleFlight.getExecutedCount());
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    @Test
+    public void completedCallIsNotShared() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        singleFlight.execute("page", executions::incrementAndGet);
+        try {
+            singleFlight.execute("page", () -> {
+                throw new IllegalStateException("render failed");
+            });
+            fail();
+        } catch (IllegalStateException ex) {
+            assertEquals("render failed", ex.getMessage());
+        }
+        assertEquals(2, (int) singleFlight.execute("page", executions::incrementAndGet));
+        assertEquals(3, singleFlight.getExecutedCount());
+        assertEquals(0, singleFlight.getCoalescedCount());
+    }
+}
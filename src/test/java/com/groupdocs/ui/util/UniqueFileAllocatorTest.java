@@ -0,0 +1,102 @@
+package com.groupdocs.ui.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class UniqueFileAllocatorTest {
+
+    private static final byte[] CONTENT = "image".getBytes(StandardCharsets.US_ASCII);
+    private static final UniqueFileAllocator.ContentWriter WRITER = file -> Files.write(file.toPath(), CONTENT);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void continuesAfterLastNumber() throws Exception {
+        File directory = folder.newFolder("stamps");
+        new File(directory, "007.png").createNewFile();
+        new File(directory, "002.png").createNewFile();
+        new File(directory, "010.xml").createNewFile();
+
+        assertEquals("008.png", UniqueFileAllocator.createNumberedFile(directory.getPath(), "png", WRITER).getName());
+        assertEquals("009.png", UniqueFileAllocator.createNumberedFile(directory.getPath(), "png", WRITER).getName());
+        assertTrue(new File(directory, "009.png").exists());
+    }
+
+    @Test
+    public void concurrentAllocationsGetDistinctFiles() throws Exception {
+        File directory = folder.newFolder("images");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<File>> futures = new ArrayList<>();
+            Callable<File> allocation = () -> UniqueFileAllocator.createNumberedFile(directory.getPath(), "png", WRITER);
+            for (int i = 0; i < 400; i++) {
+                futures.add(executor.submit(allocation));
+            }
+            Set<String> names = new HashSet<>();
+            for (Future<File> future : futures) {
+                names.add(future.get().getName());
+            }
+            assertEquals(400, names.size());
+            assertEquals(400, directory.list().length);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void takenNameGetsCopyName() throws Exception {
+        File directory = folder.newFolder("files");
+        new File(directory, "contract.pdf").createNewFile();
+        new File(directory, "contract-Copy(3).pdf").createNewFile();
+
+        assertEquals("contract-Copy(4).pdf", UniqueFileAllocator.createFreeFile(directory.getPath(), "contract.pdf", WRITER).getName());
+        assertEquals("report.pdf", UniqueFileAllocator.createFreeFile(directory.getPath(), "report.pdf", WRITER).getName());
+    }
+
+    @Test
+    public void fileAppearsWithItsContent() throws Exception {
+        File directory = folder.newFolder("stamps");
+
+        File file = UniqueFileAllocator.createNumberedFile(directory.getPath(), "png", tempFile -> {
+            // the content is written aside, the name is not visible yet
+            assertTrue(tempFile.getName().startsWith("."));
+            assertFalse(new File(directory, "001.png").exists());
+            Files.write(tempFile.toPath(), CONTENT);
+        });
+
+        assertEquals("001.png", file.getName());
+        assertArrayEquals(CONTENT, Files.readAllBytes(file.toPath()));
+        assertArrayEquals(new String[]{"001.png"}, directory.list());
+    }
+
+    @Test
+    public void failedWriteLeavesNoFile() throws Exception {
+        File directory = folder.newFolder("files");
+        try {
+            UniqueFileAllocator.createFreeFile(directory.getPath(), "contract.pdf", tempFile -> {
+                throw new IOException("disk is full");
+            });
+            fail("failed write is not reported");
+        } catch (IOException ex) {
+            assertEquals(0, directory.list().length);
+        }
+        assertEquals("contract.pdf", UniqueFileAllocator.createFreeFile(directory.getPath(), "contract.pdf", WRITER).getName());
+    }
+}